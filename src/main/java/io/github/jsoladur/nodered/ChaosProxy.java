@@ -0,0 +1,146 @@
+package io.github.jsoladur.nodered;
+
+import io.github.jsoladur.nodered.internal.containers.ChaosProxyContainer;
+import io.github.jsoladur.nodered.vo.Toxic;
+import lombok.NonNull;
+import lombok.SneakyThrows;
+import org.testcontainers.shaded.com.fasterxml.jackson.databind.ObjectMapper;
+import org.testcontainers.shaded.okhttp3.HttpUrl;
+import org.testcontainers.shaded.okhttp3.OkHttpClient;
+import org.testcontainers.shaded.okhttp3.Request;
+import org.testcontainers.shaded.okhttp3.RequestBody;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static io.github.jsoladur.nodered.utils.NodeRedConstants.Chaos.*;
+import static io.github.jsoladur.nodered.utils.NodeRedConstants.HttpClient.APPLICATION_JSON_UTF8;
+
+/**
+ * <p>Sidecar proxy between a NODE-RED container and its dependencies (chaos targets). NODE-RED resolves the network alias
+ * of every target to the proxy, which forwards the traffic to the real target applying the added toxics, e.g. latency,
+ * bandwidth limits or connection drops</p>
+ * @see <a href="https://github.com/Shopify/toxiproxy">Toxiproxy</a>
+ * @since 0.3.0
+ */
+public class ChaosProxy {
+
+    private final ChaosProxyContainer chaosProxyContainer;
+    private final Map<String, Integer> targets;
+    private final OkHttpClient okHttpClient;
+    private final ObjectMapper objectMapper;
+
+    ChaosProxy(ChaosProxyContainer chaosProxyContainer, Map<String, Integer> targets, OkHttpClient okHttpClient, ObjectMapper objectMapper) {
+        this.chaosProxyContainer = chaosProxyContainer;
+        this.targets = Collections.unmodifiableMap(new LinkedHashMap<>(targets));
+        this.okHttpClient = okHttpClient;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * @return proxied port keyed by target network alias
+     * @since 0.3.0
+     */
+    public Map<String, Integer> getTargets() {
+        return targets;
+    }
+
+    /**
+     * <p>Add a toxic to the connections of a target, e.g. <code>addToxic("mariadb", Toxic.latency(Duration.ofMillis(200), Duration.ZERO))</code></p>
+     * @param target network alias of the target
+     * @param toxic toxic to add
+     * @return self proxy
+     * @since 0.3.0
+     */
+    public ChaosProxy addToxic(@NonNull String target, @NonNull Toxic toxic) {
+        final var body = new LinkedHashMap<String, Object>();
+        body.put("name", toxic.getName());
+        body.put("type", toxic.getType());
+        body.put("stream", toxic.getStream().getValue());
+        body.put("toxicity", toxic.getToxicity());
+        body.put("attributes", toxic.getAttributes());
+        post(url(target).addPathSegments(TOXICS_PATH.substring(1)).build(), body,
+                String.format("Toxic %1$2s can't be added to %2$2s", toxic.getName(), target));
+        return this;
+    }
+
+    /**
+     * @param target network alias of the target
+     * @param toxicName name of the toxic to remove
+     * @return self proxy
+     * @since 0.3.0
+     */
+    public ChaosProxy removeToxic(@NonNull String target, @NonNull String toxicName) {
+        execute(new Request.Builder().url(url(target).addPathSegments(TOXICS_PATH.substring(1)).addPathSegment(toxicName).build()).delete().build(),
+                String.format("Toxic %1$2s can't be removed from %2$2s", toxicName, target));
+        return this;
+    }
+
+    /**
+     * <p>Drop the current connections of a target and refuse the new ones until it's restored</p>
+     * @param target network alias of the target
+     * @return self proxy
+     * @since 0.3.0
+     */
+    public ChaosProxy cut(@NonNull String target) {
+        post(url(target).build(), Map.of("enabled", false), String.format("Target %1$2s can't be cut", target));
+        return this;
+    }
+
+    /**
+     * @param target network alias of a cut target
+     * @return self proxy
+     * @since 0.3.0
+     */
+    public ChaosProxy restore(@NonNull String target) {
+        post(url(target).build(), Map.of("enabled", true), String.format("Target %1$2s can't be restored", target));
+        return this;
+    }
+
+    /**
+     * <p>Remove the toxics of every target and restore the cut targets</p>
+     * @return self proxy
+     * @since 0.3.0
+     */
+    public ChaosProxy reset() {
+        post(HttpUrl.get(chaosProxyContainer.getApiUrl() + RESET_PATH), Map.of(), "Chaos proxy can't be reset");
+        return this;
+    }
+
+    /**
+     * <p>Create a proxy per target, listening on the port of the target</p>
+     */
+    void createProxies() {
+        targets.forEach((target, port) -> {
+            final var body = new LinkedHashMap<String, Object>();
+            body.put("name", target);
+            body.put("listen", "0.0.0.0:" + port);
+            body.put("upstream", target + ":" + port);
+            body.put("enabled", true);
+            post(HttpUrl.get(chaosProxyContainer.getApiUrl() + PROXIES_PATH), body, String.format("Target %1$2s can't be proxied", target));
+        });
+    }
+
+    private HttpUrl.Builder url(String target) {
+        if (!targets.containsKey(target)) {
+            throw new IllegalArgumentException(String.format("%1$2s isn't a chaos target. Chaos targets are %2$2s", target, targets.keySet()));
+        }
+        return HttpUrl.get(chaosProxyContainer.getApiUrl() + PROXIES_PATH).newBuilder().addPathSegment(target);
+    }
+
+    @SneakyThrows
+    private void post(HttpUrl url, Object body, String operation) {
+        execute(new Request.Builder().url(url).post(RequestBody.create(APPLICATION_JSON_UTF8, objectMapper.writeValueAsBytes(body))).build(), operation);
+    }
+
+    @SneakyThrows
+    private void execute(Request request, String operation) {
+        try (final var response = okHttpClient.newCall(request).execute()) {
+            if (!response.isSuccessful()) {
+                throw new IllegalStateException(String.format("%1$s. Reason: HTTP %2$s %3$s", operation, response.code(),
+                        response.body() != null ? response.body().string() : ""));
+            }
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package io.github.jsoladur.nodered;
+
+import io.github.jsoladur.nodered.vo.ContextScope;
+import io.github.jsoladur.nodered.vo.Flow;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * <p>Batch of NODE-RED admin API operations. Global context writes and removals are coalesced into a single request,
+ * whatever the number of keys, and the rest of the operations are sent concurrently over the shared connection pool</p>
+ * <pre>
+ * nodeRedContainer.getAdminClient().batch()
+ *         .setGlobalContextValue("countries", countries)
+ *         .setGlobalContextValue("currencies", currencies)
+ *         .deleteContextValue(ContextScope.FLOW, "5c1e0f7a2b9d4e31", "count")
+ *         .disableNodeModule("node-red-node-mysql")
+ *         .execute()
+ *         .join();
+ * </pre>
+ * @since 0.3.0
+ */
+@RequiredArgsConstructor
+public class NodeRedAdminBatch {
+
+    @NonNull
+    private final NodeRedAdminClient adminClient;
+    private final List<Supplier<CompletableFuture<?>>> operations = new ArrayList<>();
+    private final Map<String, Object> globalContextValues = new LinkedHashMap<>();
+    private final Set<String> deletedGlobalContextKeys = new LinkedHashSet<>();
+
+    public NodeRedAdminBatch setGlobalContextValue(@NonNull String key, Object value) {
+        deletedGlobalContextKeys.remove(key);
+        globalContextValues.put(key, value);
+        return this;
+    }
+
+    public NodeRedAdminBatch setGlobalContextValues(@NonNull Map<String, ?> values) {
+        values.forEach(this::setGlobalContextValue);
+        return this;
+    }
+
+    public NodeRedAdminBatch deleteContextValue(@NonNull ContextScope scope, String id, @NonNull String key) {
+        if (scope == ContextScope.GLOBAL) {
+            globalContextValues.remove(key);
+            deletedGlobalContextKeys.add(key);
+        } else {
+            operations.add(() -> adminClient.deleteContextValue(scope, id, key));
+        }
+        return this;
+    }
+
+    public NodeRedAdminBatch enableNodeModule(@NonNull String module) {
+        operations.add(() -> adminClient.enableNodeModule(module));
+        return this;
+    }
+
+    public NodeRedAdminBatch disableNodeModule(@NonNull String module) {
+        operations.add(() -> adminClient.disableNodeModule(module));
+        return this;
+    }
+
+    public NodeRedAdminBatch removeNodeModule(@NonNull String module) {
+        operations.add(() -> adminClient.removeNodeModule(module));
+        return this;
+    }
+
+    public NodeRedAdminBatch addFlow(@NonNull Flow flow) {
+        operations.add(() -> adminClient.addFlow(flow));
+        return this;
+    }
+
+    public NodeRedAdminBatch updateFlow(@NonNull String id, @NonNull Flow flow) {
+        operations.add(() -> adminClient.updateFlow(id, flow));
+        return this;
+    }
+
+    public NodeRedAdminBatch deleteFlow(@NonNull String id) {
+        operations.add(() -> adminClient.deleteFlow(id));
+        return this;
+    }
+
+    /**
+     * @return completion of all the operations of the batch. It fails if any operation fails
+     */
+    public CompletableFuture<Void> execute() {
+        final var futures = new ArrayList<CompletableFuture<?>>(operations.size() + 2);
+        if (!globalContextValues.isEmpty()) {
+            futures.add(adminClient.setGlobalContextValues(new LinkedHashMap<>(globalContextValues)));
+        }
+        if (!deletedGlobalContextKeys.isEmpty()) {
+            futures.add(adminClient.deleteGlobalContextValues(new ArrayList<>(deletedGlobalContextKeys)));
+        }
+        operations.forEach(operation -> futures.add(operation.get()));
+        return CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new));
+    }
+}
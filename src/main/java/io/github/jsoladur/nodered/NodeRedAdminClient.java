@@ -0,0 +1,155 @@
+package io.github.jsoladur.nodered;
+
+import io.github.jsoladur.nodered.vo.ContextScope;
+import io.github.jsoladur.nodered.vo.ContextValue;
+import io.github.jsoladur.nodered.vo.DiagnosticsReport;
+import io.github.jsoladur.nodered.vo.Flow;
+import io.github.jsoladur.nodered.vo.Flows;
+import io.github.jsoladur.nodered.vo.NodeModule;
+import io.github.jsoladur.nodered.vo.NodeSet;
+import io.github.jsoladur.nodered.vo.ThirdPartyLibraryNodesDependency;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * <p>Asynchronous client of the NODE-RED admin API of a container. All the calls share the connection pool of the container,
+ * and they fail with an IllegalStateException when NODE-RED doesn't answer with a successful status code</p>
+ * @see <a href="https://nodered.org/docs/api/admin/methods/">NODE-RED admin API methods</a>
+ * @since 0.3.0
+ */
+public interface NodeRedAdminClient {
+
+    /**
+     * @return all the node sets installed
+     */
+    CompletableFuture<List<NodeSet>> listNodeSets();
+
+    /**
+     * @param module module name, e.g. node-red-node-mysql
+     * @return the module and its node sets
+     */
+    CompletableFuture<NodeModule> getNodeModule(String module);
+
+    /**
+     * @param thirdPartyLibraryNodesDependency module and version to install from npm
+     * @return the installed module
+     */
+    CompletableFuture<NodeModule> installNodeModule(ThirdPartyLibraryNodesDependency thirdPartyLibraryNodesDependency);
+
+    /**
+     * @param module module name
+     * @return the enabled module
+     */
+    CompletableFuture<NodeModule> enableNodeModule(String module);
+
+    /**
+     * @param module module name
+     * @return the disabled module
+     */
+    CompletableFuture<NodeModule> disableNodeModule(String module);
+
+    /**
+     * @param module module name, installed through the admin API or the palette
+     * @return completion of the removal
+     */
+    CompletableFuture<Void> removeNodeModule(String module);
+
+    /**
+     * @return active flows configuration and its revision
+     */
+    CompletableFuture<Flows> getFlows();
+
+    /**
+     * <p>Full deploy of a flows configuration</p>
+     * @param flows all the nodes, as they are within the flows.json file
+     * @return revision of the deployed flows configuration
+     */
+    CompletableFuture<String> setFlows(List<Map<String, Object>> flows);
+
+    /**
+     * @param id flow id. 'global' returns the config nodes and subflows of the global flow
+     * @return the flow and its nodes
+     */
+    CompletableFuture<Flow> getFlow(String id);
+
+    /**
+     * <p>Add and start a flow, without stopping the other flows</p>
+     * @param flow flow to add
+     * @return id of the added flow
+     */
+    CompletableFuture<String> addFlow(Flow flow);
+
+    /**
+     * <p>Replace and restart a flow, without stopping the other flows</p>
+     * @param id flow id
+     * @param flow new version of the flow
+     * @return id of the updated flow
+     */
+    CompletableFuture<String> updateFlow(String id, Flow flow);
+
+    /**
+     * @param id flow id
+     * @return completion of the removal
+     */
+    CompletableFuture<Void> deleteFlow(String id);
+
+    /**
+     * @param scope context scope
+     * @param id flow or node id. Ignored for the global scope
+     * @return context values of every context store, keyed by store name and key
+     */
+    CompletableFuture<Map<String, Map<String, ContextValue>>> getContext(ContextScope scope, String id);
+
+    /**
+     * @param scope context scope
+     * @param id flow or node id. Ignored for the global scope
+     * @param key context key
+     * @return encoded value of the default context store
+     */
+    CompletableFuture<ContextValue> getContextValue(ContextScope scope, String id, String key);
+
+    /**
+     * @param scope context scope
+     * @param id flow or node id. Ignored for the global scope
+     * @param key context key
+     * @return completion of the removal from the default context store
+     */
+    CompletableFuture<Void> deleteContextValue(ContextScope scope, String id, String key);
+
+    /**
+     * <p>Read many global context values of the default context store within a single request. Unlike getContextValue,
+     * the values aren't encoded nor truncated</p>
+     * @param keys global context keys
+     * @return values keyed by global context key. Keys without value are missing
+     */
+    CompletableFuture<Map<String, Object>> getGlobalContextValues(Collection<String> keys);
+
+    /**
+     * <p>Write many global context values of the default context store within a single request</p>
+     * @param values JSON-serializable values keyed by global context key
+     * @return completion of the writes
+     */
+    CompletableFuture<Void> setGlobalContextValues(Map<String, ?> values);
+
+    /**
+     * <p>Remove many global context values of the default context store within a single request</p>
+     * @param keys global context keys
+     * @return completion of the removals
+     */
+    CompletableFuture<Void> deleteGlobalContextValues(Collection<String> keys);
+
+    /**
+     * @return diagnostics report of the NODE-RED runtime
+     */
+    CompletableFuture<DiagnosticsReport> getDiagnostics();
+
+    /**
+     * @return new batch of admin API operations
+     */
+    default NodeRedAdminBatch batch() {
+        return new NodeRedAdminBatch(this);
+    }
+}
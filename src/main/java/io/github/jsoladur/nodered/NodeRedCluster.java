@@ -0,0 +1,191 @@
+package io.github.jsoladur.nodered;
+
+import io.github.jsoladur.nodered.internal.containers.LoadBalancerContainer;
+import io.github.jsoladur.nodered.vo.LoadBalancingStrategy;
+import io.github.jsoladur.nodered.vo.ReplicaHealth;
+import lombok.NonNull;
+import lombok.SneakyThrows;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testcontainers.containers.Network;
+import org.testcontainers.lifecycle.Startable;
+import org.testcontainers.lifecycle.Startables;
+import org.testcontainers.shaded.com.fasterxml.jackson.core.type.TypeReference;
+import org.testcontainers.shaded.com.fasterxml.jackson.databind.ObjectMapper;
+import org.testcontainers.shaded.org.awaitility.Awaitility;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import static io.github.jsoladur.nodered.utils.NodeRedConstants.Cluster.LOAD_BALANCER_HTTP_EXPOSED_PORT;
+import static io.github.jsoladur.nodered.utils.NodeRedConstants.Cluster.LOAD_BALANCER_RELOAD_GRACE_PERIOD;
+import static io.github.jsoladur.nodered.utils.NodeRedConstants.Cluster.REPLICA_NETWORK_ALIAS_PREFIX;
+import static io.github.jsoladur.nodered.utils.NodeRedConstants.DEFAULT_STARTUP_TIMEOUT;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * <p>N identically configured NODE-RED containers, started in parallel on a shared network and fronted by a local load balancer</p>
+ * @since 0.3.0
+ */
+public class NodeRedCluster implements Startable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(NodeRedCluster.class);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Supplier<NodeRedContainer> nodeRedContainerSupplier;
+    private final int replicasCount;
+    private Network network;
+    private boolean ownNetwork;
+    private LoadBalancingStrategy loadBalancingStrategy = LoadBalancingStrategy.ROUND_ROBIN;
+    private Duration startupTimeout = DEFAULT_STARTUP_TIMEOUT;
+
+    private List<NodeRedContainer> replicas = Collections.emptyList();
+    private LoadBalancerContainer loadBalancerContainer;
+
+    /**
+     * @param replicasCount number of NODE-RED replicas
+     * @param nodeRedContainerSupplier supplier of identically configured NODE-RED containers,
+     *                                 e.g. () -> new NodeRedContainer().withFlowsJson("jsonplaceholder/flows.json")
+     * @since 0.3.0
+     */
+    public NodeRedCluster(int replicasCount, @NonNull Supplier<NodeRedContainer> nodeRedContainerSupplier) {
+        if (replicasCount <= 0) {
+            throw new IllegalArgumentException("replicasCount must be greater than zero");
+        }
+        this.replicasCount = replicasCount;
+        this.nodeRedContainerSupplier = nodeRedContainerSupplier;
+    }
+
+    /**
+     * @param network shared network of the replicas and the load balancer. By default, a new network is created
+     * @return self cluster
+     * @since 0.3.0
+     */
+    public NodeRedCluster withNetwork(@NonNull Network network) {
+        this.network = network;
+        return this;
+    }
+
+    /**
+     * @param loadBalancingStrategy load balancing strategy. ROUND_ROBIN is the default value
+     * @return self cluster
+     * @since 0.3.0
+     */
+    public NodeRedCluster withLoadBalancingStrategy(@NonNull LoadBalancingStrategy loadBalancingStrategy) {
+        this.loadBalancingStrategy = loadBalancingStrategy;
+        return this;
+    }
+
+    /**
+     * <p>Set timeout to wait that a replica is healthy again during rolling redeploys. By default, the value is 1 minute</p>
+     * @param startupTimeout startup timeout
+     * @return self cluster
+     * @since 0.3.0
+     */
+    public NodeRedCluster withStartupTimeout(@NonNull Duration startupTimeout) {
+        this.startupTimeout = startupTimeout;
+        return this;
+    }
+
+    @Override
+    public void start() {
+        if (this.network == null) {
+            this.network = Network.newNetwork();
+            this.ownNetwork = true;
+        }
+        final var networkAliases = IntStream.range(0, replicasCount).mapToObj(i -> REPLICA_NETWORK_ALIAS_PREFIX + i).collect(toList());
+        this.replicas = networkAliases.stream()
+                .map(networkAlias -> nodeRedContainerSupplier.get().withNetwork(network).withNetworkAliases(networkAlias))
+                .collect(toList());
+        Startables.deepStart(replicas).join();
+        this.loadBalancerContainer = new LoadBalancerContainer(networkAliases, loadBalancingStrategy).withNetwork(network);
+        this.loadBalancerContainer.start();
+        LOGGER.info("NODE-RED cluster with {} replicas started behind {}", replicasCount, getNodeRedUrl());
+    }
+
+    @Override
+    public void stop() {
+        if (this.loadBalancerContainer != null) {
+            this.loadBalancerContainer.stop();
+        }
+        this.replicas.parallelStream().forEach(NodeRedContainer::stop);
+        if (this.ownNetwork) {
+            this.network.close();
+            this.network = null;
+            this.ownNetwork = false;
+        }
+    }
+
+    /**
+     * NODE-RED cluster URL, that is the load balancer URL, e.g http://localhost:51134
+     * @return Base URL to access to the NODE-RED cluster
+     * @since 0.3.0
+     */
+    public String getNodeRedUrl() {
+        return String.format("http://%1$2s:%2$2s", loadBalancerContainer.getContainerIpAddress(),
+                loadBalancerContainer.getMappedPort(LOAD_BALANCER_HTTP_EXPOSED_PORT));
+    }
+
+    /**
+     * @return NODE-RED replicas of the cluster
+     * @since 0.3.0
+     */
+    public List<NodeRedContainer> getReplicas() {
+        return Collections.unmodifiableList(replicas);
+    }
+
+    /**
+     * @return health of every NODE-RED replica of the cluster
+     * @since 0.3.0
+     */
+    public List<ReplicaHealth> getReplicasHealth() {
+        return replicas.stream().map(replica -> ReplicaHealth.builder()
+                .networkAlias(replica.getNetworkAliases().get(replica.getNetworkAliases().size() - 1))
+                .nodeRedUrl(replica.isRunning() ? replica.getNodeRedUrl() : null)
+                .healthy(replica.isHealthy())
+                .build()
+        ).collect(toList());
+    }
+
+    /**
+     * <p>Deploy a flows configuration file replica by replica. Every replica is drained from the load balancer, redeployed
+     * and restored once it reports the deployed revision of the flows, so the cluster keeps serving requests during the redeploy</p>
+     * @param flowsJson flows configuration file from classpath
+     * @since 0.3.0
+     */
+    @SneakyThrows
+    public void redeployFlows(String flowsJson) {
+        final List<Map<String, Object>> flows;
+        try (final var is = this.getClass().getClassLoader().getResourceAsStream(flowsJson)) {
+            flows = objectMapper.readValue(is, new TypeReference<List<Map<String, Object>>>() {});
+        }
+        for (final var replica : replicas) {
+            final var networkAlias = replica.getNetworkAliases().get(replica.getNetworkAliases().size() - 1);
+            // XXX: A single replica can't be drained, otherwise the load balancer would have no upstream at all
+            final boolean drain = replicas.size() > 1;
+            if (drain) {
+                loadBalancerContainer.drain(networkAlias);
+                // XXX: Workers of the previous nginx configuration finish their requests after the reload
+                Thread.sleep(LOAD_BALANCER_RELOAD_GRACE_PERIOD.toMillis());
+            }
+            try {
+                // XXX: A full deploy answers once the flows are started again. The revision is checked over the admin API
+                //      instead of the "Started flows" log line, which isn't logged below the info level
+                final var rev = replica.getAdminClient().setFlows(flows).get(startupTimeout.toMillis(), TimeUnit.MILLISECONDS);
+                Awaitility.await().atMost(startupTimeout).pollInterval(Duration.ofMillis(100)).ignoreExceptions()
+                        .until(() -> replica.isHealthy() && Objects.equals(rev, replica.getAdminClient().getFlows().get().getRev()));
+            } finally {
+                if (drain) {
+                    loadBalancerContainer.restore(networkAlias);
+                }
+            }
+            LOGGER.info("NODE-RED replica {} redeployed", networkAlias);
+        }
+    }
+}
@@ -1,30 +1,88 @@
 package io.github.jsoladur.nodered;
 
+import com.github.dockerjava.api.command.CreateContainerCmd;
 import com.github.dockerjava.api.command.InspectContainerResponse;
+import com.github.dockerjava.api.exception.NotFoundException;
+import com.github.dockerjava.api.model.Bind;
+import io.github.jsoladur.nodered.flows.FlowsAnalyzer;
+import io.github.jsoladur.nodered.flows.FlowsCredentialsCipher;
+import io.github.jsoladur.nodered.flows.FlowsTemplate;
+import io.github.jsoladur.nodered.internal.containers.ChaosProxyContainer;
+import io.github.jsoladur.nodered.internal.helpers.ConfigurationFingerprint;
+import io.github.jsoladur.nodered.internal.helpers.CpuProfileAnalyzer;
+import io.github.jsoladur.nodered.internal.helpers.FunctionGlobalContextRenderer;
+import io.github.jsoladur.nodered.internal.helpers.InspectorClient;
+import io.github.jsoladur.nodered.internal.helpers.LocalFileSystemContextStore;
+import io.github.jsoladur.nodered.internal.helpers.NodeRedEventStreams;
 import io.github.jsoladur.nodered.internal.helpers.NodeRedRestApiClient;
 import io.github.jsoladur.nodered.internal.vo.InternalSettings;
+import io.github.jsoladur.nodered.internal.vo.NodeRedCatalogue;
+import io.github.jsoladur.nodered.vo.BulkInjection;
+import io.github.jsoladur.nodered.vo.BulkInjectionReport;
+import io.github.jsoladur.nodered.vo.ContextEntry;
+import io.github.jsoladur.nodered.vo.ContextSeed;
+import io.github.jsoladur.nodered.vo.ContextSnapshot;
+import io.github.jsoladur.nodered.vo.CpuProfileReport;
+import io.github.jsoladur.nodered.vo.DebugMessage;
+import io.github.jsoladur.nodered.vo.FlowsAnalysisReport;
+import io.github.jsoladur.nodered.vo.FlowsHazard;
+import io.github.jsoladur.nodered.vo.FunctionGlobalContext;
+import io.github.jsoladur.nodered.vo.LogEntry;
+import io.github.jsoladur.nodered.vo.NodeSet;
+import io.github.jsoladur.nodered.vo.RuntimeEvent;
 import io.github.jsoladur.nodered.vo.Settings;
 import io.github.jsoladur.nodered.vo.ThirdPartyLibraryNodesDependency;
 import lombok.NonNull;
 import lombok.SneakyThrows;
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
 import org.apache.commons.compress.utils.IOUtils;
 import org.modelmapper.ModelMapper;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.BindMode;
 import org.testcontainers.containers.GenericContainer;
 import org.testcontainers.containers.Network;
 import org.testcontainers.containers.output.Slf4jLogConsumer;
 import org.testcontainers.containers.wait.strategy.Wait;
-import org.testcontainers.images.builder.Transferable;
+import org.testcontainers.containers.wait.strategy.WaitStrategy;
+import org.testcontainers.shaded.com.fasterxml.jackson.core.type.TypeReference;
 import org.testcontainers.shaded.com.fasterxml.jackson.databind.DeserializationFeature;
+import org.testcontainers.shaded.com.fasterxml.jackson.databind.JsonNode;
+import org.testcontainers.shaded.com.fasterxml.jackson.databind.MapperFeature;
 import org.testcontainers.shaded.com.fasterxml.jackson.databind.ObjectMapper;
+import org.testcontainers.shaded.com.fasterxml.jackson.databind.SerializationFeature;
+import org.testcontainers.shaded.okhttp3.ConnectionPool;
+import org.testcontainers.shaded.okhttp3.Dispatcher;
 import org.testcontainers.shaded.okhttp3.OkHttpClient;
 import org.testcontainers.shaded.org.apache.commons.lang.ObjectUtils;
+import org.testcontainers.shaded.org.awaitility.Awaitility;
 import org.testcontainers.utility.DockerImageName;
+import org.testcontainers.utility.TestcontainersConfiguration;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 import static io.github.jsoladur.nodered.utils.NodeRedConstants.*;
 import static java.util.stream.Collectors.*;
@@ -35,7 +93,9 @@ import static java.util.stream.Collectors.*;
 public class NodeRedContainer extends GenericContainer<NodeRedContainer> {
 
     private String flowsJson;
+    private Map<String, ?> flowsJsonValues;
     private String flowsCredJson;
+    private Map<String, ? extends Map<String, ?>> flowsCredentials;
     private String settingsJs;
     private Settings settings;
     private boolean prettyPrintSettings;
@@ -43,13 +103,32 @@ public class NodeRedContainer extends GenericContainer<NodeRedContainer> {
     private boolean validateThirdPartyLibraryNodesDependencies;
     private String nodeRedCredentialSecret;
     private String nodeOptions;
+    private boolean profiling;
+    private boolean warmedImage;
+    private String warmedImageName;
+    private boolean reused;
     private Duration startupTimeout = DEFAULT_STARTUP_TIMEOUT;
+    private FlowsAnalyzer flowsAnalyzer;
+    private ConfigurationFingerprint configurationFingerprint;
+    private boolean dataDirectoryBindMount;
+    private FunctionGlobalContext functionGlobalContext;
+    private ContextSeed contextSeed;
+    private Map<String, byte[]> contextSeedFiles = Map.of();
+    private Path dataDirectory;
+    private Bind dataDirectoryBind;
+    private List<NodeRedCatalogue.Module> nodeRedCatalogueModules = Collections.emptyList();
+    private NodeRedEventStreams eventStreams;
+    private final Map<String, Integer> chaosTargets = new LinkedHashMap<>();
+    private ChaosProxyContainer chaosProxyContainer;
+    private ChaosProxy chaosProxy;
 
     private final OkHttpClient okHttpClient;
     private final ModelMapper modelMapper;
     private final ObjectMapper objectMapper;
 
     private final NodeRedRestApiClient nodeRedRestApiClient;
+    private final DockerImageName dockerImageName;
+    private final WaitStrategy httpWaitStrategy;
 
     /**
      * <p>Create NodeRedContainer with <a href="https://hub.docker.com/r/nodered/node-red/">nodered/node-red:latest</a> docker image</p>
@@ -70,13 +149,25 @@ public class NodeRedContainer extends GenericContainer<NodeRedContainer> {
             throw new IllegalArgumentException(String.format("%1$s isn't compatible with %2$s", dockerImageName.asCanonicalNameString(),
                     DEFAULT_DOCKER_IMAGE_NAME.asCanonicalNameString()));
         }
+        this.dockerImageName = dockerImageName;
+        this.httpWaitStrategy = Wait
+                .forHttp("/")
+                .forPort(DEFAULT_HTTP_EXPOSED_PORT)
+                .forStatusCodeMatching(code -> code >= 200 && code < 500);
         withExposedPorts(ALL_EXPOSED_PORTS.toArray(Integer[]::new));
         withLogConsumer(new Slf4jLogConsumer(logger()));
+        withLogConsumer(outputFrame -> eventStreams.accept(outputFrame));
         prettyPrintSettings = validateThirdPartyLibraryNodesDependencies = true;
         modelMapper = new ModelMapper();
         objectMapper = new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-        okHttpClient = new OkHttpClient.Builder().build();
+        final var dispatcher = new Dispatcher();
+        dispatcher.setMaxRequestsPerHost(HttpClient.MAX_REQUESTS_PER_HOST);
+        okHttpClient = new OkHttpClient.Builder()
+                .dispatcher(dispatcher)
+                .connectionPool(new ConnectionPool(HttpClient.MAX_IDLE_CONNECTIONS, HttpClient.KEEP_ALIVE_DURATION.toMillis(), TimeUnit.MILLISECONDS))
+                .build();
         nodeRedRestApiClient = new NodeRedRestApiClient(this, okHttpClient, objectMapper);
+        eventStreams = new NodeRedEventStreams(objectMapper, EventStreams.DEFAULT_BUFFER_CAPACITY);
     }
 
     /**
@@ -88,6 +179,22 @@ public class NodeRedContainer extends GenericContainer<NodeRedContainer> {
      */
     public NodeRedContainer withFlowsJson(String flowsJson) {
         this.flowsJson = flowsJson;
+        this.flowsJsonValues = null;
+        return self();
+    }
+
+    /**
+     * flows configuration file template to run in NODE-RED container instance, where every <code>#{name}</code> placeholder
+     * is replaced by its value. The template is compiled once and cached, so it can be rendered cheaply for many containers
+     * @param flowsJson flows configuration file template
+     * @param values value of every placeholder of the template
+     * @see FlowsTemplate
+     * @return self container
+     * @since 0.3.0
+     */
+    public NodeRedContainer withFlowsJson(String flowsJson, @NonNull Map<String, ?> values) {
+        this.flowsJson = flowsJson;
+        this.flowsJsonValues = Collections.unmodifiableMap(new HashMap<>(values));
         return self();
     }
 
@@ -103,6 +210,20 @@ public class NodeRedContainer extends GenericContainer<NodeRedContainer> {
         return self();
     }
 
+    /**
+     * <p>Plain credentials keyed by node id, which are encrypted in Java as NODE-RED does and injected as flows_cred.json file.
+     * The credentialSecret of the settings object or the NODE_RED_CREDENTIAL_SECRET env variable is used as encryption key.
+     * If the credentialSecret of the settings object is false, the credentials are injected unencrypted</p>
+     * @param flowsCredentials plain credentials keyed by node id, e.g. { "f42f9fadae58e4bd": { "user": "root", "password": "my_cool_secret" } }
+     * @see FlowsCredentialsCipher
+     * @return self container
+     * @since 0.3.0
+     */
+    public NodeRedContainer withFlowsCredentials(@NonNull Map<String, ? extends Map<String, ?>> flowsCredentials) {
+        this.flowsCredentials = Collections.unmodifiableMap(new HashMap<>(flowsCredentials));
+        return self();
+    }
+
     /**
      * your settings file
      * @see <a href="https://nodered.org/docs/getting-started/docker">Running NODE-RED under Docker</a>
@@ -124,6 +245,21 @@ public class NodeRedContainer extends GenericContainer<NodeRedContainer> {
      */
     public NodeRedContainer withSettings(Settings settings) {
         this.settings = settings;
+        this.functionGlobalContext = null;
+        return self();
+    }
+
+    /**
+     * your settings.js file as object representation, with a preloaded global context for the function nodes.
+     * The global context is serialized once and cached, so it can be shared by many containers
+     * @param settings settings.js file as object representation
+     * @param functionGlobalContext values and data files of the function nodes global context
+     * @return self container
+     * @since 0.3.0
+     */
+    public NodeRedContainer withSettings(Settings settings, @NonNull FunctionGlobalContext functionGlobalContext) {
+        this.settings = settings;
+        this.functionGlobalContext = functionGlobalContext;
         return self();
     }
 
@@ -183,6 +319,96 @@ public class NodeRedContainer extends GenericContainer<NodeRedContainer> {
         return self();
     }
 
+    /**
+     * <p>Analyze the flows configuration file looking for performance hazards before creating the container.</p>
+     * <p>Node types are cross-checked against the third party library nodes dependencies, using the NODE-RED catalogue
+     * when their validation is enabled. The container fails to start if any hazard reaches the fail on severity of the analyzer</p>
+     * @param flowsAnalyzer flows analyzer, e.g. FlowsAnalyzer.builder().build()
+     * @return self container
+     * @since 0.3.0
+     */
+    public NodeRedContainer withFlowsAnalyzer(FlowsAnalyzer flowsAnalyzer) {
+        this.flowsAnalyzer = flowsAnalyzer;
+        return self();
+    }
+
+    /**
+     * <p>Bind mount a temporary directory, populated before the container is created, as /data directory,
+     * instead of copying the files into the created container. 'false' is the default value.</p>
+     * <p>It requires a local Docker daemon. With the default mode, all the files are copied within a single tar archive</p>
+     * @param dataDirectoryBindMount bind mount a temporary /data directory
+     * @return self container
+     * @since 0.3.0
+     */
+    public NodeRedContainer withDataDirectoryBindMount(boolean dataDirectoryBindMount) {
+        this.dataDirectoryBindMount = dataDirectoryBindMount;
+        return self();
+    }
+
+    /**
+     * <p>Seed a localfilesystem context store with global, flow and node context values. The store files are written into
+     * the /data directory when the container is created. If the store isn't configured by the settings object, it's added</p>
+     * @param contextSeed initial values of the context store
+     * @return self container
+     * @since 0.3.0
+     */
+    public NodeRedContainer withContextSeed(ContextSeed contextSeed) {
+        this.contextSeed = contextSeed;
+        return self();
+    }
+
+    /**
+     * <p>Set the buffer capacity of every subscriber of the log entries, runtime events and debug messages streams.
+     * When a subscriber doesn't keep up and its buffer is full, the stream waits for it instead of buffering more items.
+     * By default, the value is 256</p>
+     * <p>Current subscribers are completed</p>
+     * @param bufferCapacity max number of items buffered per subscriber
+     * @return self container
+     * @since 0.3.0
+     */
+    public NodeRedContainer withEventStreamsBufferCapacity(int bufferCapacity) {
+        final var previousEventStreams = this.eventStreams;
+        this.eventStreams = new NodeRedEventStreams(objectMapper, bufferCapacity);
+        previousEventStreams.close();
+        return self();
+    }
+
+    /**
+     * <p>Route the traffic from NODE-RED to a dependency through the chaos proxy, so toxics (latency, bandwidth limits,
+     * connection drops...) can be added with {@link #getChaosProxy()}. The NODE-RED container and the dependency must share a network</p>
+     * @param networkAlias network alias or container name of the dependency, as used by the flows
+     * @param port port of the dependency, e.g. 3306
+     * @return self container
+     * @since 0.3.0
+     */
+    public NodeRedContainer withChaosTarget(@NonNull String networkAlias, int port) {
+        if (port <= 0 || port > 65535 || port == Chaos.PROXY_API_EXPOSED_PORT) {
+            throw new IllegalArgumentException(String.format("%1$2s isn't a valid chaos target port", port));
+        }
+        if (this.chaosTargets.entrySet().stream().anyMatch(chaosTarget -> !chaosTarget.getKey().equals(networkAlias) && chaosTarget.getValue() == port)) {
+            throw new IllegalArgumentException(String.format("Port %1$2s is already proxied for another chaos target", port));
+        }
+        this.chaosTargets.put(networkAlias, port);
+        return self();
+    }
+
+    /**
+     * <p>Depend on a container and route the traffic from NODE-RED to it through the chaos proxy. Its last network alias
+     * is the name of the target, so the flows must refer to the dependency by that alias</p>
+     * @param dependency container to depend on
+     * @param port port of the dependency, e.g. 3306
+     * @return self container
+     * @since 0.3.0
+     */
+    public NodeRedContainer withChaosTarget(@NonNull GenericContainer<?> dependency, int port) {
+        final var networkAliases = dependency.getNetworkAliases();
+        if (networkAliases.isEmpty()) {
+            throw new IllegalArgumentException("Chaos target container hasn't network aliases");
+        }
+        dependsOn(dependency);
+        return withChaosTarget(networkAliases.get(networkAliases.size() - 1), port);
+    }
+
     /**
      * <p>Set value for NODE_OPTIONS env variable</p>
      * @see <a href="https://nodered.org/docs/getting-started/docker">Running NODE-RED under Docker</a>
@@ -195,6 +421,50 @@ public class NodeRedContainer extends GenericContainer<NodeRedContainer> {
         return self();
     }
 
+    /**
+     * <p>Enable the V8 inspector of the NODE-RED process, so CPU profiles can be captured around a workload with
+     * {@link #profile(Runnable, Path)}. The inspector port is exposed next to the HTTP port</p>
+     * @return self container
+     * @since 0.3.0
+     */
+    public NodeRedContainer withProfiling() {
+        this.profiling = true;
+        return self();
+    }
+
+    /**
+     * <p>Start from a local image with the same configuration already started and warmed (flows deployed, modules installed
+     * and loaded, npm cache populated). If there isn't such image, the container is committed as that image once it's started,
+     * tagged by the configuration fingerprint, so later runs (e.g. in CI) skip the copies and installs</p>
+     * @param warmedImage true to start from (or commit) a warmed image. False is the default value
+     * @return self container
+     * @since 0.3.0
+     */
+    public NodeRedContainer withWarmedImage(boolean warmedImage) {
+        if (warmedImage && !this.warmedImage) {
+            withCreateContainerCmdModifier(this::restoreWarmedData);
+        }
+        this.warmedImage = warmedImage;
+        return self();
+    }
+
+    /**
+     * @return true if the container was started from a warmed image. Otherwise false
+     * @since 0.3.0
+     */
+    public boolean isStartedFromWarmedImage() {
+        return this.warmedImageName != null;
+    }
+
+    /**
+     * @return true if a running container with the same configuration was reused, and only the deltas were redeployed.
+     * Otherwise false
+     * @since 0.3.0
+     */
+    public boolean isReused() {
+        return this.reused;
+    }
+
     /**
      * <p>Set startup timeout to wait that the container start</p>
      * <p>By default, the value is 1 minute</p>
@@ -216,6 +486,212 @@ public class NodeRedContainer extends GenericContainer<NodeRedContainer> {
         return String.format("http://%1$2s:%2$2s", getContainerIpAddress(), getMappedPort(DEFAULT_HTTP_EXPOSED_PORT));
     }
 
+    /**
+     * <p>Deploy a flows configuration file into the running NODE-RED instance, replacing the current flows</p>
+     * @param flowsJson flows configuration file from classpath
+     * @since 0.3.0
+     */
+    @SneakyThrows
+    public void deployFlows(String flowsJson) {
+        try (final var is = this.getClass().getClassLoader().getResourceAsStream(flowsJson)) {
+            nodeRedRestApiClient.deployFlows(IOUtils.toByteArray(is));
+        }
+    }
+
+    /**
+     * <p>Stream every value of the localfilesystem context store (the seeded one, if any) from the container, one by one.
+     * Values set within the last flush interval of a cached store may not be written yet</p>
+     * @param consumer consumer of every context value
+     * @since 0.3.0
+     */
+    @SneakyThrows
+    public void exportContext(@NonNull Consumer<ContextEntry> consumer) {
+        final InputStream tarArchive;
+        try {
+            tarArchive = dockerClient.copyArchiveFromContainerCmd(getContainerId(), DataDirectory.PATH + "/" + getContextStoreDirectory()).exec();
+        } catch (NotFoundException e) {
+            // XXX: Nothing was written into the context store yet
+            return;
+        }
+        try (tarArchive) {
+            LocalFileSystemContextStore.read(tarArchive, consumer);
+        }
+    }
+
+    /**
+     * @return all the values of the localfilesystem context store (the seeded one, if any)
+     * @since 0.3.0
+     */
+    public ContextSnapshot exportContext() {
+        final var contextSnapshot = new ContextSnapshot();
+        exportContext(contextSnapshot::add);
+        return contextSnapshot;
+    }
+
+    /**
+     * Asynchronous client of the NODE-RED admin API, sharing the connection pool of the container
+     * @return admin API client
+     * @since 0.3.0
+     */
+    public NodeRedAdminClient getAdminClient() {
+        return nodeRedRestApiClient;
+    }
+
+    /**
+     * @return chaos proxy between NODE-RED and the chaos targets
+     * @throws IllegalStateException if no chaos target was set or the container isn't started
+     * @since 0.3.0
+     */
+    public ChaosProxy getChaosProxy() {
+        if (this.chaosProxy == null) {
+            throw new IllegalStateException("Chaos proxy isn't started. Set the chaos targets with withChaosTarget before starting the container");
+        }
+        return this.chaosProxy;
+    }
+
+    /**
+     * <p>Parsed lines of the NODE-RED log. Items are published while the container runs and every subscriber is completed
+     * when the container stops</p>
+     * @return publisher of the log entries
+     * @since 0.3.0
+     */
+    public Flow.Publisher<LogEntry> getLogEntries() {
+        return eventStreams.getLogEntries();
+    }
+
+    /**
+     * <p>Runtime events derived from the NODE-RED log: flows starting, started, stopping and stopped, and errors reported by nodes.
+     * Every subscriber is completed when the container stops</p>
+     * @return publisher of the runtime events
+     * @since 0.3.0
+     */
+    public Flow.Publisher<RuntimeEvent> getRuntimeEvents() {
+        return eventStreams.getRuntimeEvents();
+    }
+
+    /**
+     * <p>Messages of the active debug nodes, received through the websocket of the editor, so the editor mustn't be disabled.
+     * Every subscriber is completed when the container stops</p>
+     * @return publisher of the debug messages
+     * @since 0.3.0
+     */
+    public Flow.Publisher<DebugMessage> getDebugMessages() {
+        if (isRunning()) {
+            connectDebugMessages();
+        }
+        return eventStreams.getDebugMessages();
+    }
+
+    private void connectDebugMessages() {
+        if (settings != null && settings.isDisableEditor()) {
+            logger().warn("The editor is disabled, so debug messages won't be published!");
+            return;
+        }
+        eventStreams.connectDebugMessages(okHttpClient, getNodeRedUrl());
+    }
+
+    /**
+     * @return true if the NODE-RED instance answers HTTP requests. Otherwise false
+     * @since 0.3.0
+     */
+    public boolean isHealthy() {
+        return isRunning() && nodeRedRestApiClient.isHealthy();
+    }
+
+    /**
+     * V8 inspector URL of the NODE-RED process, e.g http://localhost:51135
+     * @return Base URL to access to the inspector
+     * @throws IllegalStateException if profiling isn't enabled
+     * @since 0.3.0
+     */
+    public String getInspectorUrl() {
+        if (!this.profiling) {
+            throw new IllegalStateException("Profiling isn't enabled. Enable it with withProfiling before starting the container");
+        }
+        return String.format("http://%1$2s:%2$2s", getContainerIpAddress(), getMappedPort(Profiling.INSPECTOR_EXPOSED_PORT));
+    }
+
+    /**
+     * <p>Capture a CPU profile of the NODE-RED process while the workload runs</p>
+     * @param workload workload to profile, e.g. a bulk injection
+     * @return top self time functions of the profile
+     * @since 0.3.0
+     */
+    public CpuProfileReport profile(Runnable workload) {
+        return profile(workload, null);
+    }
+
+    /**
+     * <p>Capture a CPU profile of the NODE-RED process while the workload runs, sampling every 200 microseconds.
+     * The code of the function nodes is attributed to their node ids</p>
+     * @param workload workload to profile, e.g. a bulk injection
+     * @param cpuProfileFile file to save the .cpuprofile, which can be loaded in the Chrome DevTools. If null, it isn't saved
+     * @return top self time functions of the profile
+     * @throws IllegalArgumentException if the file name hasn't the .cpuprofile extension
+     * @since 0.3.0
+     */
+    @SneakyThrows
+    public CpuProfileReport profile(@NonNull Runnable workload, Path cpuProfileFile) {
+        // XXX: The Chrome DevTools only load CPU profiles by their extension
+        if (cpuProfileFile != null && (cpuProfileFile.getFileName() == null ||
+                !cpuProfileFile.getFileName().toString().endsWith(Profiling.CPU_PROFILE_FILE_EXTENSION))) {
+            throw new IllegalArgumentException(String.format("%1$2s must have the %2$2s extension", cpuProfileFile,
+                    Profiling.CPU_PROFILE_FILE_EXTENSION));
+        }
+        JsonNode cpuProfile;
+        try (final var inspectorClient = InspectorClient.connect(okHttpClient, objectMapper, getInspectorUrl())) {
+            inspectorClient.send("Profiler.enable");
+            inspectorClient.send("Profiler.setSamplingInterval", Map.of("interval", Profiling.DEFAULT_SAMPLING_INTERVAL.toNanos() / 1000));
+            inspectorClient.send("Profiler.start");
+            try {
+                workload.run();
+            } finally {
+                cpuProfile = inspectorClient.send("Profiler.stop").get("profile");
+                inspectorClient.send("Profiler.disable");
+            }
+        }
+        if (cpuProfileFile != null) {
+            if (cpuProfileFile.getParent() != null) {
+                Files.createDirectories(cpuProfileFile.getParent());
+            }
+            objectMapper.writeValue(cpuProfileFile.toFile(), cpuProfile);
+        }
+        final var cpuProfileReport = CpuProfileAnalyzer.analyze(cpuProfile, Profiling.DEFAULT_TOP_FUNCTIONS, cpuProfileFile);
+        logger().info("CPU profile of NODE-RED: {}", cpuProfileReport);
+        return cpuProfileReport;
+    }
+
+    /**
+     * <p>Force a full garbage collection of the NODE-RED process through the inspector, so the used heap measured afterwards
+     * is the retained heap</p>
+     * @throws IllegalStateException if profiling isn't enabled
+     * @since 0.3.0
+     */
+    public void collectGarbage() {
+        try (final var inspectorClient = InspectorClient.connect(okHttpClient, objectMapper, getInspectorUrl())) {
+            inspectorClient.send("HeapProfiler.collectGarbage");
+        }
+    }
+
+    /**
+     * <p>Trigger an inject node once, as the inject button of the editor does</p>
+     * @param nodeId id of the inject node
+     * @since 0.3.0
+     */
+    public void inject(String nodeId) {
+        nodeRedRestApiClient.inject(nodeId);
+    }
+
+    /**
+     * <p>Trigger an inject node many times at a controlled rate and concurrency, reusing pooled connections</p>
+     * @param bulkInjection inject node, number of triggers, rate and concurrency
+     * @return achieved rate and failures of the bulk injection
+     * @since 0.3.0
+     */
+    public BulkInjectionReport inject(BulkInjection bulkInjection) {
+        return nodeRedRestApiClient.inject(bulkInjection);
+    }
+
     @Override
     public NodeRedContainer withNetwork(Network network) {
         return super.withNetwork(network);
@@ -247,6 +723,13 @@ public class NodeRedContainer extends GenericContainer<NodeRedContainer> {
         return this.flowsCredJson != null && !this.flowsCredJson.isBlank();
     }
 
+    /**
+     * @return true if plain credentials object property was set. Otherwise false
+     */
+    protected boolean hasFlowsCredentials() {
+        return this.flowsCredentials != null;
+    }
+
     /**
      * @return true if your settings file was set. Otherwise false
      */
@@ -261,22 +744,82 @@ public class NodeRedContainer extends GenericContainer<NodeRedContainer> {
         return this.settings != null;
     }
 
+    protected boolean hasContextSeed() {
+        return this.contextSeed != null;
+    }
+
+    protected boolean hasFunctionGlobalContext() {
+        return this.functionGlobalContext != null && !this.hasSettingsJs();
+    }
+
     @Override
     @SneakyThrows
     protected void configure() {
+        // XXX: configure is called on every start, so the bind mount of a previous start is removed before binding again
+        unbindDataDirectory();
         validateThirdPartyLibraryNodesDependencies();
-        setWaitStrategy(Wait
-                .forHttp("/")
-                .forPort(DEFAULT_HTTP_EXPOSED_PORT)
-                .forStatusCodeMatching(code -> code >= 200 && code < 500)
-                .withStartupTimeout(startupTimeout)
-        );
+        validateSettings();
+        analyzeFlowsJson();
+        if (this.hasContextSeed()) {
+            if (this.hasSettingsJs()) {
+                logger().warn("settingsJs file property and contextSeed property, both was set. The settings.js file must configure the '{}' context store as localfilesystem!",
+                        this.contextSeed.getStore());
+            }
+            // XXX: Written once per start, since the files are part of the configuration fingerprint
+            this.contextSeedFiles = LocalFileSystemContextStore.write(this.contextSeed);
+        }
+        if (this.hasFlowsCredentials() && !this.hasFlowsCredJson()) {
+            // XXX: Fail fast, before creating the container, if credentials can't be encrypted
+            getFlowsCredentialSecret();
+        }
         if (this.nodeRedCredentialSecret != null && !this.nodeRedCredentialSecret.isBlank()) {
             withEnv(Env.NODE_RED_CREDENTIAL_SECRET, this.nodeRedCredentialSecret);
         }
-        if (this.nodeOptions != null && !this.nodeOptions.isBlank()) {
+        if (this.profiling) {
+            addExposedPort(Profiling.INSPECTOR_EXPOSED_PORT);
+            withEnv(Env.NODE_OPTIONS, this.nodeOptions != null && !this.nodeOptions.isBlank() ?
+                    this.nodeOptions + " " + Profiling.INSPECT_NODE_OPTION : Profiling.INSPECT_NODE_OPTION);
+        } else if (this.nodeOptions != null && !this.nodeOptions.isBlank()) {
             withEnv(Env.NODE_OPTIONS, this.nodeOptions);
         }
+        // XXX: Settings need a restart to be applied, so they are part of the container hash used by the reuse feature
+        configurationFingerprint = computeConfigurationFingerprint();
+        withLabel(FINGERPRINT_LABEL, configurationFingerprint.getValue(Fingerprint.IMAGE, Fingerprint.SETTINGS, Fingerprint.ENV,
+                Fingerprint.GLOBAL_CONTEXT, Fingerprint.CONTEXT));
+        this.warmedImageName = this.warmedImage ? findWarmedImage() : null;
+        if (this.warmedImage) {
+            setDockerImageName(this.warmedImageName != null ? this.warmedImageName : this.dockerImageName.asCanonicalNameString());
+        }
+        this.httpWaitStrategy.withStartupTimeout(startupTimeout);
+        // XXX: The "Started flows" line isn't logged below the info level (e.g. the settings presets),
+        //      so a warmed container waits for HTTP like any other container
+        setWaitStrategy(this.httpWaitStrategy);
+        if (this.warmedImageName != null) {
+            logger().info("Starting from warmed image {}", this.warmedImageName);
+        }
+        if (!this.chaosTargets.isEmpty()) {
+            startChaosProxy();
+        }
+        if (this.dataDirectoryBindMount && this.isReusable()) {
+            // XXX: The temporary directory would be part of the container hash, so the container would never be reused
+            logger().warn("The /data directory isn't bind mounted in a reusable container. The files are copied instead!");
+        } else if (this.dataDirectoryBindMount) {
+            bindMountDataDirectory();
+        }
+    }
+
+    /**
+     * <p>Every file is copied when the container is created, and only the deltas are redeployed into a reused container.
+     * The settings, env, global context and context store files are part of the container hash, so a container
+     * with other values for them isn't reused</p>
+     */
+    @Override
+    protected boolean canBeReused() {
+        return true;
+    }
+
+    private boolean isReusable() {
+        return isShouldBeReused() && TestcontainersConfiguration.getInstance().environmentSupportsReuse();
     }
 
     @Override
@@ -285,47 +828,225 @@ public class NodeRedContainer extends GenericContainer<NodeRedContainer> {
         if (this.hasSettingsJs() && this.hasSettings()) {
             logger().warn("settingsJs file property and settings object property, both was set. The settings object will be ignored!");
         }
-        // flows.json
-        if (this.hasFlowsJson()) {
-            try (final var is = this.getClass().getClassLoader().getResourceAsStream(this.flowsJson)) {
-                copyFileToContainer(Transferable.of(IOUtils.toByteArray(is)), "/data/" + FLOWS_JSON_FILE_NAME);
-            }
+        if (this.hasSettingsJs() && this.functionGlobalContext != null) {
+            logger().warn("settingsJs file property and functionGlobalContext object property, both was set. The functionGlobalContext object will be ignored!");
         }
-        // flows_cred.json
-        if (this.hasFlowsCredJson()) {
-            try (final var is = this.getClass().getClassLoader().getResourceAsStream(this.flowsCredJson)) {
-                copyFileToContainer(Transferable.of(IOUtils.toByteArray(is)), "/data/" + FLOWS_CRED_JSON_FILE_NAME);
-            }
+        if (this.hasFlowsCredJson() && this.hasFlowsCredentials()) {
+            logger().warn("flowsCredJson file property and flowsCredentials object property, both was set. The flowsCredentials object will be ignored!");
         }
-        // Inject settings.js into container
-        if (this.hasSettingsJs()) {
-            try (final var is = this.getClass().getClassLoader().getResourceAsStream(this.settingsJs)) {
-                copyFileToContainer(Transferable.of(IOUtils.toByteArray(is)), "/data/" + SETTINGS_JS_FILE_NAME);
-            }
-        } else if (this.hasSettings()) {
-            final var internalSettings = modelMapper.map(ObjectUtils.defaultIfNull(settings, Settings.builder().build()), InternalSettings.class);
-            final String internalSettingsAsString = prettyPrintSettings ?
-                    objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(internalSettings) :
-                    objectMapper.writeValueAsString(internalSettings);
-            final String moduleExportsSettingsFile = String.format("module.exports = %1$2s", internalSettingsAsString);
-            copyFileToContainer(Transferable.of(moduleExportsSettingsFile.getBytes(StandardCharsets.UTF_8)), "/data/" + SETTINGS_JS_FILE_NAME);
+        // XXX: With a bind mounted /data directory or a warmed image, the files are already in place
+        if (this.dataDirectory == null && this.warmedImageName == null) {
+            copyDataFilesToContainer(containerId, getDataFiles());
+        }
+    }
+
+    @Override
+    protected void containerIsStopped(InspectContainerResponse containerInfo) {
+        eventStreams.close();
+        deleteDataDirectory();
+        stopChaosProxy();
+    }
+
+    /**
+     * <p>Dependencies are already started, so the proxy is started before the NODE-RED container is created and
+     * the network aliases of the targets are resolved to the proxy by NODE-RED</p>
+     */
+    private void startChaosProxy() {
+        if (getNetwork() == null) {
+            throw new IllegalStateException("Chaos targets need a network shared by NODE-RED and its dependencies. Set it with withNetwork");
+        }
+        stopChaosProxy();
+        this.chaosProxyContainer = new ChaosProxyContainer().withNetwork(getNetwork());
+        this.chaosProxyContainer.start();
+        this.chaosProxy = new ChaosProxy(this.chaosProxyContainer, this.chaosTargets, okHttpClient, objectMapper);
+        this.chaosProxy.createProxies();
+        final var chaosProxyIpAddress = this.chaosProxyContainer.getIpAddress(getNetwork().getId());
+        this.chaosTargets.keySet().forEach(networkAlias -> {
+            getExtraHosts().removeIf(extraHost -> extraHost.startsWith(networkAlias + ":"));
+            withExtraHost(networkAlias, chaosProxyIpAddress);
+        });
+        logger().info("Chaos proxy started for targets {}", this.chaosTargets);
+    }
+
+    private void stopChaosProxy() {
+        if (this.chaosProxyContainer != null) {
+            this.chaosProxyContainer.stop();
+            this.chaosProxyContainer = null;
+            this.chaosProxy = null;
         }
     }
 
     @Override
     protected void containerIsStarted(InspectContainerResponse containerInfo, boolean reused) {
         logger().debug("The NODE-RED container name is '{}'", containerInfo.getName());
+        this.reused = reused;
+        // XXX: A restarted or recreated container may not have the context helper flow deployed by the previous one
+        nodeRedRestApiClient.resetContextHelperFlow();
+        if (eventStreams.getDebugMessages().hasSubscribers()) {
+            connectDebugMessages();
+        }
+        if (reused) {
+            redeployConfigurationDeltas();
+            return;
+        }
+        if (this.warmedImageName != null) {
+            return;
+        }
         // XXX: Install third party dependencies...
         // @see https://github.com/node-red/node-red-admin/blob/master/lib/commands/install.js
         for (final var thirdPartyLibrary : thirdPartyLibraryNodesDependencies) {
             nodeRedRestApiClient.installThirdPartyLibraryNodesDependency(thirdPartyLibrary);
         }
+        if (this.warmedImage) {
+            commitWarmedImage();
+        }
+    }
+
+    private String getWarmedImageName() {
+        return WarmedImage.REPOSITORY + ":" + configurationFingerprint.getValue();
+    }
+
+    private String findWarmedImage() {
+        try {
+            DockerClientFactory.instance().client().inspectImageCmd(getWarmedImageName()).exec();
+            return getWarmedImageName();
+        } catch (NotFoundException e) {
+            return null;
+        }
+    }
+
+    /**
+     * <p>The /data directory is copied into the container filesystem, so it's part of the committed image, and the
+     * entrypoint of the warmed image restores it before starting NODE-RED</p>
+     */
+    @SneakyThrows
+    private void commitWarmedImage() {
+        Awaitility.await().atMost(startupTimeout).pollInterval(Duration.ofMillis(100)).until(this::isHealthy);
+        final var result = execInContainer("sh", "-c", String.format("rm -rf %1$s && mkdir -p %1$s && cp -a %2$s/. %1$s/",
+                WarmedImage.DATA_DIRECTORY, DataDirectory.PATH));
+        if (result.getExitCode() != 0) {
+            logger().warn("Warmed image can't be committed, /data directory can't be copied: {}", result.getStderr());
+            return;
+        }
+        final var labels = new HashMap<String, String>();
+        labels.put(WarmedImage.LABEL, configurationFingerprint.getValue());
+        // XXX: Committed images inherit the container labels, and the resource reaper removes the images of its session
+        labels.put(DockerClientFactory.TESTCONTAINERS_SESSION_ID_LABEL, "");
+        final var warmedImageName = DockerImageName.parse(getWarmedImageName());
+        DockerClientFactory.instance().client().commitCmd(getContainerId())
+                .withRepository(warmedImageName.getRepository())
+                .withTag(warmedImageName.getVersionPart())
+                .withLabels(labels)
+                .exec();
+        logger().info("Warmed image {} committed", warmedImageName.asCanonicalNameString());
+    }
+
+    private void restoreWarmedData(CreateContainerCmd createContainerCmd) {
+        if (this.warmedImageName == null) {
+            return;
+        }
+        final var containerConfig = DockerClientFactory.instance().client().inspectImageCmd(this.warmedImageName).exec().getConfig();
+        final var entrypoint = new ArrayList<>(List.of("sh", "-c", WarmedImage.RESTORE_DATA_SCRIPT, WarmedImage.REPOSITORY));
+        if (containerConfig != null && containerConfig.getEntrypoint() != null) {
+            entrypoint.addAll(List.of(containerConfig.getEntrypoint()));
+        }
+        createContainerCmd.withEntrypoint(entrypoint);
+        // XXX: Docker doesn't use the command of the image when the entrypoint is overridden
+        if (createContainerCmd.getCmd() == null && containerConfig != null && containerConfig.getCmd() != null) {
+            createContainerCmd.withCmd(containerConfig.getCmd());
+        }
+    }
+
+    /**
+     * <p>Deterministic fingerprint of the configuration of the container: image, flows, credentials, settings.js output,
+     * third party library nodes dependencies and env values</p>
+     * @return SHA-256 of the configuration as hexadecimal string
+     * @since 0.3.0
+     */
+    public String getConfigurationFingerprint() {
+        return (configurationFingerprint != null ? configurationFingerprint : computeConfigurationFingerprint()).getValue();
+    }
+
+    /**
+     * <p>Running container was reused: copy only the flows and credentials which changed, install only the
+     * third party library nodes dependencies which are missing and reload the flows if needed</p>
+     */
+    @SneakyThrows
+    private void redeployConfigurationDeltas() {
+        final Map<String, String> previousParts = readPreviousConfigurationFingerprintParts();
+        final var currentParts = configurationFingerprint.getParts();
+        final var redeployed = new ArrayList<String>();
+        final Map<String, byte[]> dataFiles = new LinkedHashMap<>();
+        if (this.hasFlowsJson() && !Objects.equals(previousParts.get(Fingerprint.FLOWS), currentParts.get(Fingerprint.FLOWS))) {
+            dataFiles.put(FLOWS_JSON_FILE_NAME, getFlowsJsonContent());
+            redeployed.add(FLOWS_JSON_FILE_NAME);
+        }
+        if ((this.hasFlowsCredJson() || this.hasFlowsCredentials()) &&
+                !Objects.equals(previousParts.get(Fingerprint.CREDENTIALS), currentParts.get(Fingerprint.CREDENTIALS))) {
+            dataFiles.put(FLOWS_CRED_JSON_FILE_NAME, getFlowsCredJsonContent());
+            redeployed.add(FLOWS_CRED_JSON_FILE_NAME);
+        }
+        if (!previousParts.equals(currentParts)) {
+            dataFiles.put(FINGERPRINT_FILE_NAME, objectMapper.writeValueAsBytes(currentParts));
+            copyDataFilesToContainer(getContainerId(), dataFiles);
+        }
+        final var installedModules = nodeRedRestApiClient.getNodeSets().stream()
+                .filter(nodeSet -> nodeSet.getModule() != null && nodeSet.getVersion() != null)
+                .collect(toMap(NodeSet::getModule, NodeSet::getVersion, (version, otherVersion) -> version));
+        for (final var thirdPartyLibrary : thirdPartyLibraryNodesDependencies) {
+            final var installedVersion = installedModules.get(thirdPartyLibrary.getModule());
+            if (installedVersion == null || (!"latest".equals(thirdPartyLibrary.getVersion()) && !installedVersion.equals(thirdPartyLibrary.getVersion()))) {
+                nodeRedRestApiClient.installThirdPartyLibraryNodesDependency(thirdPartyLibrary);
+                redeployed.add(thirdPartyLibrary.getModule() + "@" + thirdPartyLibrary.getVersion());
+            }
+        }
+        if (redeployed.contains(FLOWS_JSON_FILE_NAME) || redeployed.contains(FLOWS_CRED_JSON_FILE_NAME)) {
+            nodeRedRestApiClient.reloadFlows();
+        }
+        logger().info("The NODE-RED container was reused. Redeployed deltas: {}", redeployed.isEmpty() ? "none" : String.join(", ", redeployed));
+    }
+
+    private Map<String, String> readPreviousConfigurationFingerprintParts() {
+        try {
+            return copyFileFromContainer("/data/" + FINGERPRINT_FILE_NAME,
+                    is -> objectMapper.readValue(IOUtils.toByteArray(is), new TypeReference<Map<String, String>>() {}));
+        } catch (Exception e) {
+            logger().debug("Configuration fingerprint of the reused NODE-RED container can't be read", e);
+            return Collections.emptyMap();
+        }
+    }
+
+    @SneakyThrows
+    private ConfigurationFingerprint computeConfigurationFingerprint() {
+        final var canonicalObjectMapper = objectMapper.copy()
+                .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true)
+                .configure(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY, true);
+        final var fingerprint = new ConfigurationFingerprint()
+                .part(Fingerprint.IMAGE, dockerImageName.asCanonicalNameString())
+                .part(Fingerprint.FLOWS, this.hasFlowsJson() ? getFlowsJsonContent() : null)
+                .part(Fingerprint.SETTINGS, this.hasSettingsJs() || this.hasSettings() || this.hasContextSeed() ? getSettingsJsContent() : null)
+                .part(Fingerprint.MODULES, canonicalObjectMapper.writeValueAsBytes(thirdPartyLibraryNodesDependencies.stream()
+                        .sorted(Comparator.comparing(ThirdPartyLibraryNodesDependency::getModule)).collect(toList())))
+                .part(Fingerprint.ENV, canonicalObjectMapper.writeValueAsBytes(new TreeMap<>(getEnvMap())))
+                .part(Fingerprint.GLOBAL_CONTEXT, this.hasFunctionGlobalContext() ? canonicalObjectMapper.writeValueAsBytes(
+                        new TreeMap<>(FunctionGlobalContextRenderer.render(this.functionGlobalContext).getDataFiles())) : null)
+                .part(Fingerprint.CONTEXT, canonicalObjectMapper.writeValueAsBytes(new TreeMap<>(this.contextSeedFiles)));
+        if (this.hasFlowsCredJson()) {
+            fingerprint.part(Fingerprint.CREDENTIALS, getFlowsCredJsonContent());
+        } else if (this.hasFlowsCredentials()) {
+            // XXX: Encrypted credentials use a random IV, so the plain credentials and the secret are fingerprinted instead
+            fingerprint.part(Fingerprint.CREDENTIALS, canonicalObjectMapper.writeValueAsString(this.flowsCredentials) +
+                    getFlowsCredentialSecret().orElse(""));
+        } else {
+            fingerprint.part(Fingerprint.CREDENTIALS, (byte[]) null);
+        }
+        return fingerprint;
     }
 
     private void validateThirdPartyLibraryNodesDependencies() {
         if (this.validateThirdPartyLibraryNodesDependencies) {
             // XXX: 1.) HTTP Request to https://catalogue.nodered.org/catalogue.json
-            final var nodeRedCatalogueModules = nodeRedRestApiClient.getNodeRedCatalogueModules();
+            nodeRedCatalogueModules = nodeRedRestApiClient.getNodeRedCatalogueModules();
             // XXX: 2.) Validate 3rd party dependencies, comparing there one with catalogue
             for (final var thirdPartyLibrary : thirdPartyLibraryNodesDependencies) {
                 if (nodeRedCatalogueModules.stream().noneMatch(catalogueModule -> catalogueModule.getId().equals(thirdPartyLibrary.getModule()))){
@@ -335,6 +1056,270 @@ public class NodeRedContainer extends GenericContainer<NodeRedContainer> {
         }
     }
 
+    /**
+     * @return secret used by NODE-RED to encrypt the credentials, or empty if the credentials encryption is disabled
+     */
+    private Optional<String> getFlowsCredentialSecret() {
+        if (!this.hasSettingsJs() && this.hasSettings()) {
+            final var credentialSecret = this.settings.getCredentialSecret();
+            if (credentialSecret instanceof String && !((String) credentialSecret).isBlank()) {
+                return Optional.of((String) credentialSecret);
+            } else if (Boolean.FALSE.equals(credentialSecret)) {
+                return Optional.empty();
+            }
+        }
+        if (this.nodeRedCredentialSecret != null && !this.nodeRedCredentialSecret.isBlank()) {
+            return Optional.of(this.nodeRedCredentialSecret);
+        }
+        throw new IllegalStateException("flowsCredentials object property needs a credentialSecret in the settings object or a NODE_RED_CREDENTIAL_SECRET env variable");
+    }
+
+    /**
+     * @return content of every file to inject into the /data directory, keyed by file name
+     */
+    @SneakyThrows
+    private Map<String, byte[]> getDataFiles() {
+        final Map<String, byte[]> dataFiles = new LinkedHashMap<>();
+        // flows.json
+        if (this.hasFlowsJson()) {
+            dataFiles.put(FLOWS_JSON_FILE_NAME, getFlowsJsonContent());
+        }
+        // flows_cred.json
+        if (this.hasFlowsCredJson() || this.hasFlowsCredentials()) {
+            dataFiles.put(FLOWS_CRED_JSON_FILE_NAME, getFlowsCredJsonContent());
+        }
+        // settings.js
+        if (this.hasSettingsJs() || this.hasSettings() || this.hasContextSeed()) {
+            dataFiles.put(SETTINGS_JS_FILE_NAME, getSettingsJsContent());
+        }
+        // Function global context values and data files
+        if (this.hasFunctionGlobalContext()) {
+            dataFiles.putAll(FunctionGlobalContextRenderer.render(this.functionGlobalContext).getDataFiles());
+        }
+        // Context store files
+        final var contextStoreDirectory = getContextStoreDirectory();
+        this.contextSeedFiles.forEach((path, content) -> dataFiles.put(contextStoreDirectory + "/" + path, content));
+        // Configuration fingerprint, to redeploy only the deltas when the container is reused
+        dataFiles.put(FINGERPRINT_FILE_NAME, objectMapper.writeValueAsBytes(configurationFingerprint.getParts()));
+        return dataFiles;
+    }
+
+    /**
+     * <p>Copy all the files into the /data directory within a single tar archive, i.e. a single Docker API call</p>
+     */
+    @SneakyThrows
+    private void copyDataFilesToContainer(String containerId, Map<String, byte[]> dataFiles) {
+        final var tarArchive = new ByteArrayOutputStream();
+        try (final var tarArchiveOutputStream = new TarArchiveOutputStream(tarArchive)) {
+            tarArchiveOutputStream.setLongFileMode(TarArchiveOutputStream.LONGFILE_POSIX);
+            final Set<String> directories = new HashSet<>();
+            for (final var dataFile : dataFiles.entrySet()) {
+                // XXX: Explicit directory entries, otherwise they would be owned by root and NODE-RED couldn't write within them
+                for (int i = dataFile.getKey().indexOf('/'); i > 0; i = dataFile.getKey().indexOf('/', i + 1)) {
+                    final var directory = dataFile.getKey().substring(0, i + 1);
+                    if (directories.add(directory)) {
+                        final var directoryEntry = new TarArchiveEntry(directory);
+                        directoryEntry.setMode(DataDirectory.DIRECTORY_MODE);
+                        directoryEntry.setIds(DataDirectory.NODE_RED_USER_ID, DataDirectory.NODE_RED_USER_ID);
+                        tarArchiveOutputStream.putArchiveEntry(directoryEntry);
+                        tarArchiveOutputStream.closeArchiveEntry();
+                    }
+                }
+                final var tarArchiveEntry = new TarArchiveEntry(dataFile.getKey());
+                tarArchiveEntry.setSize(dataFile.getValue().length);
+                tarArchiveEntry.setMode(DataDirectory.FILE_MODE);
+                tarArchiveEntry.setIds(DataDirectory.NODE_RED_USER_ID, DataDirectory.NODE_RED_USER_ID);
+                tarArchiveOutputStream.putArchiveEntry(tarArchiveEntry);
+                tarArchiveOutputStream.write(dataFile.getValue());
+                tarArchiveOutputStream.closeArchiveEntry();
+            }
+        }
+        dockerClient.copyArchiveToContainerCmd(containerId)
+                .withRemotePath(DataDirectory.PATH)
+                .withTarInputStream(new ByteArrayInputStream(tarArchive.toByteArray()))
+                .exec();
+    }
+
+    /**
+     * <p>Populate a temporary directory with all the files and bind mount it as /data directory,
+     * so they are in place before the container is created</p>
+     */
+    @SneakyThrows
+    private void bindMountDataDirectory() {
+        deleteDataDirectory();
+        this.dataDirectory = Files.createTempDirectory(DataDirectory.TEMP_DIRECTORY_PREFIX);
+        final boolean posix = this.dataDirectory.getFileSystem().supportedFileAttributeViews().contains("posix");
+        if (posix) {
+            // XXX: NODE-RED runs with its own user, which must be able to write the /data directory
+            Files.setPosixFilePermissions(this.dataDirectory, PosixFilePermissions.fromString("rwxrwxrwx"));
+        }
+        for (final var dataFile : getDataFiles().entrySet()) {
+            final var path = this.dataDirectory.resolve(dataFile.getKey());
+            var directory = this.dataDirectory;
+            for (final var name : this.dataDirectory.relativize(path.getParent())) {
+                directory = directory.resolve(name);
+                if (!Files.isDirectory(directory)) {
+                    Files.createDirectory(directory);
+                    if (posix) {
+                        Files.setPosixFilePermissions(directory, PosixFilePermissions.fromString("rwxrwxrwx"));
+                    }
+                }
+            }
+            Files.write(path, dataFile.getValue());
+            if (posix) {
+                Files.setPosixFilePermissions(path, PosixFilePermissions.fromString("rw-rw-rw-"));
+            }
+        }
+        addFileSystemBind(this.dataDirectory.toAbsolutePath().toString(), DataDirectory.PATH, BindMode.READ_WRITE);
+        this.dataDirectoryBind = getBinds().get(getBinds().size() - 1);
+    }
+
+    private void unbindDataDirectory() {
+        if (this.dataDirectoryBind != null) {
+            getBinds().remove(this.dataDirectoryBind);
+            this.dataDirectoryBind = null;
+        }
+    }
+
+    private void deleteDataDirectory() {
+        if (this.dataDirectory == null) {
+            return;
+        }
+        try (final var paths = Files.walk(this.dataDirectory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        } catch (IOException e) {
+            logger().debug("Temporary /data directory {} can't be deleted", this.dataDirectory, e);
+        }
+        this.dataDirectory = null;
+    }
+
+    @SneakyThrows
+    private byte[] getFlowsCredJsonContent() {
+        if (this.hasFlowsCredJson()) {
+            try (final var is = this.getClass().getClassLoader().getResourceAsStream(this.flowsCredJson)) {
+                return IOUtils.toByteArray(is);
+            }
+        }
+        final var credentialSecret = getFlowsCredentialSecret();
+        final String flowsCredJsonContent = credentialSecret.isPresent() ?
+                FlowsCredentialsCipher.encrypt(this.flowsCredentials, credentialSecret.get()) :
+                objectMapper.writeValueAsString(this.flowsCredentials);
+        return flowsCredJsonContent.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @SneakyThrows
+    private byte[] getSettingsJsContent() {
+        if (this.hasSettingsJs()) {
+            try (final var is = this.getClass().getClassLoader().getResourceAsStream(this.settingsJs)) {
+                return IOUtils.toByteArray(is);
+            }
+        }
+        final var internalSettings = modelMapper.map(ObjectUtils.defaultIfNull(settings, Settings.builder().build()), InternalSettings.class);
+        if (this.hasContextSeed()) {
+            final Map<String, Settings.ContextStore> contextStorage = internalSettings.getContextStorage() != null ?
+                    new LinkedHashMap<>(internalSettings.getContextStorage()) : new LinkedHashMap<>();
+            contextStorage.put(this.contextSeed.getStore(), getSeededContextStore());
+            internalSettings.setContextStorage(contextStorage);
+        }
+        final String internalSettingsAsString = prettyPrintSettings ?
+                objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(internalSettings) :
+                objectMapper.writeValueAsString(internalSettings);
+        String moduleExportsSettingsFile = String.format("module.exports = %1$2s", internalSettingsAsString);
+        if (this.hasFunctionGlobalContext()) {
+            moduleExportsSettingsFile += FunctionGlobalContextRenderer.render(this.functionGlobalContext).getSettingsJs();
+        }
+        return moduleExportsSettingsFile.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return the localfilesystem context store to seed, as configured by the settings object or with a short flush interval
+     */
+    private Settings.ContextStore getSeededContextStore() {
+        final var contextStore = this.hasSettings() && this.settings.getContextStorage() != null ?
+                this.settings.getContextStorage().get(this.contextSeed.getStore()) : null;
+        if (contextStore == null) {
+            return Settings.ContextStore.builder()
+                    .module(Settings.ContextStore.LOCAL_FILESYSTEM_MODULE)
+                    .config(Settings.ContextStore.Config.builder().flushInterval(ContextStorage.SEEDED_FLUSH_INTERVAL_SECONDS).build())
+                    .build();
+        }
+        if (!Settings.ContextStore.LOCAL_FILESYSTEM_MODULE.equals(contextStore.getModule())) {
+            throw new IllegalArgumentException(String.format("Context store %1$s must use the %2$s module to be seeded",
+                    this.contextSeed.getStore(), Settings.ContextStore.LOCAL_FILESYSTEM_MODULE));
+        }
+        if (contextStore.getConfig() != null && contextStore.getConfig().getDir() != null &&
+                !DataDirectory.PATH.equals(contextStore.getConfig().getDir())) {
+            throw new IllegalArgumentException(String.format("Context store %1$s must be within the %2$s directory to be seeded",
+                    this.contextSeed.getStore(), DataDirectory.PATH));
+        }
+        return contextStore;
+    }
+
+    /**
+     * @return base directory, within /data, of the seeded context store, or else of the first localfilesystem context store
+     */
+    private String getContextStoreDirectory() {
+        Settings.ContextStore contextStore = null;
+        if (this.hasContextSeed()) {
+            contextStore = getSeededContextStore();
+        } else if (this.hasSettings() && this.settings.getContextStorage() != null) {
+            contextStore = this.settings.getContextStorage().values().stream()
+                    .filter(store -> store != null && Settings.ContextStore.LOCAL_FILESYSTEM_MODULE.equals(store.getModule()))
+                    .findFirst().orElse(null);
+        }
+        return contextStore != null && contextStore.getConfig() != null && contextStore.getConfig().getBase() != null ?
+                contextStore.getConfig().getBase() : ContextStorage.DEFAULT_DIRECTORY;
+    }
+
+    @SneakyThrows
+    private byte[] getFlowsJsonContent() {
+        if (this.flowsJsonValues != null) {
+            return FlowsTemplate.of(this.flowsJson).render(this.flowsJsonValues);
+        }
+        try (final var is = this.getClass().getClassLoader().getResourceAsStream(this.flowsJson)) {
+            return IOUtils.toByteArray(is);
+        }
+    }
+
+    private void validateSettings() {
+        if (this.hasSettings() && !this.hasSettingsJs()) {
+            this.settings.validate();
+            if (!Objects.equals(this.settings.getUiPort(), DEFAULT_HTTP_EXPOSED_PORT)) {
+                throw new IllegalArgumentException(String.format("uiPort %1$s must be the exposed port %2$s of the container",
+                        this.settings.getUiPort(), DEFAULT_HTTP_EXPOSED_PORT));
+            }
+        }
+    }
+
+    @SneakyThrows
+    private void analyzeFlowsJson() {
+        if (this.flowsAnalyzer == null || !this.hasFlowsJson()) {
+            return;
+        }
+        // XXX: Many catalogue modules provide the same node type, so any of them satisfies the node
+        final Map<String, Set<String>> nodeTypesModules = new HashMap<>();
+        for (final var catalogueModule : nodeRedCatalogueModules) {
+            if (catalogueModule.getTypes() != null) {
+                catalogueModule.getTypes().forEach(type -> nodeTypesModules.computeIfAbsent(type, key -> new HashSet<>()).add(catalogueModule.getId()));
+            }
+        }
+        nodeTypesModules.putAll(flowsAnalyzer.getNodeTypesModules());
+        final FlowsAnalysisReport report = flowsAnalyzer.toBuilder()
+                .thirdPartyLibraryNodesDependencies(thirdPartyLibraryNodesDependencies)
+                .nodeTypesModules(nodeTypesModules)
+                .build()
+                .analyze(new ByteArrayInputStream(getFlowsJsonContent()));
+        if (report.hasHazards(FlowsHazard.Severity.WARNING)) {
+            logger().warn("Flows analysis of {}: {}", this.flowsJson, report);
+        } else {
+            logger().info("Flows analysis of {}: {}", this.flowsJson, report);
+        }
+        if (flowsAnalyzer.getFailOnSeverity() != null && report.hasHazards(flowsAnalyzer.getFailOnSeverity())) {
+            throw new IllegalStateException(String.format("%1$2s contains hazards with %2$2s severity or higher: %3$2s", this.flowsJson,
+                    flowsAnalyzer.getFailOnSeverity(), report));
+        }
+    }
+
     private void printLoggerWarnDisableFeature() {
         logger().warn("This feature is disabled in " + this.getClass().getName());
     }
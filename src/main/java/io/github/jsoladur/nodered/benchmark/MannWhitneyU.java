@@ -0,0 +1,75 @@
+package io.github.jsoladur.nodered.benchmark;
+
+import java.util.Arrays;
+
+/**
+ * <p>One-sided Mann-Whitney U test with the normal approximation, tie correction and continuity correction,
+ * suitable for the sample sizes of load tests (tens of samples or more)</p>
+ */
+final class MannWhitneyU {
+
+    private MannWhitneyU() {
+    }
+
+    /**
+     * @param current current samples
+     * @param baseline baseline samples
+     * @return p-value of the current samples being stochastically greater than the baseline ones.
+     * 1 if any of the samples is empty or all the values are equal
+     */
+    static double greaterPValue(long[] current, long[] baseline) {
+        final int n1 = current.length;
+        final int n2 = baseline.length;
+        if (n1 == 0 || n2 == 0) {
+            return 1;
+        }
+        final long[] sortedCurrent = current.clone();
+        final long[] sortedBaseline = baseline.clone();
+        Arrays.sort(sortedCurrent);
+        Arrays.sort(sortedBaseline);
+        final double n = n1 + n2;
+        double currentRankSum = 0;
+        double tieCorrection = 0;
+        int i = 0;
+        int j = 0;
+        int rank = 0;
+        // XXX: Merge of the sorted samples, every group of equal values gets the average of its ranks
+        while (i < n1 || j < n2) {
+            final long value = j >= n2 || (i < n1 && sortedCurrent[i] <= sortedBaseline[j]) ? sortedCurrent[i] : sortedBaseline[j];
+            int currentTies = 0;
+            int baselineTies = 0;
+            while (i < n1 && sortedCurrent[i] == value) {
+                currentTies++;
+                i++;
+            }
+            while (j < n2 && sortedBaseline[j] == value) {
+                baselineTies++;
+                j++;
+            }
+            final double ties = currentTies + baselineTies;
+            currentRankSum += currentTies * (rank + (ties + 1) / 2);
+            tieCorrection += ties * ties * ties - ties;
+            rank += (int) ties;
+        }
+        final double u = currentRankSum - n1 * (n1 + 1d) / 2;
+        final double mean = n1 * (double) n2 / 2;
+        final double variance = n1 * (double) n2 / 12 * ((n + 1) - tieCorrection / (n * (n - 1)));
+        if (variance <= 0) {
+            return 1;
+        }
+        final double z = (u - mean - 0.5) / Math.sqrt(variance);
+        return upperTailProbability(z);
+    }
+
+    /**
+     * <p>P(Z &gt; z) of the standard normal distribution, through the complementary error function
+     * (Chebyshev approximation with a fractional error below 1.2E-7)</p>
+     */
+    static double upperTailProbability(double z) {
+        final double x = z / Math.sqrt(2);
+        final double t = 1 / (1 + 0.5 * Math.abs(x));
+        final double erfc = t * Math.exp(-x * x - 1.26551223 + t * (1.00002368 + t * (0.37409196 + t * (0.09678418
+                + t * (-0.18628806 + t * (0.27886807 + t * (-1.13520398 + t * (1.48851587 + t * (-0.82215223 + t * 0.17087277)))))))));
+        return 0.5 * (x >= 0 ? erfc : 2 - erfc);
+    }
+}
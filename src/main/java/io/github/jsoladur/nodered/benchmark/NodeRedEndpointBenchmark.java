@@ -0,0 +1,126 @@
+package io.github.jsoladur.nodered.benchmark;
+
+import io.github.jsoladur.nodered.NodeRedContainer;
+import io.github.jsoladur.nodered.vo.PerformanceResult;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NonNull;
+import org.testcontainers.shaded.okhttp3.Dispatcher;
+import org.testcontainers.shaded.okhttp3.OkHttpClient;
+import org.testcontainers.shaded.okhttp3.Request;
+import org.testcontainers.shaded.okhttp3.RequestBody;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.github.jsoladur.nodered.utils.NodeRedConstants.HttpClient.APPLICATION_JSON_UTF8;
+
+/**
+ * <p>Latency and throughput of an HTTP endpoint of a NODE-RED container under a closed-loop load: every worker sends its
+ * next request as soon as the previous one is answered. The result can be compared against a baseline with the {@link RegressionGate}</p>
+ * @since 0.3.0
+ */
+@Getter @Builder
+public class NodeRedEndpointBenchmark {
+
+    /**
+     * <p>Started NODE-RED container</p>
+     */
+    @NonNull
+    private final NodeRedContainer nodeRedContainer;
+    /**
+     * <p>Unique name of the result. By default, method and path, e.g. "GET /posts"</p>
+     */
+    private final String name;
+    @Builder.Default
+    private final String method = "GET";
+    /**
+     * <p>URL of the HTTP in node, e.g. /posts</p>
+     */
+    @NonNull
+    private final String path;
+    /**
+     * <p>JSON body of the requests, if any</p>
+     */
+    private final String body;
+    @Builder.Default
+    private final int requests = 1000;
+    /**
+     * <p>Requests sent before the measured ones, which aren't recorded</p>
+     */
+    @Builder.Default
+    private final int warmUpRequests = 100;
+    @Builder.Default
+    private final int concurrency = 8;
+
+    /**
+     * @return latency of every measured request and the achieved throughput
+     * @throws IllegalStateException if any request fails or doesn't answer with a successful status code
+     */
+    public PerformanceResult run() {
+        if (requests <= 0 || warmUpRequests < 0 || concurrency <= 0) {
+            throw new IllegalArgumentException("requests and concurrency must be greater than zero and warmUpRequests can't be negative");
+        }
+        final var dispatcher = new Dispatcher();
+        dispatcher.setMaxRequestsPerHost(concurrency);
+        final var okHttpClient = new OkHttpClient.Builder().dispatcher(dispatcher).build();
+        try {
+            runRequests(okHttpClient, warmUpRequests, null);
+            final var latencyMicros = new long[requests];
+            final long start = System.nanoTime();
+            runRequests(okHttpClient, requests, latencyMicros);
+            final var elapsed = Duration.ofNanos(System.nanoTime() - start);
+            return PerformanceResult.of(name != null ? name : method + " " + path, latencyMicros, elapsed);
+        } finally {
+            okHttpClient.dispatcher().executorService().shutdown();
+            okHttpClient.connectionPool().evictAll();
+        }
+    }
+
+    private void runRequests(OkHttpClient okHttpClient, int count, long[] latencyMicros) {
+        final var nextRequest = new AtomicInteger();
+        final Map<String, Integer> failureReasons = new ConcurrentHashMap<>();
+        final var url = nodeRedContainer.getNodeRedUrl() + (path.startsWith("/") ? path : "/" + path);
+        final var workers = new ArrayList<Thread>(concurrency);
+        for (int worker = 0; worker < concurrency; worker++) {
+            final var thread = new Thread(() -> {
+                for (int index = nextRequest.getAndIncrement(); index < count; index = nextRequest.getAndIncrement()) {
+                    final var request = new Request.Builder()
+                            .url(url)
+                            .method(method, body != null ? RequestBody.create(APPLICATION_JSON_UTF8, body) : null)
+                            .build();
+                    final long requestStart = System.nanoTime();
+                    try (final var response = okHttpClient.newCall(request).execute()) {
+                        if (response.body() != null) {
+                            response.body().bytes();
+                        }
+                        if (!response.isSuccessful()) {
+                            failureReasons.merge("HTTP " + response.code(), 1, Integer::sum);
+                        }
+                    } catch (Exception e) {
+                        failureReasons.merge(e.getClass().getSimpleName(), 1, Integer::sum);
+                    }
+                    if (latencyMicros != null) {
+                        latencyMicros[index] = (System.nanoTime() - requestStart) / 1000;
+                    }
+                }
+            }, "node-red-endpoint-benchmark-" + worker);
+            workers.add(thread);
+            thread.start();
+        }
+        for (final var thread : workers) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Endpoint benchmark was interrupted", e);
+            }
+        }
+        if (!failureReasons.isEmpty()) {
+            throw new IllegalStateException(String.format("%1$s %2$s failed: %3$s", method, path, failureReasons));
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package io.github.jsoladur.nodered.benchmark;
+
+import io.github.jsoladur.nodered.NodeRedContainer;
+import io.github.jsoladur.nodered.vo.MemorySamples;
+import io.github.jsoladur.nodered.vo.SoakTestReport;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NonNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * <p>Soak test of a running NODE-RED container: a workload runs in a loop for the configured duration while the memory
+ * usage of the NODE-RED process is sampled from the diagnostics admin endpoint. A full garbage collection is forced through
+ * the inspector before every sample, so the used heap is the retained heap and not the garbage of the young generation.
+ * A least squares trend is fitted to the retained heap after the warm-up, and a leak is flagged when it grows faster than the threshold,
+ * the trend explains the samples (R²) and the fitted growth over the run is above the noise of a few collections.
+ * The container must be started with profiling enabled</p>
+ * <pre>
+ * SoakTestReport report = NodeRedSoakHarness.builder()
+ *         .nodeRedContainer(nodeRedContainer)
+ *         .workload(container -> container.inject("0b7d2c3e4f5a6b71"))
+ *         .duration(Duration.ofHours(2))
+ *         .warmUp(Duration.ofMinutes(10))
+ *         .failOnLeak(true)
+ *         .build()
+ *         .run();
+ * </pre>
+ * @since 0.3.0
+ */
+@Getter @Builder
+public class NodeRedSoakHarness {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(NodeRedSoakHarness.class);
+    private static final int MIN_SAMPLES_FOR_LEAK_DETECTION = 3;
+    private static final long BYTES_PER_MEGABYTE = 1024 * 1024;
+
+    /**
+     * <p>Started NODE-RED container. The diagnostics admin endpoint and the profiling must be enabled</p>
+     */
+    @NonNull
+    private final NodeRedContainer nodeRedContainer;
+    /**
+     * <p>Workload run in a loop until the duration elapses, e.g. an injection or a request to an HTTP in node</p>
+     */
+    @NonNull
+    private final Consumer<NodeRedContainer> workload;
+    /**
+     * <p>Number of threads running the workload. 1 is the default value</p>
+     */
+    @Builder.Default
+    private final int workloadConcurrency = 1;
+    @NonNull
+    private final Duration duration;
+    /**
+     * <p>Time between memory usage samples. 10 seconds is the default value</p>
+     */
+    @Builder.Default
+    private final Duration sampleInterval = Duration.ofSeconds(10);
+    /**
+     * <p>Samples taken during the warm-up (caches filling, JIT...) aren't fitted. Zero is the default value</p>
+     */
+    @Builder.Default
+    private final Duration warmUp = Duration.ZERO;
+    /**
+     * <p>Growth of the retained heap above which a leak is flagged. 5 MB per hour is the default value</p>
+     */
+    @Builder.Default
+    private final long leakThresholdBytesPerHour = 5 * BYTES_PER_MEGABYTE;
+    /**
+     * <p>Minimum coefficient of determination of the trend to flag a leak, so noisy samples of short runs aren't flagged.
+     *    0.5 is the default value</p>
+     */
+    @Builder.Default
+    private final double minRSquared = 0.5;
+    /**
+     * <p>Minimum fitted growth of the retained heap after the warm-up to flag a leak. 1 MB is the default value</p>
+     */
+    @Builder.Default
+    private final long minLeakGrowthBytes = BYTES_PER_MEGABYTE;
+    /**
+     * <p>If true, an IllegalStateException is thrown when a leak is detected. False is the default value</p>
+     */
+    private final boolean failOnLeak;
+
+    /**
+     * @return memory samples, growth trends and leak verdict of the run
+     * @throws IllegalStateException if failOnLeak is set and a leak is detected
+     */
+    public SoakTestReport run() {
+        if (!nodeRedContainer.isRunning()) {
+            throw new IllegalStateException("NODE-RED container must be started before the soak test");
+        }
+        if (duration.isNegative() || duration.isZero() || sampleInterval.isNegative() || sampleInterval.isZero()) {
+            throw new IllegalArgumentException("duration and sampleInterval must be greater than zero");
+        }
+        if (warmUp.isNegative() || warmUp.compareTo(duration) >= 0) {
+            throw new IllegalArgumentException("warmUp can't be negative and must be shorter than duration");
+        }
+        if (workloadConcurrency <= 0) {
+            throw new IllegalArgumentException("workloadConcurrency must be greater than zero");
+        }
+        if (minRSquared < 0 || minRSquared > 1 || minLeakGrowthBytes < 0) {
+            throw new IllegalArgumentException("minRSquared must be between 0 and 1 and minLeakGrowthBytes can't be negative");
+        }
+        // XXX: Fail fast if the garbage can't be collected through the inspector
+        nodeRedContainer.collectGarbage();
+        final var startedAt = Instant.now();
+        final long startNanos = System.nanoTime();
+        final var running = new AtomicBoolean(true);
+        final var workloadIterations = new LongAdder();
+        final var workloadFailures = new LongAdder();
+        final var workers = new ArrayList<Thread>(workloadConcurrency);
+        for (int i = 0; i < workloadConcurrency; i++) {
+            final var worker = new Thread(() -> {
+                while (running.get()) {
+                    try {
+                        workload.accept(nodeRedContainer);
+                    } catch (Exception e) {
+                        workloadFailures.increment();
+                        LOGGER.debug("Soak test workload failed", e);
+                    }
+                    workloadIterations.increment();
+                }
+            }, "node-red-soak-workload-" + i);
+            worker.setDaemon(true);
+            workers.add(worker);
+            worker.start();
+        }
+        final var samples = new MemorySamples();
+        long samplingFailures = 0;
+        try {
+            final long intervalNanos = sampleInterval.toNanos();
+            final long deadlineNanos = startNanos + duration.toNanos();
+            // XXX: Samples are scheduled from the start, so slow diagnostics requests don't make the interval drift
+            for (long nextSampleNanos = startNanos; nextSampleNanos <= deadlineNanos; nextSampleNanos += intervalNanos) {
+                LockSupport.parkNanos(nextSampleNanos - System.nanoTime());
+                try {
+                    // XXX: Raw used heap mostly follows the garbage of the young generation, which hides the trend of the retained heap
+                    nodeRedContainer.collectGarbage();
+                    final var diagnostics = nodeRedContainer.getAdminClient().getDiagnostics().get(intervalNanos, TimeUnit.NANOSECONDS);
+                    samples.add(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos), diagnostics.getNodejs().getMemoryUsage());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                } catch (Exception e) {
+                    samplingFailures++;
+                    LOGGER.debug("Memory usage of NODE-RED can't be sampled", e);
+                }
+            }
+        } finally {
+            running.set(false);
+            workers.forEach(worker -> {
+                try {
+                    worker.join(sampleInterval.toMillis());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        final var heapUsedTrend = samples.fit(MemorySamples.Metric.HEAP_USED, warmUp.toMillis());
+        final var report = SoakTestReport.builder()
+                .startedAt(startedAt.toString())
+                .elapsed(Duration.ofNanos(System.nanoTime() - startNanos))
+                .warmUp(warmUp)
+                .workloadIterations(workloadIterations.sum())
+                .workloadFailures(workloadFailures.sum())
+                .samplingFailures(samplingFailures)
+                .samples(samples)
+                .heapUsedTrend(heapUsedTrend)
+                .rssTrend(samples.fit(MemorySamples.Metric.RSS, warmUp.toMillis()))
+                .leakThresholdBytesPerHour(leakThresholdBytesPerHour)
+                .minRSquared(minRSquared)
+                .minLeakGrowthBytes(minLeakGrowthBytes)
+                .leakDetected(heapUsedTrend.getSamples() >= MIN_SAMPLES_FOR_LEAK_DETECTION
+                        && heapUsedTrend.getSlopeBytesPerHour() > leakThresholdBytesPerHour
+                        && heapUsedTrend.getRSquared() >= minRSquared
+                        && heapUsedTrend.getGrowthBytes() >= minLeakGrowthBytes)
+                .build();
+        LOGGER.info("Soak test finished: {}", report);
+        if (failOnLeak && report.isLeakDetected()) {
+            throw new IllegalStateException(String.format("NODE-RED retained heap grows %1$.2f MB/hour (R²=%2$.2f, %3$.2f MB over %4$s), over the leak threshold of %5$.2f MB/hour",
+                    heapUsedTrend.getSlopeBytesPerHour() / BYTES_PER_MEGABYTE, heapUsedTrend.getRSquared(),
+                    heapUsedTrend.getGrowthBytes() / BYTES_PER_MEGABYTE, Duration.ofMillis(heapUsedTrend.getDurationMillis()),
+                    (double) leakThresholdBytesPerHour / BYTES_PER_MEGABYTE));
+        }
+        return report;
+    }
+}
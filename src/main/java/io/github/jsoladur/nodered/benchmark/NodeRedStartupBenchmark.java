@@ -0,0 +1,229 @@
+package io.github.jsoladur.nodered.benchmark;
+
+import com.github.dockerjava.api.async.ResultCallback;
+import com.github.dockerjava.api.model.ExposedPort;
+import com.github.dockerjava.api.model.Statistics;
+import io.github.jsoladur.nodered.NodeRedContainer;
+import io.github.jsoladur.nodered.vo.Settings;
+import io.github.jsoladur.nodered.vo.StartupBenchmarkReport;
+import io.github.jsoladur.nodered.vo.StartupBenchmarkResult;
+import io.github.jsoladur.nodered.vo.StartupBenchmarkResult.StartType;
+import io.github.jsoladur.nodered.vo.ThirdPartyLibraryNodesDependency;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Singular;
+import lombok.SneakyThrows;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.images.RemoteDockerImage;
+import org.testcontainers.shaded.okhttp3.OkHttpClient;
+import org.testcontainers.shaded.okhttp3.Request;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntPredicate;
+
+import static io.github.jsoladur.nodered.utils.NodeRedConstants.DEFAULT_DOCKER_IMAGE_NAME;
+import static io.github.jsoladur.nodered.utils.NodeRedConstants.DEFAULT_HTTP_EXPOSED_PORT;
+import static io.github.jsoladur.nodered.utils.NodeRedConstants.DEFAULT_STARTUP_TIMEOUT;
+
+/**
+ * <p>Startup benchmark of NODE-RED containers across a matrix of Docker images, settings presets and module sets.
+ * Every configuration is started cold (a new container) and warm (a restart of the first container, whose modules are
+ * already installed), recording time-to-ready, time-to-first-request and idle resident memory</p>
+ * <pre>
+ * StartupBenchmarkReport report = NodeRedStartupBenchmark.builder()
+ *         .dockerImageName(DockerImageName.parse("nodered/node-red:2.1.0"))
+ *         .dockerImageName(DockerImageName.parse("nodered/node-red:2.2.0"))
+ *         .settingsPreset("throughput", Settings.throughput().build())
+ *         .build()
+ *         .run();
+ * StartupBenchmarkReportWriter.write(report, Path.of("target/startup-benchmark"));
+ * </pre>
+ * @since 0.3.0
+ */
+@Getter @Builder
+public class NodeRedStartupBenchmark {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(NodeRedStartupBenchmark.class);
+    private static final String DEFAULT_SETTINGS_PRESET = "default";
+    private static final String DEFAULT_MODULE_SET = "none";
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(50);
+
+    /**
+     * <p>NODE-RED Docker images to compare. If not set, the default image is used</p>
+     */
+    @Singular
+    private final List<DockerImageName> dockerImageNames;
+    /**
+     * <p>Settings to compare keyed by preset name. If not set, the default settings are used</p>
+     */
+    @Singular
+    private final Map<String, Settings> settingsPresets;
+    /**
+     * <p>Third party library nodes dependencies to compare keyed by module set name. If not set, no module is installed</p>
+     */
+    @Singular
+    private final Map<String, List<ThirdPartyLibraryNodesDependency>> moduleSets;
+    /**
+     * <p>flows configuration file from classpath deployed in every container</p>
+     */
+    private final String flowsJson;
+    /**
+     * <p>Path of the first request measured by time-to-first-request, e.g. an HTTP in node url</p>
+     */
+    @Builder.Default
+    private final String firstRequestPath = "/";
+    @Builder.Default
+    private final int coldStarts = 3;
+    @Builder.Default
+    private final int warmStarts = 3;
+    /**
+     * <p>Time to wait once the container answers before sampling its resident memory</p>
+     */
+    @Builder.Default
+    private final Duration idleDuration = Duration.ofSeconds(5);
+    @Builder.Default
+    private final Duration startupTimeout = DEFAULT_STARTUP_TIMEOUT;
+
+    /**
+     * @return results of every start of every configuration
+     */
+    public StartupBenchmarkReport run() {
+        if (coldStarts <= 0 || warmStarts < 0) {
+            throw new IllegalArgumentException("coldStarts must be greater than zero and warmStarts can't be negative");
+        }
+        final var startedAt = Instant.now();
+        final var okHttpClient = new OkHttpClient.Builder()
+                .connectTimeout(POLL_INTERVAL.multipliedBy(10).toMillis(), TimeUnit.MILLISECONDS)
+                .build();
+        final var report = StartupBenchmarkReport.builder().startedAt(startedAt.toString());
+        for (final var dockerImageName : dockerImageNames.isEmpty() ? List.of(DEFAULT_DOCKER_IMAGE_NAME) : dockerImageNames) {
+            // XXX: The image is pulled before the timed starts, otherwise the first cold start would measure the pull too
+            new RemoteDockerImage(dockerImageName).get();
+            for (final var settingsPreset : (settingsPresets.isEmpty() ?
+                    Map.of(DEFAULT_SETTINGS_PRESET, Settings.builder().build()) : settingsPresets).entrySet()) {
+                for (final var moduleSet : (moduleSets.isEmpty() ?
+                        Map.<String, List<ThirdPartyLibraryNodesDependency>>of(DEFAULT_MODULE_SET, List.of()) : moduleSets).entrySet()) {
+                    final var result = StartupBenchmarkResult.builder()
+                            .dockerImageName(dockerImageName.asCanonicalNameString())
+                            .settingsPreset(settingsPreset.getKey())
+                            .moduleSet(moduleSet.getKey());
+                    for (int coldStart = 1; coldStart <= coldStarts; coldStart++) {
+                        final var nodeRedContainer = new NodeRedContainer(dockerImageName)
+                                .withSettings(settingsPreset.getValue())
+                                .withStartupTimeout(startupTimeout);
+                        // XXX: An empty module set is a baseline without third party library nodes dependencies
+                        if (!moduleSet.getValue().isEmpty()) {
+                            nodeRedContainer.withThirdPartyLibraryNodesDependencies(moduleSet.getValue().toArray(ThirdPartyLibraryNodesDependency[]::new));
+                        }
+                        if (flowsJson != null) {
+                            nodeRedContainer.withFlowsJson(flowsJson);
+                        }
+                        try {
+                            report.result(measureColdStart(nodeRedContainer, okHttpClient, result.startType(StartType.COLD).repetition(coldStart)));
+                            // XXX: Warm starts only restart the first container, they don't depend on the cold repetition
+                            for (int warmStart = 1; coldStart == 1 && warmStart <= warmStarts; warmStart++) {
+                                report.result(measureWarmStart(nodeRedContainer, okHttpClient, result.startType(StartType.WARM).repetition(warmStart)));
+                            }
+                        } finally {
+                            nodeRedContainer.stop();
+                        }
+                    }
+                }
+            }
+        }
+        okHttpClient.connectionPool().evictAll();
+        return report.elapsedMillis(Duration.between(startedAt, Instant.now()).toMillis()).build();
+    }
+
+    private StartupBenchmarkResult measureColdStart(NodeRedContainer nodeRedContainer, OkHttpClient okHttpClient,
+                                                    StartupBenchmarkResult.StartupBenchmarkResultBuilder result) {
+        final long startNanos = System.nanoTime();
+        nodeRedContainer.start();
+        final long timeToReadyMillis = elapsedMillis(startNanos);
+        final var nodeRedUrl = nodeRedContainer.getNodeRedUrl();
+        awaitStatusCode(okHttpClient, nodeRedUrl + firstRequestPath, code -> code >= 200 && code < 300);
+        return measureIdleRss(nodeRedContainer, result.timeToReadyMillis(timeToReadyMillis).timeToFirstRequestMillis(elapsedMillis(startNanos)));
+    }
+
+    private StartupBenchmarkResult measureWarmStart(NodeRedContainer nodeRedContainer, OkHttpClient okHttpClient,
+                                                    StartupBenchmarkResult.StartupBenchmarkResultBuilder result) {
+        final var dockerClient = DockerClientFactory.lazyClient();
+        dockerClient.stopContainerCmd(nodeRedContainer.getContainerId()).exec();
+        final long startNanos = System.nanoTime();
+        dockerClient.startContainerCmd(nodeRedContainer.getContainerId()).exec();
+        // XXX: Published ports can change on restart, so the mapped port is inspected again
+        final var nodeRedUrl = String.format("http://%1$s:%2$s", nodeRedContainer.getHost(), getMappedHttpPort(nodeRedContainer));
+        awaitStatusCode(okHttpClient, nodeRedUrl + "/", code -> code >= 200 && code < 500);
+        final long timeToReadyMillis = elapsedMillis(startNanos);
+        awaitStatusCode(okHttpClient, nodeRedUrl + firstRequestPath, code -> code >= 200 && code < 300);
+        return measureIdleRss(nodeRedContainer, result.timeToReadyMillis(timeToReadyMillis).timeToFirstRequestMillis(elapsedMillis(startNanos)));
+    }
+
+    @SneakyThrows
+    private StartupBenchmarkResult measureIdleRss(NodeRedContainer nodeRedContainer, StartupBenchmarkResult.StartupBenchmarkResultBuilder result) {
+        Thread.sleep(idleDuration.toMillis());
+        final var statistics = new AtomicReference<Statistics>();
+        try (final var callback = DockerClientFactory.lazyClient()
+                .statsCmd(nodeRedContainer.getContainerId())
+                .withNoStream(true)
+                .exec(new ResultCallback.Adapter<>() {
+                    @Override
+                    public void onNext(Statistics next) {
+                        statistics.set(next);
+                    }
+                })) {
+            callback.awaitCompletion(startupTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        }
+        final var memoryStats = statistics.get() != null ? statistics.get().getMemoryStats() : null;
+        long idleRssBytes = -1;
+        if (memoryStats != null && memoryStats.getStats() != null && memoryStats.getStats().getRss() != null) {
+            idleRssBytes = memoryStats.getStats().getRss();
+        } else if (memoryStats != null && memoryStats.getUsage() != null) {
+            // XXX: cgroup v2 doesn't report rss, so the page cache is discounted from the usage as docker stats does
+            final var inactiveFile = memoryStats.getStats() != null ? memoryStats.getStats().getInactiveFile() : null;
+            idleRssBytes = memoryStats.getUsage() - (inactiveFile != null ? inactiveFile : 0L);
+        }
+        final var startupBenchmarkResult = result.idleRssBytes(idleRssBytes).build();
+        LOGGER.info("{}", startupBenchmarkResult);
+        return startupBenchmarkResult;
+    }
+
+    private int getMappedHttpPort(NodeRedContainer nodeRedContainer) {
+        final var bindings = DockerClientFactory.lazyClient()
+                .inspectContainerCmd(nodeRedContainer.getContainerId()).exec()
+                .getNetworkSettings().getPorts().getBindings().get(ExposedPort.tcp(DEFAULT_HTTP_EXPOSED_PORT));
+        if (bindings == null || bindings.length == 0) {
+            throw new IllegalStateException(String.format("Port %1$s isn't published after restarting the container", DEFAULT_HTTP_EXPOSED_PORT));
+        }
+        return Integer.parseInt(bindings[0].getHostPortSpec());
+    }
+
+    @SneakyThrows
+    private void awaitStatusCode(OkHttpClient okHttpClient, String url, IntPredicate statusCodePredicate) {
+        final long deadlineNanos = System.nanoTime() + startupTimeout.toNanos();
+        final var request = new Request.Builder().url(url).build();
+        while (System.nanoTime() < deadlineNanos) {
+            try (final var response = okHttpClient.newCall(request).execute()) {
+                if (statusCodePredicate.test(response.code())) {
+                    return;
+                }
+            } catch (Exception e) {
+                // XXX: NODE-RED isn't listening yet
+            }
+            Thread.sleep(POLL_INTERVAL.toMillis());
+        }
+        throw new IllegalStateException(String.format("%1$s didn't answer within %2$s", url, startupTimeout));
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+}
@@ -0,0 +1,181 @@
+package io.github.jsoladur.nodered.benchmark;
+
+import io.github.jsoladur.nodered.vo.PerformanceBaseline;
+import io.github.jsoladur.nodered.vo.PerformanceResult;
+import io.github.jsoladur.nodered.vo.RegressionReport;
+import io.github.jsoladur.nodered.vo.RegressionReport.Verdict;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.SneakyThrows;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testcontainers.shaded.com.fasterxml.jackson.databind.DeserializationFeature;
+import org.testcontainers.shaded.com.fasterxml.jackson.databind.ObjectMapper;
+import org.testcontainers.shaded.com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * <p>Regression gate of the performance results of NODE-RED endpoints against a baseline stored as a JSON file in the repository.
+ * A result regresses when its latency samples are significantly greater than the baseline ones (one-sided Mann-Whitney U test)
+ * and its median grew past the tolerance, when its p99 grew past the tolerance, or when its throughput dropped past the tolerance.
+ * Results without baseline within the file don't fail the gate, but a missing baseline file does</p>
+ * <p>With the <code>nodered.baseline.update</code> system property set to true, the results are stored as the new baseline
+ * instead of being compared, e.g. <code>mvn test -Dnodered.baseline.update=true</code> after an intended change</p>
+ * <pre>
+ * RegressionGate.builder()
+ *         .baselineFile(Path.of("src/test/resources/performance-baseline.json"))
+ *         .build()
+ *         .assertNoRegression(NodeRedEndpointBenchmark.builder().nodeRedContainer(nodeRedContainer).path("/posts").build().run());
+ * </pre>
+ * @since 0.3.0
+ */
+@Getter @Builder
+public class RegressionGate {
+
+    public static final String UPDATE_BASELINE_PROPERTY = "nodered.baseline.update";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RegressionGate.class);
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+            .enable(SerializationFeature.INDENT_OUTPUT)
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    @NonNull
+    private final Path baselineFile;
+    /**
+     * <p>Max relative growth of the p99 latency. 0.10 (+10%) is the default value</p>
+     */
+    @Builder.Default
+    private final double p99Tolerance = 0.10;
+    /**
+     * <p>Max relative growth of the median latency once the shift is significant. 0.05 (+5%) is the default value</p>
+     */
+    @Builder.Default
+    private final double medianTolerance = 0.05;
+    /**
+     * <p>Max relative drop of the throughput. 0.10 (-10%) is the default value</p>
+     */
+    @Builder.Default
+    private final double throughputTolerance = 0.10;
+    /**
+     * <p>Significance level of the Mann-Whitney U test. 0.01 is the default value</p>
+     */
+    @Builder.Default
+    private final double significanceLevel = 0.01;
+    /**
+     * <p>If true, the results are stored as the new baseline. By default, the value of the nodered.baseline.update system property</p>
+     */
+    @Builder.Default
+    private final boolean updateBaseline = Boolean.getBoolean(UPDATE_BASELINE_PROPERTY);
+
+    /**
+     * @param results current results
+     * @return comparison of every result against the baseline
+     * @throws IllegalStateException if the baseline file doesn't exist
+     */
+    public RegressionReport compare(@NonNull List<PerformanceResult> results) {
+        if (!Files.exists(baselineFile)) {
+            // XXX: A wrong path or a baseline nobody committed would silently turn the gate off
+            throw new IllegalStateException(String.format("Performance baseline %1$s doesn't exist. Run with -D%2$s=true to record it",
+                    baselineFile.toAbsolutePath(), UPDATE_BASELINE_PROPERTY));
+        }
+        final var baseline = loadBaseline();
+        final var report = RegressionReport.builder().baselineFile(baselineFile.toString());
+        for (final var result : results) {
+            final var baselineResult = baseline.getResults().get(result.getName());
+            report.comparison(baselineResult == null ? RegressionReport.Comparison.builder()
+                    .name(result.getName())
+                    .verdict(Verdict.NEW)
+                    .currentP50Micros(result.getP50Micros())
+                    .currentP99Micros(result.getP99Micros())
+                    .currentThroughputPerSecond(result.getThroughputPerSecond())
+                    .mannWhitneyPValue(1)
+                    .reason("no baseline")
+                    .build() : compare(baselineResult, result));
+        }
+        return report.build();
+    }
+
+    /**
+     * <p>Compare the results against the baseline, or store them as the new baseline in update mode</p>
+     * @param results current results
+     * @return comparison of every result against the baseline
+     * @throws AssertionError with the comparison table if a result regressed
+     * @throws IllegalStateException if the baseline file doesn't exist and the update mode is off
+     */
+    public RegressionReport assertNoRegression(@NonNull PerformanceResult... results) {
+        if (updateBaseline) {
+            storeBaseline(List.of(results));
+            return compare(List.of(results));
+        }
+        final var report = compare(List.of(results));
+        LOGGER.info("Performance results compared against {}:\n{}", baselineFile, report.toTable());
+        if (report.hasRegressions()) {
+            throw new AssertionError(String.format("Performance regressed against baseline %1$s (run with -D%2$s=true to accept the current results):%n%3$s",
+                    baselineFile, UPDATE_BASELINE_PROPERTY, report.toTable()));
+        }
+        return report;
+    }
+
+    private RegressionReport.Comparison compare(PerformanceResult baselineResult, PerformanceResult result) {
+        final var comparison = RegressionReport.Comparison.builder()
+                .name(result.getName())
+                .baselineP50Micros(baselineResult.getP50Micros())
+                .currentP50Micros(result.getP50Micros())
+                .baselineP99Micros(baselineResult.getP99Micros())
+                .currentP99Micros(result.getP99Micros())
+                .baselineThroughputPerSecond(baselineResult.getThroughputPerSecond())
+                .currentThroughputPerSecond(result.getThroughputPerSecond());
+        final double pValue = MannWhitneyU.greaterPValue(result.getLatencyMicros() != null ? result.getLatencyMicros() : new long[0],
+                baselineResult.getLatencyMicros() != null ? baselineResult.getLatencyMicros() : new long[0]);
+        comparison.mannWhitneyPValue(pValue);
+        boolean regressed = false;
+        if (pValue < significanceLevel && result.getP50Micros() > baselineResult.getP50Micros() * (1 + medianTolerance)) {
+            comparison.reason(String.format("latency shifted up (p=%1$.4f), median +%2$.1f%% > %3$.1f%%", pValue,
+                    growth(baselineResult.getP50Micros(), result.getP50Micros()), medianTolerance * 100));
+            regressed = true;
+        }
+        if (result.getP99Micros() > baselineResult.getP99Micros() * (1 + p99Tolerance)) {
+            comparison.reason(String.format("p99 +%1$.1f%% > %2$.1f%%", growth(baselineResult.getP99Micros(), result.getP99Micros()), p99Tolerance * 100));
+            regressed = true;
+        }
+        if (result.getThroughputPerSecond() < baselineResult.getThroughputPerSecond() * (1 - throughputTolerance)) {
+            comparison.reason(String.format("throughput %1$.1f%% < -%2$.1f%%", growth(baselineResult.getThroughputPerSecond(), result.getThroughputPerSecond()),
+                    throughputTolerance * 100));
+            regressed = true;
+        }
+        return comparison.verdict(regressed ? Verdict.REGRESSION : Verdict.PASS).build();
+    }
+
+    private static double growth(double baseline, double current) {
+        return baseline == 0 ? 0 : (current - baseline) * 100 / baseline;
+    }
+
+    /**
+     * <p>The baseline file is created by the update mode, so it's empty if it doesn't exist yet</p>
+     */
+    @SneakyThrows
+    private PerformanceBaseline loadBaseline() {
+        if (!Files.exists(baselineFile)) {
+            return new PerformanceBaseline();
+        }
+        return OBJECT_MAPPER.readValue(baselineFile.toFile(), PerformanceBaseline.class);
+    }
+
+    /**
+     * <p>Results of other names already stored are kept</p>
+     */
+    @SneakyThrows
+    private void storeBaseline(List<PerformanceResult> results) {
+        final var baseline = loadBaseline();
+        results.forEach(result -> baseline.getResults().put(result.getName(), result));
+        if (baselineFile.getParent() != null) {
+            Files.createDirectories(baselineFile.getParent());
+        }
+        OBJECT_MAPPER.writeValue(baselineFile.toFile(), baseline);
+        LOGGER.info("Performance baseline {} updated with {} results", baselineFile, results.size());
+    }
+}
@@ -0,0 +1,103 @@
+package io.github.jsoladur.nodered.benchmark;
+
+import io.github.jsoladur.nodered.vo.StartupBenchmarkReport;
+import io.github.jsoladur.nodered.vo.StartupBenchmarkResult;
+import lombok.NonNull;
+import lombok.SneakyThrows;
+import lombok.experimental.UtilityClass;
+import org.testcontainers.shaded.com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * <p>Write a startup benchmark report as JSON, to be compared between runs, and as a standalone HTML page</p>
+ * @since 0.3.0
+ */
+@UtilityClass
+public class StartupBenchmarkReportWriter {
+
+    public static final String JSON_REPORT_FILE_NAME = "startup-benchmark.json";
+    public static final String HTML_REPORT_FILE_NAME = "startup-benchmark.html";
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    /**
+     * @param report startup benchmark report
+     * @param directory directory where startup-benchmark.json and startup-benchmark.html files are written
+     */
+    @SneakyThrows
+    public static void write(@NonNull StartupBenchmarkReport report, @NonNull Path directory) {
+        Files.createDirectories(directory);
+        Files.write(directory.resolve(JSON_REPORT_FILE_NAME), toJson(report).getBytes(StandardCharsets.UTF_8));
+        Files.write(directory.resolve(HTML_REPORT_FILE_NAME), toHtml(report).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param report startup benchmark report
+     * @return report, with the results and their summaries, as JSON
+     */
+    @SneakyThrows
+    public static String toJson(@NonNull StartupBenchmarkReport report) {
+        return OBJECT_MAPPER.writerWithDefaultPrettyPrinter().writeValueAsString(Map.of(
+                "startedAt", report.getStartedAt(),
+                "elapsedMillis", report.getElapsedMillis(),
+                "summaries", report.getSummaries(),
+                "results", report.getResults()));
+    }
+
+    /**
+     * @param report startup benchmark report
+     * @return report as a standalone HTML page
+     */
+    public static String toHtml(@NonNull StartupBenchmarkReport report) {
+        final var html = new StringBuilder()
+                .append("<!DOCTYPE html>\n<html>\n<head>\n<meta charset=\"utf-8\">\n<title>NODE-RED startup benchmark</title>\n")
+                .append("<style>body{font-family:sans-serif}table{border-collapse:collapse;margin-bottom:2em}")
+                .append("th,td{border:1px solid #ccc;padding:4px 8px;text-align:right}th:nth-child(-n+4),td:nth-child(-n+4){text-align:left}</style>\n")
+                .append("</head>\n<body>\n<h1>NODE-RED startup benchmark</h1>\n")
+                .append("<p>Started at ").append(escape(report.getStartedAt())).append(", elapsed ").append(report.getElapsedMillis()).append(" ms</p>\n")
+                .append("<h2>Summary (min / median / max)</h2>\n<table>\n<tr><th>Image</th><th>Settings</th><th>Modules</th><th>Start</th>")
+                .append("<th>Repetitions</th><th>Time to ready (ms)</th><th>Time to first request (ms)</th><th>Idle RSS (MiB)</th></tr>\n");
+        for (final var summary : report.getSummaries()) {
+            html.append("<tr>")
+                    .append(cell(summary.getDockerImageName())).append(cell(summary.getSettingsPreset()))
+                    .append(cell(summary.getModuleSet())).append(cell(summary.getStartType().name()))
+                    .append(cell(String.valueOf(summary.getRepetitions())))
+                    .append(cell(format(summary.getTimeToReadyMillis(), 1)))
+                    .append(cell(format(summary.getTimeToFirstRequestMillis(), 1)))
+                    .append(cell(format(summary.getIdleRssBytes(), 1024 * 1024)))
+                    .append("</tr>\n");
+        }
+        html.append("</table>\n<h2>Results</h2>\n<table>\n<tr><th>Image</th><th>Settings</th><th>Modules</th><th>Start</th>")
+                .append("<th>Repetition</th><th>Time to ready (ms)</th><th>Time to first request (ms)</th><th>Idle RSS (MiB)</th></tr>\n");
+        for (final StartupBenchmarkResult result : report.getResults()) {
+            html.append("<tr>")
+                    .append(cell(result.getDockerImageName())).append(cell(result.getSettingsPreset()))
+                    .append(cell(result.getModuleSet())).append(cell(result.getStartType().name()))
+                    .append(cell(String.valueOf(result.getRepetition())))
+                    .append(cell(String.valueOf(result.getTimeToReadyMillis())))
+                    .append(cell(String.valueOf(result.getTimeToFirstRequestMillis())))
+                    .append(cell(result.getIdleRssBytes() < 0 ? "n/a" : String.valueOf(result.getIdleRssBytes() / (1024 * 1024))))
+                    .append("</tr>\n");
+        }
+        return html.append("</table>\n</body>\n</html>\n").toString();
+    }
+
+    private static String format(StartupBenchmarkReport.Statistic statistic, long divisor) {
+        if (statistic.getMin() < 0) {
+            return "n/a";
+        }
+        return String.format("%1$d / %2$d / %3$d", statistic.getMin() / divisor, statistic.getMedian() / divisor, statistic.getMax() / divisor);
+    }
+
+    private static String cell(String value) {
+        return "<td>" + escape(value) + "</td>";
+    }
+
+    private static String escape(String value) {
+        return value == null ? "" : value.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+}
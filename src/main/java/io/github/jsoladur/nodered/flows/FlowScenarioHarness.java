@@ -0,0 +1,140 @@
+package io.github.jsoladur.nodered.flows;
+
+import io.github.jsoladur.nodered.NodeRedContainer;
+import io.github.jsoladur.nodered.vo.FlowScenario;
+import io.github.jsoladur.nodered.vo.ScenarioRequest;
+import io.github.jsoladur.nodered.vo.ScenarioResult;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Singular;
+import lombok.SneakyThrows;
+import org.apache.commons.compress.utils.IOUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testcontainers.shaded.com.fasterxml.jackson.core.type.TypeReference;
+import org.testcontainers.shaded.com.fasterxml.jackson.databind.ObjectMapper;
+import org.testcontainers.shaded.okhttp3.OkHttpClient;
+import org.testcontainers.shaded.okhttp3.Request;
+import org.testcontainers.shaded.okhttp3.RequestBody;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+
+import static io.github.jsoladur.nodered.utils.NodeRedConstants.HttpClient.APPLICATION_JSON_UTF8;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * <p>Runs many flow scenarios in a single NODE-RED container instead of booting a container per scenario. The flows of every
+ * scenario are namespaced (see {@link FlowsNamespace}) and deployed together through the admin API, replacing the current flows.
+ * Then the scenarios run in parallel, each one with its own requests and results. The global context is shared by all the
+ * scenarios, so scenarios which rely on it aren't isolated</p>
+ * <pre>
+ * List&lt;ScenarioResult&gt; results = FlowScenarioHarness.builder()
+ *         .nodeRedContainer(nodeRedContainer)
+ *         .scenario(FlowScenario.builder()
+ *                 .name("posts")
+ *                 .flowsJson("jsonplaceholder/flows.json")
+ *                 .request(ScenarioRequest.builder().path("/posts").build())
+ *                 .build())
+ *         .build()
+ *         .run();
+ * </pre>
+ * @since 0.3.0
+ */
+@Getter @Builder
+public class FlowScenarioHarness {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FlowScenarioHarness.class);
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    /**
+     * <p>Started NODE-RED container</p>
+     */
+    @NonNull
+    private final NodeRedContainer nodeRedContainer;
+    @Singular
+    private final List<FlowScenario> scenarios;
+    /**
+     * <p>Max number of scenarios running at the same time. 8 is the default value</p>
+     */
+    @Builder.Default
+    private final int concurrency = 8;
+
+    /**
+     * @return result of every scenario, in the same order as the scenarios
+     */
+    public List<ScenarioResult> run() {
+        if (concurrency <= 0) {
+            throw new IllegalArgumentException("concurrency must be greater than zero");
+        }
+        final var namespaces = new HashSet<String>();
+        final var flows = new ArrayList<Map<String, Object>>();
+        for (final var scenario : scenarios) {
+            final var namespace = FlowsNamespace.of(scenario.getName());
+            if (!namespaces.add(namespace)) {
+                throw new IllegalArgumentException(String.format("Scenario '%1$2s' collides with another scenario namespace '%2$2s'",
+                        scenario.getName(), namespace));
+            }
+            flows.addAll(FlowsNamespace.apply(readFlows(scenario.getFlowsJson()), namespace));
+        }
+        nodeRedContainer.getAdminClient().setFlows(flows).join();
+        LOGGER.info("{} scenarios deployed with {} nodes", scenarios.size(), flows.size());
+        final var okHttpClient = new OkHttpClient.Builder().build();
+        final var executor = Executors.newFixedThreadPool(Math.min(concurrency, Math.max(1, scenarios.size())));
+        try {
+            final var results = scenarios.stream()
+                    .map(scenario -> CompletableFuture.supplyAsync(() -> runScenario(scenario, okHttpClient), executor))
+                    .collect(toList());
+            return results.stream().map(CompletableFuture::join).collect(toList());
+        } finally {
+            executor.shutdownNow();
+            okHttpClient.connectionPool().evictAll();
+        }
+    }
+
+    private ScenarioResult runScenario(FlowScenario scenario, OkHttpClient okHttpClient) {
+        final var namespace = FlowsNamespace.of(scenario.getName());
+        final var result = ScenarioResult.builder().scenarioName(scenario.getName()).namespace(namespace);
+        for (final var scenarioRequest : scenario.getRequests()) {
+            result.requestResult(runRequest(scenarioRequest, namespace, okHttpClient));
+        }
+        return result.build();
+    }
+
+    private ScenarioResult.RequestResult runRequest(ScenarioRequest scenarioRequest, String namespace, OkHttpClient okHttpClient) {
+        final var path = scenarioRequest.getPath().startsWith("/") ? scenarioRequest.getPath() : "/" + scenarioRequest.getPath();
+        final var requestResult = ScenarioResult.RequestResult.builder()
+                .method(scenarioRequest.getMethod())
+                .path(path)
+                .expectedStatusCode(scenarioRequest.getExpectedStatusCode());
+        final long start = System.nanoTime();
+        try {
+            final var request = new Request.Builder()
+                    .url(nodeRedContainer.getNodeRedUrl() + "/" + namespace + path)
+                    .method(scenarioRequest.getMethod(), scenarioRequest.getBody() != null ?
+                            RequestBody.create(APPLICATION_JSON_UTF8, scenarioRequest.getBody()) : null)
+                    .build();
+            try (final var response = okHttpClient.newCall(request).execute()) {
+                requestResult.statusCode(response.code()).body(response.body() != null ? response.body().string() : null);
+            }
+        } catch (Exception e) {
+            requestResult.failure(e.getClass().getSimpleName() + ": " + e.getMessage());
+        }
+        return requestResult.elapsedMillis((System.nanoTime() - start) / 1_000_000).build();
+    }
+
+    @SneakyThrows
+    private static List<Map<String, Object>> readFlows(String flowsJson) {
+        try (final var is = FlowScenarioHarness.class.getClassLoader().getResourceAsStream(flowsJson)) {
+            if (is == null) {
+                throw new IllegalArgumentException(String.format("flows configuration file %1$2s not found in classpath", flowsJson));
+            }
+            return OBJECT_MAPPER.readValue(IOUtils.toByteArray(is), new TypeReference<List<Map<String, Object>>>() {});
+        }
+    }
+}
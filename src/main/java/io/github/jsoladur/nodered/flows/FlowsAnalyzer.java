@@ -0,0 +1,379 @@
+package io.github.jsoladur.nodered.flows;
+
+import io.github.jsoladur.nodered.vo.FlowsAnalysisReport;
+import io.github.jsoladur.nodered.vo.FlowsHazard;
+import io.github.jsoladur.nodered.vo.ThirdPartyLibraryNodesDependency;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import org.testcontainers.shaded.com.fasterxml.jackson.core.JsonParser;
+import org.testcontainers.shaded.com.fasterxml.jackson.core.JsonToken;
+import org.testcontainers.shaded.com.fasterxml.jackson.databind.JsonNode;
+import org.testcontainers.shaded.com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+
+import static io.github.jsoladur.nodered.utils.NodeRedConstants.Flows.*;
+import static java.util.stream.Collectors.toSet;
+
+/**
+ * <p>Static analyzer of flows.json files which reports performance hazards before deploying them.</p>
+ * <p>The flows file is read in a streaming way, node by node, keeping only the wire graph in memory</p>
+ * @since 0.3.0
+ */
+@Getter @Builder(toBuilder = true)
+public class FlowsAnalyzer {
+
+    private static final Pattern LINE_COMMENT_PATTERN = Pattern.compile("//[^\\n]*");
+    private static final Pattern BLOCK_COMMENT_PATTERN = Pattern.compile("/\\*.*?\\*/", Pattern.DOTALL);
+    private static final Pattern LOOP_KEYWORD_PATTERN = Pattern.compile("\\b(for|while|do)\\b");
+    private static final Pattern ENDLESS_LOOP_PATTERN = Pattern.compile("while\\s*\\(\\s*(true|1)\\s*\\)|for\\s*\\(\\s*;\\s*;\\s*\\)");
+    private static final Pattern ASYNC_SEND_PATTERN = Pattern.compile("\\bnode\\.send\\s*\\(");
+    private static final Pattern DONE_PATTERN = Pattern.compile("\\bdone\\s*\\(");
+
+    /**
+     * <p>Maximum number of wires that a single node can fan out to</p>
+     */
+    @Builder.Default
+    private int maxFanOut = DEFAULT_MAX_FAN_OUT;
+    /**
+     * <p>Maximum nesting depth of loops allowed in function nodes</p>
+     */
+    @Builder.Default
+    private int maxLoopNestingDepth = DEFAULT_MAX_LOOP_NESTING_DEPTH;
+    /**
+     * <p>Third party libraries which will be installed in the NODE-RED instance</p>
+     */
+    @NonNull @Builder.Default
+    private Set<ThirdPartyLibraryNodesDependency> thirdPartyLibraryNodesDependencies = Set.of();
+    /**
+     * <p>Modules providing every known node type, e.g. as published in the NODE-RED catalogue.
+     * Several modules can provide the same node type</p>
+     */
+    @NonNull @Builder.Default
+    private Map<String, Set<String>> nodeTypesModules = Map.of();
+    /**
+     * <p>Minimum severity of the hazards which make the container fail before being started.
+     * If null, the report is only logged</p>
+     */
+    @Builder.Default
+    private FlowsHazard.Severity failOnSeverity = FlowsHazard.Severity.ERROR;
+
+    /**
+     * @param flowsJson flows configuration file from classpath
+     * @return report of the hazards found
+     */
+    @SneakyThrows
+    public FlowsAnalysisReport analyze(String flowsJson) {
+        try (final var is = this.getClass().getClassLoader().getResourceAsStream(flowsJson)) {
+            if (is == null) {
+                throw new IllegalArgumentException(String.format("%1$2s not found in classpath", flowsJson));
+            }
+            return analyze(is);
+        }
+    }
+
+    /**
+     * @param flowsJson flows configuration file content, either as an array of nodes or as the admin API format { "flows": [...] }
+     * @return report of the hazards found
+     */
+    @SneakyThrows
+    public FlowsAnalysisReport analyze(InputStream flowsJson) {
+        final var objectMapper = new ObjectMapper();
+        final var report = FlowsAnalysisReport.builder();
+        final Map<String, FlowNode> flowNodes = new LinkedHashMap<>();
+        final Set<String> installedModules = thirdPartyLibraryNodesDependencies.stream().map(ThirdPartyLibraryNodesDependency::getModule).collect(toSet());
+        try (final JsonParser parser = objectMapper.getFactory().createParser(flowsJson)) {
+            moveToNodesArray(parser);
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                final JsonNode node = objectMapper.readTree(parser);
+                final var flowNode = FlowNode.of(node);
+                flowNodes.put(flowNode.id, flowNode);
+                analyzeNodeType(flowNode, installedModules, report);
+                analyzeFanOut(flowNode, report);
+                if ("function".equals(flowNode.type)) {
+                    analyzeFunction(flowNode, node.path("func").asText(""), report);
+                }
+            }
+        }
+        analyzeCycles(flowNodes, report);
+        analyzeHotPaths(flowNodes, report);
+        return report.nodesCount(flowNodes.size()).build();
+    }
+
+    private void moveToNodesArray(JsonParser parser) throws IOException {
+        final var token = parser.nextToken();
+        if (token == JsonToken.START_OBJECT) {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                if ("flows".equals(parser.getCurrentName()) && parser.nextToken() == JsonToken.START_ARRAY) {
+                    return;
+                }
+                parser.nextToken();
+                parser.skipChildren();
+            }
+        } else if (token == JsonToken.START_ARRAY) {
+            return;
+        }
+        throw new IllegalArgumentException("flows.json must be an array of nodes");
+    }
+
+    private void analyzeNodeType(FlowNode flowNode, Set<String> installedModules, FlowsAnalysisReport.FlowsAnalysisReportBuilder report) {
+        if (flowNode.type == null || CORE_NODE_TYPES.contains(flowNode.type) || flowNode.type.startsWith(SUBFLOW_INSTANCE_TYPE_PREFIX)) {
+            return;
+        }
+        final var modules = nodeTypesModules.getOrDefault(flowNode.type, Set.of());
+        if (modules.isEmpty()) {
+            report.hazard(FlowsHazard.builder()
+                    .type(FlowsHazard.Type.UNKNOWN_NODE_TYPE)
+                    .severity(FlowsHazard.Severity.WARNING)
+                    .nodeId(flowNode.id)
+                    .message(String.format("'%1$s' isn't a core node type and it isn't provided by any known module", flowNode.type))
+                    .build());
+        } else if (modules.stream().noneMatch(installedModules::contains)) {
+            report.hazard(FlowsHazard.builder()
+                    .type(FlowsHazard.Type.MISSING_MODULE)
+                    .severity(FlowsHazard.Severity.ERROR)
+                    .nodeId(flowNode.id)
+                    .message(String.format("'%1$s' is provided by %2$s, but none of them is in the third party library nodes dependencies",
+                            flowNode.type, String.join(", ", new TreeSet<>(modules))))
+                    .build());
+        }
+    }
+
+    private void analyzeFanOut(FlowNode flowNode, FlowsAnalysisReport.FlowsAnalysisReportBuilder report) {
+        if (flowNode.targets.size() > maxFanOut) {
+            report.hazard(FlowsHazard.builder()
+                    .type(FlowsHazard.Type.UNBOUNDED_FAN_OUT)
+                    .severity(FlowsHazard.Severity.WARNING)
+                    .nodeId(flowNode.id)
+                    .message(String.format("every message is cloned to %1$s wired nodes (maximum %2$s)", flowNode.targets.size(), maxFanOut))
+                    .build());
+        }
+    }
+
+    private void analyzeFunction(FlowNode flowNode, String func, FlowsAnalysisReport.FlowsAnalysisReportBuilder report) {
+        final var code = LINE_COMMENT_PATTERN.matcher(BLOCK_COMMENT_PATTERN.matcher(func).replaceAll("")).replaceAll("");
+        final int loopNestingDepth = getLoopNestingDepth(code);
+        if (ENDLESS_LOOP_PATTERN.matcher(code).find() || loopNestingDepth > maxLoopNestingDepth) {
+            report.hazard(FlowsHazard.builder()
+                    .type(FlowsHazard.Type.HEAVY_SYNCHRONOUS_LOOP)
+                    .severity(FlowsHazard.Severity.WARNING)
+                    .nodeId(flowNode.id)
+                    .message(String.format("function blocks the event loop with %1$s nested loops (maximum %2$s) or an endless loop",
+                            loopNestingDepth, maxLoopNestingDepth))
+                    .build());
+        }
+        if (ASYNC_SEND_PATTERN.matcher(code).find() && !DONE_PATTERN.matcher(code).find()) {
+            report.hazard(FlowsHazard.builder()
+                    .type(FlowsHazard.Type.MISSING_DONE)
+                    .severity(FlowsHazard.Severity.WARNING)
+                    .nodeId(flowNode.id)
+                    .message("function sends messages with node.send() but never calls node.done()")
+                    .build());
+        }
+    }
+
+    private int getLoopNestingDepth(String code) {
+        // XXX: Every '{' following a loop keyword opens a loop body, the rest of blocks keep the current depth
+        final var matcher = LOOP_KEYWORD_PATTERN.matcher(code);
+        final var blocks = new ArrayDeque<Boolean>();
+        int nextLoopKeyword = matcher.find() ? matcher.start() : -1;
+        boolean pendingLoop = false;
+        int depth = 0, maxDepth = 0;
+        for (int i = 0; i < code.length(); i++) {
+            if (i == nextLoopKeyword) {
+                pendingLoop = true;
+                nextLoopKeyword = matcher.find() ? matcher.start() : -1;
+            }
+            final char c = code.charAt(i);
+            if (c == '{') {
+                blocks.push(pendingLoop);
+                if (pendingLoop) {
+                    maxDepth = Math.max(maxDepth, ++depth);
+                }
+                pendingLoop = false;
+            } else if (c == '}' && !blocks.isEmpty() && blocks.pop()) {
+                depth--;
+            } else if (c == ';' && pendingLoop && !isInsideForHeader(code, i)) {
+                // XXX: Loop without braces, e.g. for (...) sum += i;
+                maxDepth = Math.max(maxDepth, depth + 1);
+                pendingLoop = false;
+            }
+        }
+        return maxDepth;
+    }
+
+    private boolean isInsideForHeader(String code, int index) {
+        int parenthesis = 0;
+        for (int i = index; i >= 0; i--) {
+            final char c = code.charAt(i);
+            if (c == ')') {
+                parenthesis++;
+            } else if (c == '(') {
+                if (parenthesis == 0) {
+                    return true;
+                }
+                parenthesis--;
+            } else if (c == '{' || c == '}') {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    private void analyzeCycles(Map<String, FlowNode> flowNodes, FlowsAnalysisReport.FlowsAnalysisReportBuilder report) {
+        for (final var component : new StronglyConnectedComponents(flowNodes).find()) {
+            final var first = flowNodes.get(component.get(0));
+            if (component.size() > 1 || first.targets.contains(first.id)) {
+                report.hazard(FlowsHazard.builder()
+                        .type(FlowsHazard.Type.CYCLE)
+                        .severity(FlowsHazard.Severity.WARNING)
+                        .nodeIds(component)
+                        .message(String.format("messages can loop forever across %1$s nodes", component.size()))
+                        .build());
+            }
+        }
+    }
+
+    private void analyzeHotPaths(Map<String, FlowNode> flowNodes, FlowsAnalysisReport.FlowsAnalysisReportBuilder report) {
+        final var visited = new HashSet<String>();
+        final var pending = new ArrayDeque<String>();
+        flowNodes.values().stream().filter(FlowNode::isHotPathEntry).forEach(flowNode -> {
+            visited.add(flowNode.id);
+            pending.add(flowNode.id);
+        });
+        while (!pending.isEmpty()) {
+            final var flowNode = flowNodes.get(pending.poll());
+            for (final var target : flowNode.targets) {
+                if (flowNodes.containsKey(target) && visited.add(target)) {
+                    pending.add(target);
+                }
+            }
+        }
+        flowNodes.values().stream()
+                .filter(flowNode -> "debug".equals(flowNode.type) && flowNode.active && visited.contains(flowNode.id))
+                .forEach(flowNode -> report.hazard(FlowsHazard.builder()
+                        .type(FlowsHazard.Type.ACTIVE_DEBUG_ON_HOT_PATH)
+                        .severity(FlowsHazard.Severity.WARNING)
+                        .nodeId(flowNode.id)
+                        .message("active debug node serializes every message of a hot path")
+                        .build()));
+    }
+
+    @RequiredArgsConstructor
+    private static class FlowNode {
+
+        private final String id;
+        private final String type;
+        private final boolean active;
+        private final boolean hotPathEntry;
+        private final List<String> targets;
+
+        private static FlowNode of(JsonNode node) {
+            final var type = node.hasNonNull("type") ? node.get("type").asText() : null;
+            final var targets = new ArrayList<String>();
+            node.path("wires").forEach(output -> output.forEach(target -> targets.add(target.asText())));
+            if ("link out".equals(type) || "link call".equals(type)) {
+                node.path("links").forEach(target -> targets.add(target.asText()));
+            }
+            final boolean repeatedInject = "inject".equals(type) &&
+                    (!node.path("repeat").asText("").isBlank() || !node.path("crontab").asText("").isBlank());
+            return new FlowNode(node.path("id").asText(), type, node.path("active").asBoolean(false),
+                    repeatedInject || HOT_PATH_ENTRY_NODE_TYPES.contains(type), Collections.unmodifiableList(targets));
+        }
+
+        private boolean isHotPathEntry() {
+            return hotPathEntry;
+        }
+    }
+
+    /**
+     * <p>Iterative Tarjan's algorithm, so big flows don't overflow the stack</p>
+     */
+    @RequiredArgsConstructor
+    private static class StronglyConnectedComponents {
+
+        private final Map<String, FlowNode> flowNodes;
+        private final Map<String, Integer> indexes = new HashMap<>();
+        private final Map<String, Integer> lowLinks = new HashMap<>();
+        private final Set<String> onStack = new HashSet<>();
+        private final ArrayDeque<String> stack = new ArrayDeque<>();
+        private final List<List<String>> components = new ArrayList<>();
+        private int index;
+
+        private List<List<String>> find() {
+            for (final var id : flowNodes.keySet()) {
+                if (!indexes.containsKey(id)) {
+                    visit(id);
+                }
+            }
+            return components;
+        }
+
+        private void visit(String root) {
+            final var callStack = new ArrayDeque<Object[]>();
+            open(root);
+            callStack.push(new Object[]{root, 0});
+            while (!callStack.isEmpty()) {
+                final var frame = callStack.peek();
+                final var id = (String) frame[0];
+                final var targets = flowNodes.get(id).targets;
+                int next = (int) frame[1];
+                boolean descended = false;
+                while (next < targets.size() && !descended) {
+                    final var target = targets.get(next++);
+                    if (!flowNodes.containsKey(target)) {
+                        continue;
+                    }
+                    if (!indexes.containsKey(target)) {
+                        frame[1] = next;
+                        open(target);
+                        callStack.push(new Object[]{target, 0});
+                        descended = true;
+                    } else if (onStack.contains(target)) {
+                        lowLinks.put(id, Math.min(lowLinks.get(id), indexes.get(target)));
+                    }
+                }
+                if (descended) {
+                    continue;
+                }
+                callStack.pop();
+                if (!callStack.isEmpty()) {
+                    final var parent = (String) callStack.peek()[0];
+                    lowLinks.put(parent, Math.min(lowLinks.get(parent), lowLinks.get(id)));
+                }
+                if (lowLinks.get(id).equals(indexes.get(id))) {
+                    final var component = new ArrayList<String>();
+                    String member;
+                    do {
+                        member = stack.pop();
+                        onStack.remove(member);
+                        component.add(member);
+                    } while (!member.equals(id));
+                    components.add(component);
+                }
+            }
+        }
+
+        private void open(String id) {
+            indexes.put(id, index);
+            lowLinks.put(id, index++);
+            stack.push(id);
+            onStack.add(id);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package io.github.jsoladur.nodered.flows;
+
+import lombok.NonNull;
+import lombok.SneakyThrows;
+import lombok.experimental.UtilityClass;
+import org.testcontainers.shaded.com.fasterxml.jackson.core.type.TypeReference;
+import org.testcontainers.shaded.com.fasterxml.jackson.databind.ObjectMapper;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>Java implementation of the NODE-RED credentials encryption, so a flows_cred.json file can be generated from plain credentials
+ * without booting NODE-RED and exporting it.</p>
+ * <p>As NODE-RED does, the key is the SHA-256 digest of the credential secret and the credentials are encrypted with AES-256-CTR.
+ * The flows_cred.json file content is <code>{"$": hex(iv) + base64(encrypted credentials)}</code>.
+ * Derived keys are cached per credential secret</p>
+ * @see <a href="https://github.com/node-red/node-red/blob/master/packages/node_modules/%40node-red/runtime/lib/nodes/credentials.js">credentials.js</a>
+ * @since 0.3.0
+ */
+@UtilityClass
+public class FlowsCredentialsCipher {
+
+    private static final String ENCRYPTED_CREDENTIALS_PROPERTY = "$";
+    private static final String CIPHER_TRANSFORMATION = "AES/CTR/NoPadding";
+    private static final int INIT_VECTOR_LENGTH = 16;
+    private static final Map<String, SecretKeySpec> ENCRYPTION_KEYS = new ConcurrentHashMap<>();
+    private static final SecureRandom SECURE_RANDOM = new SecureRandom();
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    /**
+     * @param credentials plain credentials keyed by node id, e.g. { "f42f9fadae58e4bd": { "user": "root", "password": "my_cool_secret" } }
+     * @param credentialSecret credentialSecret of the settings or NODE_RED_CREDENTIAL_SECRET env variable
+     * @return flows_cred.json file content
+     */
+    @SneakyThrows
+    public static String encrypt(@NonNull Map<String, ? extends Map<String, ?>> credentials, @NonNull String credentialSecret) {
+        final var initVector = new byte[INIT_VECTOR_LENGTH];
+        SECURE_RANDOM.nextBytes(initVector);
+        final var cipher = Cipher.getInstance(CIPHER_TRANSFORMATION);
+        cipher.init(Cipher.ENCRYPT_MODE, getEncryptionKey(credentialSecret), new IvParameterSpec(initVector));
+        final var encrypted = cipher.doFinal(OBJECT_MAPPER.writeValueAsBytes(credentials));
+        return OBJECT_MAPPER.writeValueAsString(Map.of(ENCRYPTED_CREDENTIALS_PROPERTY,
+                toHex(initVector) + Base64.getEncoder().encodeToString(encrypted)));
+    }
+
+    /**
+     * @param flowsCredJson flows_cred.json file content
+     * @param credentialSecret credentialSecret of the settings or NODE_RED_CREDENTIAL_SECRET env variable
+     * @return plain credentials keyed by node id
+     */
+    @SneakyThrows
+    public static Map<String, Map<String, Object>> decrypt(@NonNull String flowsCredJson, @NonNull String credentialSecret) {
+        final var encryptedCredentials = OBJECT_MAPPER.readTree(flowsCredJson).path(ENCRYPTED_CREDENTIALS_PROPERTY).asText("");
+        if (encryptedCredentials.length() < INIT_VECTOR_LENGTH * 2) {
+            throw new IllegalArgumentException("flows_cred.json doesn't contain encrypted credentials");
+        }
+        final var cipher = Cipher.getInstance(CIPHER_TRANSFORMATION);
+        cipher.init(Cipher.DECRYPT_MODE, getEncryptionKey(credentialSecret),
+                new IvParameterSpec(fromHex(encryptedCredentials.substring(0, INIT_VECTOR_LENGTH * 2))));
+        final var decrypted = cipher.doFinal(Base64.getDecoder().decode(encryptedCredentials.substring(INIT_VECTOR_LENGTH * 2)));
+        return OBJECT_MAPPER.readValue(new String(decrypted, StandardCharsets.UTF_8), new TypeReference<Map<String, Map<String, Object>>>() {});
+    }
+
+    private static SecretKeySpec getEncryptionKey(String credentialSecret) {
+        return ENCRYPTION_KEYS.computeIfAbsent(credentialSecret, FlowsCredentialsCipher::deriveEncryptionKey);
+    }
+
+    @SneakyThrows
+    private static SecretKeySpec deriveEncryptionKey(String credentialSecret) {
+        return new SecretKeySpec(MessageDigest.getInstance("SHA-256").digest(credentialSecret.getBytes(StandardCharsets.UTF_8)), "AES");
+    }
+
+    private static String toHex(byte[] bytes) {
+        final var hex = new StringBuilder(bytes.length * 2);
+        for (final byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+
+    private static byte[] fromHex(String hex) {
+        final var bytes = new byte[hex.length() / 2];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) Integer.parseInt(hex.substring(i * 2, i * 2 + 2), 16);
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,91 @@
+package io.github.jsoladur.nodered.flows;
+
+import lombok.NonNull;
+import lombok.experimental.UtilityClass;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * <p>Namespace of a flows configuration, so several configurations can be deployed together in the same NODE-RED instance
+ * without collisions: every node id (and every reference to it, e.g. z, wires, config nodes, links or subflow instances)
+ * is prefixed with the namespace, and the URL of every HTTP in node is moved under <code>/&lt;namespace&gt;</code></p>
+ * @since 0.3.0
+ */
+@UtilityClass
+public class FlowsNamespace {
+
+    private static final Pattern NAMESPACE_PATTERN = Pattern.compile("[a-z0-9][a-z0-9\\-]*");
+    private static final String HTTP_IN_NODE_TYPE = "http in";
+    private static final String SUBFLOW_INSTANCE_TYPE_PREFIX = "subflow:";
+
+    /**
+     * @param name any name, e.g. "Posts: create and list"
+     * @return valid namespace derived from the name, e.g. "posts-create-and-list"
+     */
+    public static String of(@NonNull String name) {
+        final var namespace = name.toLowerCase().replaceAll("[^a-z0-9]+", "-").replaceAll("^-+|-+$", "");
+        if (namespace.isEmpty()) {
+            throw new IllegalArgumentException(String.format("A namespace can't be derived from name '%1$2s'", name));
+        }
+        return namespace;
+    }
+
+    /**
+     * @param flows all the nodes, as they are within the flows.json file. They aren't modified
+     * @param namespace lowercase letters, digits and hyphens, e.g. "posts"
+     * @return namespaced copy of the nodes
+     */
+    public static List<Map<String, Object>> apply(@NonNull List<Map<String, Object>> flows, @NonNull String namespace) {
+        if (!NAMESPACE_PATTERN.matcher(namespace).matches()) {
+            throw new IllegalArgumentException(String.format("'%1$2s' isn't a valid namespace: lowercase letters, digits and hyphens are allowed", namespace));
+        }
+        final var namespacedIds = new HashMap<String, String>();
+        flows.forEach(node -> {
+            final var id = node.get("id");
+            if (id instanceof String) {
+                namespacedIds.put((String) id, namespace + "-" + id);
+            }
+        });
+        final var namespacedFlows = new ArrayList<Map<String, Object>>(flows.size());
+        for (final var node : flows) {
+            @SuppressWarnings("unchecked")
+            final var namespacedNode = (Map<String, Object>) namespace(node, namespacedIds);
+            final var type = namespacedNode.get("type");
+            if (type instanceof String && ((String) type).startsWith(SUBFLOW_INSTANCE_TYPE_PREFIX)) {
+                final var subflowId = ((String) type).substring(SUBFLOW_INSTANCE_TYPE_PREFIX.length());
+                namespacedNode.put("type", SUBFLOW_INSTANCE_TYPE_PREFIX + namespacedIds.getOrDefault(subflowId, subflowId));
+            }
+            if (HTTP_IN_NODE_TYPE.equals(type) && namespacedNode.get("url") instanceof String) {
+                final var url = (String) namespacedNode.get("url");
+                namespacedNode.put("url", "/" + namespace + (url.startsWith("/") ? url : "/" + url));
+            }
+            namespacedFlows.add(namespacedNode);
+        }
+        return namespacedFlows;
+    }
+
+    /**
+     * <p>Node ids are opaque, so any string property equal to a node id is a reference to that node</p>
+     */
+    private static Object namespace(Object value, Map<String, String> namespacedIds) {
+        if (value instanceof String) {
+            return namespacedIds.getOrDefault(value, (String) value);
+        }
+        if (value instanceof List) {
+            final var namespacedList = new ArrayList<>(((List<?>) value).size());
+            ((List<?>) value).forEach(item -> namespacedList.add(namespace(item, namespacedIds)));
+            return namespacedList;
+        }
+        if (value instanceof Map) {
+            final var namespacedMap = new LinkedHashMap<String, Object>();
+            ((Map<?, ?>) value).forEach((key, item) -> namespacedMap.put(String.valueOf(key), namespace(item, namespacedIds)));
+            return namespacedMap;
+        }
+        return value;
+    }
+}
@@ -0,0 +1,144 @@
+package io.github.jsoladur.nodered.flows;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import org.apache.commons.compress.utils.IOUtils;
+import org.testcontainers.shaded.com.fasterxml.jackson.core.io.JsonStringEncoder;
+import org.testcontainers.shaded.com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+import static java.util.stream.Collectors.toCollection;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * <p>Parametrized flows configuration file, where every <code>#{name}</code> placeholder is replaced by its value.</p>
+ * <p>Placeholders inside a JSON string are replaced by the escaped text of the value, e.g. <code>"host": "#{db.host}"</code>.
+ * Placeholders outside a JSON string are replaced by the value serialized as JSON, e.g. <code>"port": #{db.port}</code>.
+ * The <code>${ENV_VAR}</code> syntax is left untouched, so the environment variables substitution of NODE-RED keeps working.</p>
+ * <p>Templates are compiled once into literal segments and placeholders and cached per classpath resource, so rendering
+ * is a plain concatenation without parsing and serializing the whole flows</p>
+ * @since 0.3.0
+ */
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class FlowsTemplate {
+
+    private static final Map<String, FlowsTemplate> COMPILED_TEMPLATES = new ConcurrentHashMap<>();
+    private static final Pattern PLACEHOLDER_NAME_PATTERN = Pattern.compile("[A-Za-z0-9_.\\-]+");
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final List<String> literals;
+    private final List<Placeholder> placeholders;
+    private final int literalsLength;
+
+    /**
+     * @param flowsJson flows configuration file template from classpath
+     * @return compiled template, cached per classpath resource
+     */
+    public static FlowsTemplate of(@NonNull String flowsJson) {
+        return COMPILED_TEMPLATES.computeIfAbsent(flowsJson, FlowsTemplate::load);
+    }
+
+    /**
+     * @param template flows configuration file template content
+     * @return compiled template
+     */
+    public static FlowsTemplate compile(@NonNull String template) {
+        final var literals = new ArrayList<String>();
+        final var placeholders = new ArrayList<Placeholder>();
+        final var literal = new StringBuilder();
+        boolean insideString = false, escaped = false;
+        int i = 0;
+        while (i < template.length()) {
+            final char c = template.charAt(i);
+            if (c == '#' && i + 1 < template.length() && template.charAt(i + 1) == '{') {
+                final int end = template.indexOf('}', i + 2);
+                final String name = end > 0 ? template.substring(i + 2, end).trim() : "";
+                if (PLACEHOLDER_NAME_PATTERN.matcher(name).matches()) {
+                    literals.add(literal.toString());
+                    literal.setLength(0);
+                    placeholders.add(new Placeholder(name, insideString));
+                    escaped = false;
+                    i = end + 1;
+                    continue;
+                }
+            }
+            if (insideString) {
+                if (escaped) {
+                    escaped = false;
+                } else if (c == '\\') {
+                    escaped = true;
+                } else if (c == '"') {
+                    insideString = false;
+                }
+            } else if (c == '"') {
+                insideString = true;
+            }
+            literal.append(c);
+            i++;
+        }
+        literals.add(literal.toString());
+        return new FlowsTemplate(Collections.unmodifiableList(literals), Collections.unmodifiableList(placeholders),
+                literals.stream().mapToInt(String::length).sum());
+    }
+
+    /**
+     * @return names of the placeholders of the template
+     */
+    public Set<String> getPlaceholderNames() {
+        return placeholders.stream().map(Placeholder::getName).collect(toCollection(LinkedHashSet::new));
+    }
+
+    /**
+     * @param values value of every placeholder of the template
+     * @return rendered flows configuration file
+     */
+    @SneakyThrows
+    public byte[] render(@NonNull Map<String, ?> values) {
+        final List<String> missingPlaceholders = getPlaceholderNames().stream().filter(name -> !values.containsKey(name)).collect(toList());
+        if (!missingPlaceholders.isEmpty()) {
+            throw new IllegalArgumentException(String.format("Missing values for the flows template placeholders: %1$2s", String.join(", ", missingPlaceholders)));
+        }
+        final var rendered = new StringBuilder(literalsLength + placeholders.size() * 32);
+        for (int i = 0; i < placeholders.size(); i++) {
+            final var placeholder = placeholders.get(i);
+            final var value = values.get(placeholder.getName());
+            rendered.append(literals.get(i));
+            if (placeholder.isInsideString()) {
+                rendered.append(JsonStringEncoder.getInstance().quoteAsString(String.valueOf(value)));
+            } else {
+                rendered.append(OBJECT_MAPPER.writeValueAsString(value));
+            }
+        }
+        rendered.append(literals.get(placeholders.size()));
+        return rendered.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @SneakyThrows
+    private static FlowsTemplate load(String flowsJson) {
+        try (final var is = FlowsTemplate.class.getClassLoader().getResourceAsStream(flowsJson)) {
+            if (is == null) {
+                throw new IllegalArgumentException(String.format("%1$2s not found in classpath", flowsJson));
+            }
+            return compile(new String(IOUtils.toByteArray(is), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Getter @RequiredArgsConstructor
+    private static class Placeholder {
+
+        private final String name;
+        private final boolean insideString;
+    }
+}
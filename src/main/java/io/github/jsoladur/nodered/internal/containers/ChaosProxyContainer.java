@@ -0,0 +1,38 @@
+package io.github.jsoladur.nodered.internal.containers;
+
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+
+import static io.github.jsoladur.nodered.utils.NodeRedConstants.Chaos.*;
+
+/**
+ * <p>Toxiproxy container which proxies the TCP traffic between a NODE-RED container and its dependencies, so latency,
+ * bandwidth limits and connection drops can be injected</p>
+ */
+public class ChaosProxyContainer extends GenericContainer<ChaosProxyContainer> {
+
+    public ChaosProxyContainer() {
+        super(PROXY_DOCKER_IMAGE_NAME);
+        withExposedPorts(PROXY_API_EXPOSED_PORT);
+        waitingFor(Wait.forHttp("/version").forPort(PROXY_API_EXPOSED_PORT));
+    }
+
+    /**
+     * @return Base URL of the Toxiproxy REST API
+     */
+    public String getApiUrl() {
+        return String.format("http://%1$2s:%2$2s", getContainerIpAddress(), getMappedPort(PROXY_API_EXPOSED_PORT));
+    }
+
+    /**
+     * @param networkId id of a network of the container
+     * @return IP address of the container in the network
+     */
+    public String getIpAddress(String networkId) {
+        return getContainerInfo().getNetworkSettings().getNetworks().values().stream()
+                .filter(containerNetwork -> networkId.equals(containerNetwork.getNetworkID()))
+                .map(containerNetwork -> containerNetwork.getIpAddress())
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException(String.format("Chaos proxy isn't attached to network %1$2s", networkId)));
+    }
+}
@@ -0,0 +1,97 @@
+package io.github.jsoladur.nodered.internal.containers;
+
+import io.github.jsoladur.nodered.vo.LoadBalancingStrategy;
+import lombok.NonNull;
+import lombok.SneakyThrows;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.images.builder.Transferable;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static io.github.jsoladur.nodered.utils.NodeRedConstants.Cluster.*;
+import static io.github.jsoladur.nodered.utils.NodeRedConstants.DEFAULT_HTTP_EXPOSED_PORT;
+import static java.util.stream.Collectors.joining;
+
+/**
+ * <p>nginx container which balances the HTTP and WebSocket traffic between the replicas of a NODE-RED cluster</p>
+ */
+public class LoadBalancerContainer extends GenericContainer<LoadBalancerContainer> {
+
+    private final List<String> upstreamNetworkAliases;
+    private final LoadBalancingStrategy loadBalancingStrategy;
+    private final Set<String> drainedNetworkAliases = ConcurrentHashMap.newKeySet();
+
+    public LoadBalancerContainer(@NonNull List<String> upstreamNetworkAliases, @NonNull LoadBalancingStrategy loadBalancingStrategy) {
+        super(LOAD_BALANCER_DOCKER_IMAGE_NAME);
+        this.upstreamNetworkAliases = upstreamNetworkAliases;
+        this.loadBalancingStrategy = loadBalancingStrategy;
+        withExposedPorts(LOAD_BALANCER_HTTP_EXPOSED_PORT);
+        waitingFor(Wait.forListeningPort());
+    }
+
+    @Override
+    protected void containerIsCreated(String containerId) {
+        copyFileToContainer(Transferable.of(getNginxConf().getBytes(StandardCharsets.UTF_8)), LOAD_BALANCER_CONFIG_PATH);
+    }
+
+    /**
+     * <p>Mark an upstream as down, so new requests aren't routed to it. In-flight requests are completed by the old workers</p>
+     * @param networkAlias network alias of the upstream
+     */
+    public void drain(@NonNull String networkAlias) {
+        if (drainedNetworkAliases.add(networkAlias)) {
+            reload();
+        }
+    }
+
+    /**
+     * <p>Route new requests to a drained upstream again</p>
+     * @param networkAlias network alias of the upstream
+     */
+    public void restore(@NonNull String networkAlias) {
+        if (drainedNetworkAliases.remove(networkAlias)) {
+            reload();
+        }
+    }
+
+    @SneakyThrows
+    private void reload() {
+        copyFileToContainer(Transferable.of(getNginxConf().getBytes(StandardCharsets.UTF_8)), LOAD_BALANCER_CONFIG_PATH);
+        final var result = execInContainer("nginx", "-s", "reload");
+        if (result.getExitCode() != 0) {
+            throw new IllegalStateException(String.format("Load balancer can't be reloaded. Reason: %1$2s", result.getStderr()));
+        }
+    }
+
+    private String getNginxConf() {
+        return String.join("\n",
+                "worker_processes auto;",
+                "events { worker_connections 8192; }",
+                "http {",
+                "  access_log off;",
+                "  map $http_upgrade $connection_upgrade { default upgrade; '' ''; }",
+                "  upstream node_red {",
+                "    " + loadBalancingStrategy.getUpstreamDirective(),
+                upstreamNetworkAliases.stream().map(alias -> String.format("    server %1$s:%2$s%3$s;", alias, DEFAULT_HTTP_EXPOSED_PORT,
+                        drainedNetworkAliases.contains(alias) ? " down" : "")).collect(joining("\n")),
+                "    keepalive " + LOAD_BALANCER_KEEPALIVE_CONNECTIONS + ";",
+                "  }",
+                "  server {",
+                "    listen " + LOAD_BALANCER_HTTP_EXPOSED_PORT + ";",
+                "    client_max_body_size 0;",
+                "    location / {",
+                "      proxy_pass http://node_red;",
+                "      proxy_http_version 1.1;",
+                "      proxy_set_header Host $host;",
+                "      proxy_set_header Upgrade $http_upgrade;",
+                "      proxy_set_header Connection $connection_upgrade;",
+                "    }",
+                "  }",
+                "}",
+                "");
+    }
+}
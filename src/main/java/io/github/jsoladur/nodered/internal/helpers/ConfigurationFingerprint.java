@@ -0,0 +1,60 @@
+package io.github.jsoladur.nodered.internal.helpers;
+
+import lombok.SneakyThrows;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * <p>Deterministic SHA-256 fingerprint of a NODE-RED container configuration, kept per part (flows, credentials, settings, ...)
+ * so the parts which changed between two configurations can be detected</p>
+ */
+public class ConfigurationFingerprint {
+
+    private final Map<String, String> parts = new TreeMap<>();
+
+    public ConfigurationFingerprint part(String name, byte[] content) {
+        parts.put(name, sha256Hex(content != null ? content : new byte[0]));
+        return this;
+    }
+
+    public ConfigurationFingerprint part(String name, String content) {
+        return part(name, content != null ? content.getBytes(StandardCharsets.UTF_8) : null);
+    }
+
+    /**
+     * @param names parts to include
+     * @return fingerprint of the given parts
+     */
+    public String getValue(String... names) {
+        final var value = new StringBuilder();
+        for (final var name : names) {
+            value.append(name).append('=').append(parts.getOrDefault(name, "")).append('\n');
+        }
+        return sha256Hex(value.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return fingerprint of all the parts
+     */
+    public String getValue() {
+        return getValue(parts.keySet().toArray(String[]::new));
+    }
+
+    public Map<String, String> getParts() {
+        return Collections.unmodifiableMap(parts);
+    }
+
+    @SneakyThrows
+    private static String sha256Hex(byte[] content) {
+        final var digest = MessageDigest.getInstance("SHA-256").digest(content);
+        final var hex = new StringBuilder(digest.length * 2);
+        for (final byte b : digest) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+}
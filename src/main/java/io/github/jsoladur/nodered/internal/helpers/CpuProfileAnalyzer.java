@@ -0,0 +1,89 @@
+package io.github.jsoladur.nodered.internal.helpers;
+
+import io.github.jsoladur.nodered.vo.CpuProfileReport;
+import lombok.experimental.UtilityClass;
+import org.testcontainers.shaded.com.fasterxml.jackson.databind.JsonNode;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * <p>Self time per function of a V8 CPU profile (.cpuprofile). The code of the function nodes is compiled with the
+ * "Function node:&lt;id&gt; [&lt;name&gt;]" script name, so their functions are attributed to the node ids</p>
+ */
+@UtilityClass
+public class CpuProfileAnalyzer {
+
+    private static final Pattern FUNCTION_NODE_SCRIPT_PATTERN = Pattern.compile("^Function node[^:]*(?::[a-z]+)?:([^\\s\\[:]+).*$");
+    private static final String IDLE_FUNCTION_NAME = "(idle)";
+    private static final Set<String> IGNORED_FUNCTION_NAMES = Set.of("(root)", IDLE_FUNCTION_NAME);
+
+    /**
+     * @param cpuProfile profile as returned by Profiler.stop
+     * @param topFunctions max number of functions of the report
+     * @param cpuProfileFile saved profile file, or null
+     * @return summary of the profile
+     */
+    public static CpuProfileReport analyze(JsonNode cpuProfile, int topFunctions, Path cpuProfileFile) {
+        final var callFrames = new HashMap<Integer, JsonNode>();
+        for (final var node : cpuProfile.path("nodes")) {
+            callFrames.put(node.get("id").asInt(), node.get("callFrame"));
+        }
+        final var samples = cpuProfile.path("samples");
+        final var timeDeltas = cpuProfile.path("timeDeltas");
+        final var selfMicrosByNode = new HashMap<Integer, Long>();
+        // XXX: As the DevTools do, the time until the next sample is assigned to the current one
+        for (int i = 0; i < samples.size(); i++) {
+            final long duration = i + 1 < timeDeltas.size() ? Math.max(0, timeDeltas.get(i + 1).asLong()) : 0;
+            selfMicrosByNode.merge(samples.get(i).asInt(), duration, Long::sum);
+        }
+        final long durationMicros = cpuProfile.path("endTime").asLong() - cpuProfile.path("startTime").asLong();
+        long idleMicros = 0;
+        // XXX: The same function is a different profile node per call stack, so self times are merged by function
+        final var selfMicrosByFunction = new LinkedHashMap<List<Object>, Long>();
+        for (final var selfMicros : selfMicrosByNode.entrySet()) {
+            final var callFrame = callFrames.get(selfMicros.getKey());
+            if (callFrame == null) {
+                continue;
+            }
+            final var functionName = callFrame.path("functionName").asText();
+            if (IDLE_FUNCTION_NAME.equals(functionName)) {
+                idleMicros += selfMicros.getValue();
+            }
+            if (IGNORED_FUNCTION_NAMES.contains(functionName)) {
+                continue;
+            }
+            selfMicrosByFunction.merge(List.of(functionName, callFrame.path("url").asText(), callFrame.path("lineNumber").asInt(),
+                    callFrame.path("columnNumber").asInt()), selfMicros.getValue(), Long::sum);
+        }
+        final var hotFunctions = new ArrayList<>(selfMicrosByFunction.entrySet());
+        hotFunctions.sort(Map.Entry.<List<Object>, Long>comparingByValue(Comparator.reverseOrder()));
+        final var report = CpuProfileReport.builder()
+                .durationMicros(durationMicros)
+                .samples(samples.size())
+                .idleMicros(idleMicros)
+                .cpuProfileFile(cpuProfileFile);
+        hotFunctions.stream().limit(topFunctions).forEach(hotFunction -> {
+            final var functionName = (String) hotFunction.getKey().get(0);
+            final var url = (String) hotFunction.getKey().get(1);
+            final var matcher = FUNCTION_NODE_SCRIPT_PATTERN.matcher(url);
+            report.topFunction(CpuProfileReport.HotFunction.builder()
+                    .functionName(functionName.isEmpty() ? "(anonymous)" : functionName)
+                    .url(url)
+                    // XXX: Line numbers of the profile are zero based
+                    .lineNumber((Integer) hotFunction.getKey().get(2) + 1)
+                    .selfMicros(hotFunction.getValue())
+                    .selfPercentage(durationMicros > 0 ? hotFunction.getValue() * 100d / durationMicros : 0)
+                    .nodeId(matcher.matches() ? matcher.group(1) : null)
+                    .build());
+        });
+        return report.build();
+    }
+}
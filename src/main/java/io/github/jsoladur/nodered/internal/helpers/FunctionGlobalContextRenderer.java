@@ -0,0 +1,89 @@
+package io.github.jsoladur.nodered.internal.helpers;
+
+import io.github.jsoladur.nodered.vo.FunctionGlobalContext;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import lombok.experimental.UtilityClass;
+import org.apache.commons.compress.utils.IOUtils;
+import org.testcontainers.shaded.com.fasterxml.jackson.databind.MapperFeature;
+import org.testcontainers.shaded.com.fasterxml.jackson.databind.ObjectMapper;
+import org.testcontainers.shaded.com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import static io.github.jsoladur.nodered.utils.NodeRedConstants.GlobalContext.*;
+
+/**
+ * <p>Render a function global context once per configuration: the values are serialized to a JSON file,
+ * the data files are read from classpath and mapped to paths within the /data directory, and settings.js requires both</p>
+ */
+@UtilityClass
+public class FunctionGlobalContextRenderer {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+            .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true)
+            .configure(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY, true);
+    private static final Map<FunctionGlobalContext, RenderedFunctionGlobalContext> RENDERED_FUNCTION_GLOBAL_CONTEXTS =
+            Collections.synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * @param functionGlobalContext function global context
+     * @return rendered function global context, cached while the function global context is reachable
+     */
+    public static RenderedFunctionGlobalContext render(@NonNull FunctionGlobalContext functionGlobalContext) {
+        return RENDERED_FUNCTION_GLOBAL_CONTEXTS.computeIfAbsent(functionGlobalContext, FunctionGlobalContextRenderer::doRender);
+    }
+
+    @SneakyThrows
+    private static RenderedFunctionGlobalContext doRender(FunctionGlobalContext functionGlobalContext) {
+        final byte[] valuesJson;
+        try {
+            valuesJson = OBJECT_MAPPER.writeValueAsBytes(functionGlobalContext.getValues());
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Function global context values aren't JSON-serializable: " + e.getMessage(), e);
+        }
+        final Map<String, byte[]> dataFiles = new LinkedHashMap<>();
+        dataFiles.put(VALUES_FILE_PATH, valuesJson);
+        final var requires = new StringBuilder();
+        for (final var file : functionGlobalContext.getFiles().entrySet()) {
+            final var resource = file.getValue();
+            final var extension = resource.toLowerCase().endsWith(".js") ? ".js" : ".json";
+            final var filePath = DIRECTORY + "/" + file.getKey().replaceAll("[^A-Za-z0-9_.-]", "_") + extension;
+            if (dataFiles.containsKey(filePath)) {
+                throw new IllegalArgumentException(String.format("Function global context file name %1$s is duplicated", filePath));
+            }
+            try (final var is = FunctionGlobalContextRenderer.class.getClassLoader().getResourceAsStream(resource)) {
+                if (is == null) {
+                    throw new IllegalArgumentException(String.format("Function global context file %1$s for key %2$s doesn't exist in classpath",
+                            resource, file.getKey()));
+                }
+                dataFiles.put(filePath, IOUtils.toByteArray(is));
+            }
+            requires.append(requires.length() > 0 ? ", " : "")
+                    .append(OBJECT_MAPPER.writeValueAsString(file.getKey()))
+                    .append(": require(").append(OBJECT_MAPPER.writeValueAsString("./" + filePath)).append(")");
+        }
+        // XXX: Values are required as a JSON file instead of inlined in settings.js, since JSON.parse is much cheaper than parsing a JS literal
+        final var settingsJs = String.format("%nmodule.exports.functionGlobalContext = Object.assign({}, require(%1$s), {%2$s});%n",
+                OBJECT_MAPPER.writeValueAsString("./" + VALUES_FILE_PATH), requires);
+        return new RenderedFunctionGlobalContext(Collections.unmodifiableMap(dataFiles), settingsJs);
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class RenderedFunctionGlobalContext {
+        /**
+         * <p>Content of the values file and the data files, keyed by path within the /data directory</p>
+         */
+        private final Map<String, byte[]> dataFiles;
+        /**
+         * <p>Statement to append to settings.js</p>
+         */
+        private final String settingsJs;
+    }
+}
@@ -0,0 +1,122 @@
+package io.github.jsoladur.nodered.internal.helpers;
+
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.testcontainers.shaded.com.fasterxml.jackson.databind.JsonNode;
+import org.testcontainers.shaded.com.fasterxml.jackson.databind.ObjectMapper;
+import org.testcontainers.shaded.okhttp3.HttpUrl;
+import org.testcontainers.shaded.okhttp3.OkHttpClient;
+import org.testcontainers.shaded.okhttp3.Request;
+import org.testcontainers.shaded.okhttp3.Response;
+import org.testcontainers.shaded.okhttp3.WebSocket;
+import org.testcontainers.shaded.okhttp3.WebSocketListener;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.github.jsoladur.nodered.utils.NodeRedConstants.Profiling.*;
+
+/**
+ * <p>Minimal Chrome DevTools Protocol client of the V8 inspector of the NODE-RED process</p>
+ * @see <a href="https://chromedevtools.github.io/devtools-protocol/v8/">Chrome DevTools Protocol (V8)</a>
+ */
+@Slf4j
+public class InspectorClient implements AutoCloseable {
+
+    private final ObjectMapper objectMapper;
+    private final WebSocket webSocket;
+    private final AtomicInteger nextCommandId = new AtomicInteger(1);
+    private final Map<Integer, CompletableFuture<JsonNode>> pendingCommands = new ConcurrentHashMap<>();
+
+    private InspectorClient(OkHttpClient okHttpClient, ObjectMapper objectMapper, String webSocketDebuggerUrl) {
+        this.objectMapper = objectMapper;
+        final var request = new Request.Builder().url(webSocketDebuggerUrl).header("Host", INSPECTOR_HOST_HEADER).build();
+        this.webSocket = okHttpClient.newWebSocket(request, new WebSocketListener() {
+            @Override
+            public void onMessage(WebSocket webSocket, String text) {
+                try {
+                    final var message = objectMapper.readTree(text);
+                    // XXX: Messages without id are events, which aren't needed
+                    final var pendingCommand = message.has("id") ? pendingCommands.remove(message.get("id").asInt()) : null;
+                    if (pendingCommand == null) {
+                        return;
+                    }
+                    if (message.has("error")) {
+                        pendingCommand.completeExceptionally(new IllegalStateException(message.get("error").path("message").asText()));
+                    } else {
+                        pendingCommand.complete(message.path("result"));
+                    }
+                } catch (IOException e) {
+                    log.debug("Inspector message can't be parsed", e);
+                }
+            }
+
+            @Override
+            public void onFailure(WebSocket webSocket, Throwable t, Response response) {
+                final var exception = new IllegalStateException(String.format("Inspector connection failed. Reason: %1$s", t.getMessage()), t);
+                pendingCommands.values().forEach(pendingCommand -> pendingCommand.completeExceptionally(exception));
+                pendingCommands.clear();
+            }
+        });
+    }
+
+    /**
+     * @param okHttpClient HTTP client
+     * @param objectMapper JSON mapper
+     * @param inspectorUrl base URL of the inspector, e.g. http://localhost:51135
+     * @return client connected to the first inspector target
+     */
+    @SneakyThrows
+    public static InspectorClient connect(OkHttpClient okHttpClient, ObjectMapper objectMapper, String inspectorUrl) {
+        final var inspectorHttpUrl = HttpUrl.get(inspectorUrl);
+        final var request = new Request.Builder().url(inspectorUrl + INSPECTOR_TARGETS_PATH).header("Host", INSPECTOR_HOST_HEADER).build();
+        try (final var response = okHttpClient.newCall(request).execute()) {
+            if (!response.isSuccessful() || response.body() == null) {
+                throw new IllegalStateException(String.format("Inspector targets can't be listed. Reason: HTTP %1$2s", response.code()));
+            }
+            final var targets = objectMapper.readTree(response.body().bytes());
+            if (!targets.isArray() || targets.size() == 0) {
+                throw new IllegalStateException("Inspector hasn't targets");
+            }
+            // XXX: The inspector answers with its own address (0.0.0.0:9229), replaced by the mapped one
+            final var webSocketDebuggerUrl = HttpUrl.get(targets.get(0).get("webSocketDebuggerUrl").asText().replaceFirst("^ws", "http"))
+                    .newBuilder().host(inspectorHttpUrl.host()).port(inspectorHttpUrl.port()).build().toString().replaceFirst("^http", "ws");
+            return new InspectorClient(okHttpClient, objectMapper, webSocketDebuggerUrl);
+        }
+    }
+
+    /**
+     * @param method protocol method, e.g. Profiler.start
+     * @param params method params
+     * @return result of the method
+     */
+    @SneakyThrows
+    public JsonNode send(String method, Map<String, ?> params) {
+        final int commandId = nextCommandId.getAndIncrement();
+        final var command = new LinkedHashMap<String, Object>();
+        command.put("id", commandId);
+        command.put("method", method);
+        command.put("params", params);
+        final var pendingCommand = new CompletableFuture<JsonNode>();
+        pendingCommands.put(commandId, pendingCommand);
+        if (!webSocket.send(objectMapper.writeValueAsString(command))) {
+            pendingCommands.remove(commandId);
+            throw new IllegalStateException(String.format("%1$s can't be sent, the inspector connection is closed", method));
+        }
+        return pendingCommand.get(INSPECTOR_COMMAND_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public JsonNode send(String method) {
+        return send(method, Map.of());
+    }
+
+    @Override
+    public void close() {
+        webSocket.close(1000, null);
+    }
+}
@@ -0,0 +1,106 @@
+package io.github.jsoladur.nodered.internal.helpers;
+
+import io.github.jsoladur.nodered.vo.ContextEntry;
+import io.github.jsoladur.nodered.vo.ContextScope;
+import io.github.jsoladur.nodered.vo.ContextSeed;
+import lombok.NonNull;
+import lombok.SneakyThrows;
+import lombok.experimental.UtilityClass;
+import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
+import org.testcontainers.shaded.com.fasterxml.jackson.core.JsonGenerator;
+import org.testcontainers.shaded.com.fasterxml.jackson.core.JsonParser;
+import org.testcontainers.shaded.com.fasterxml.jackson.core.JsonToken;
+import org.testcontainers.shaded.com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * <p>Files of the NODE-RED localfilesystem context store: &lt;base&gt;/global/global.json, &lt;base&gt;/&lt;flow id&gt;/flow.json
+ * and &lt;base&gt;/&lt;flow id&gt;/&lt;node id&gt;.json, each one a JSON object with the values keyed by key.
+ * They are written and read with the streaming API, so the values are never held as a JSON tree</p>
+ * @see <a href="https://github.com/node-red/node-red/blob/master/packages/node_modules/%40node-red/runtime/lib/nodes/context/localfilesystem.js">localfilesystem.js</a>
+ */
+@UtilityClass
+public class LocalFileSystemContextStore {
+
+    private static final String GLOBAL_DIRECTORY = "global";
+    private static final String GLOBAL_FILE_NAME = "global.json";
+    private static final String FLOW_FILE_NAME = "flow.json";
+    private static final String JSON_EXTENSION = ".json";
+    // XXX: The parser must not close the tar archive stream, which is positioned at the next entry afterwards
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().configure(JsonParser.Feature.AUTO_CLOSE_SOURCE, false);
+
+    /**
+     * @param contextSeed initial values of the context store
+     * @return content of the context store files, keyed by path relative to the base directory of the store
+     */
+    public static Map<String, byte[]> write(@NonNull ContextSeed contextSeed) {
+        final Map<String, byte[]> files = new LinkedHashMap<>();
+        if (!contextSeed.getGlobalValues().isEmpty()) {
+            files.put(GLOBAL_DIRECTORY + "/" + GLOBAL_FILE_NAME, write(contextSeed.getGlobalValues()));
+        }
+        contextSeed.getFlowContexts().forEach((flowId, values) -> files.put(flowId + "/" + FLOW_FILE_NAME, write(values)));
+        contextSeed.getNodeContexts().forEach((nodeContextId, values) -> {
+            final var ids = nodeContextId.split(":");
+            if (ids.length != 2 || ids[0].isBlank() || ids[1].isBlank()) {
+                throw new IllegalArgumentException(String.format("Node context id %1$s must be <node id>:<flow id>", nodeContextId));
+            }
+            files.put(ids[1] + "/" + ids[0] + JSON_EXTENSION, write(values));
+        });
+        return files;
+    }
+
+    @SneakyThrows
+    private static byte[] write(Map<String, Object> values) {
+        final var content = new ByteArrayOutputStream();
+        try (final JsonGenerator generator = OBJECT_MAPPER.getFactory().createGenerator(content)) {
+            generator.writeStartObject();
+            for (final var value : values.entrySet()) {
+                generator.writeFieldName(value.getKey());
+                OBJECT_MAPPER.writeValue(generator, value.getValue());
+            }
+            generator.writeEndObject();
+        }
+        return content.toByteArray();
+    }
+
+    /**
+     * @param tarArchive tar archive of the base directory of the store, as copied from the container
+     * @param consumer consumer of every context value, one by one
+     */
+    @SneakyThrows
+    public static void read(@NonNull InputStream tarArchive, @NonNull Consumer<ContextEntry> consumer) {
+        final var tarArchiveInputStream = new TarArchiveInputStream(tarArchive);
+        for (var tarArchiveEntry = tarArchiveInputStream.getNextTarEntry(); tarArchiveEntry != null; tarArchiveEntry = tarArchiveInputStream.getNextTarEntry()) {
+            // XXX: Entry names start with the base directory, e.g. context/global/global.json
+            final var path = tarArchiveEntry.getName().split("/");
+            if (!tarArchiveEntry.isFile() || path.length < 3 || !path[path.length - 1].endsWith(JSON_EXTENSION)) {
+                continue;
+            }
+            final var directory = path[path.length - 2];
+            final var fileName = path[path.length - 1];
+            final var contextEntry = ContextEntry.builder();
+            if (GLOBAL_DIRECTORY.equals(directory) && GLOBAL_FILE_NAME.equals(fileName)) {
+                contextEntry.scope(ContextScope.GLOBAL);
+            } else if (FLOW_FILE_NAME.equals(fileName)) {
+                contextEntry.scope(ContextScope.FLOW).flowId(directory);
+            } else {
+                contextEntry.scope(ContextScope.NODE).flowId(directory).nodeId(fileName.substring(0, fileName.length() - JSON_EXTENSION.length()));
+            }
+            try (final JsonParser parser = OBJECT_MAPPER.getFactory().createParser(tarArchiveInputStream)) {
+                if (parser.nextToken() != JsonToken.START_OBJECT) {
+                    continue;
+                }
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    final var key = parser.getCurrentName();
+                    parser.nextToken();
+                    consumer.accept(contextEntry.key(key).value(parser.readValueAs(Object.class)).build());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package io.github.jsoladur.nodered.internal.helpers;
+
+import io.github.jsoladur.nodered.vo.DebugMessage;
+import io.github.jsoladur.nodered.vo.LogEntry;
+import io.github.jsoladur.nodered.vo.RuntimeEvent;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.testcontainers.containers.output.OutputFrame;
+import org.testcontainers.shaded.com.fasterxml.jackson.databind.JsonNode;
+import org.testcontainers.shaded.com.fasterxml.jackson.databind.ObjectMapper;
+import org.testcontainers.shaded.okhttp3.OkHttpClient;
+import org.testcontainers.shaded.okhttp3.Request;
+import org.testcontainers.shaded.okhttp3.Response;
+import org.testcontainers.shaded.okhttp3.WebSocket;
+import org.testcontainers.shaded.okhttp3.WebSocketListener;
+
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+import static io.github.jsoladur.nodered.utils.NodeRedConstants.EventStreams.*;
+
+/**
+ * <p>Publishers of the parsed log entries, the runtime events and the debug messages of a NODE-RED container.
+ * Every publisher supports several subscribers, each one with a bounded buffer: when a subscriber doesn't request more items
+ * and its buffer is full, the publishing thread (the log stream or the debug websocket) waits, so the backpressure reaches
+ * the source instead of buffering without limit</p>
+ */
+@Slf4j
+public class NodeRedEventStreams implements Consumer<OutputFrame> {
+
+    private static final Pattern LOG_LINE_PATTERN =
+            Pattern.compile("^(\\d{1,2} \\w{3} \\d{2}:\\d{2}:\\d{2}) - \\[(\\w+)\\] (?:\\[([^:\\]\\s]+):([^\\]]*)\\] )?(.*)$");
+    private static final Map<String, RuntimeEvent.Type> RUNTIME_EVENT_MESSAGES = Map.of(
+            "Starting flows", RuntimeEvent.Type.FLOWS_STARTING,
+            "Started flows", RuntimeEvent.Type.FLOWS_STARTED,
+            "Stopping flows", RuntimeEvent.Type.FLOWS_STOPPING,
+            "Stopped flows", RuntimeEvent.Type.FLOWS_STOPPED);
+
+    private final ObjectMapper objectMapper;
+    private final int bufferCapacity;
+    // XXX: Replaced by close while the log stream and the debug websocket threads publish, so they read every publisher once
+    @Getter
+    private volatile SubmissionPublisher<LogEntry> logEntries;
+    @Getter
+    private volatile SubmissionPublisher<RuntimeEvent> runtimeEvents;
+    @Getter
+    private volatile SubmissionPublisher<DebugMessage> debugMessages;
+    private WebSocket debugWebSocket;
+
+    public NodeRedEventStreams(ObjectMapper objectMapper, int bufferCapacity) {
+        if (bufferCapacity <= 0) {
+            throw new IllegalArgumentException("bufferCapacity must be greater than zero");
+        }
+        this.objectMapper = objectMapper;
+        this.bufferCapacity = bufferCapacity;
+        open();
+    }
+
+    private void open() {
+        this.logEntries = new SubmissionPublisher<>(ForkJoinPool.commonPool(), bufferCapacity);
+        this.runtimeEvents = new SubmissionPublisher<>(ForkJoinPool.commonPool(), bufferCapacity);
+        this.debugMessages = new SubmissionPublisher<>(ForkJoinPool.commonPool(), bufferCapacity);
+    }
+
+    @Override
+    public void accept(OutputFrame outputFrame) {
+        final var logEntries = this.logEntries;
+        final var runtimeEvents = this.runtimeEvents;
+        // XXX: Lines are only parsed while somebody is listening
+        if (outputFrame.getBytes() == null || !(logEntries.hasSubscribers() || runtimeEvents.hasSubscribers())) {
+            return;
+        }
+        try {
+            for (final var line : outputFrame.getUtf8String().split("\\r?\\n")) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                final var logEntry = parse(line);
+                if (logEntries.hasSubscribers()) {
+                    logEntries.submit(logEntry);
+                }
+                final var runtimeEventType = logEntry.getNodeType() == null ? RUNTIME_EVENT_MESSAGES.get(logEntry.getMessage()) :
+                        "error".equals(logEntry.getLevel()) ? RuntimeEvent.Type.NODE_ERROR : null;
+                if (runtimeEventType != null && runtimeEvents.hasSubscribers()) {
+                    runtimeEvents.submit(RuntimeEvent.builder().type(runtimeEventType).logEntry(logEntry).build());
+                }
+            }
+        } catch (IllegalStateException e) {
+            // XXX: The publishers were closed because the container stopped, so the rest of the frame is dropped
+            log.debug("Log frame dropped, the event streams are closed");
+        }
+    }
+
+    static LogEntry parse(String line) {
+        final var matcher = LOG_LINE_PATTERN.matcher(line);
+        if (!matcher.matches()) {
+            return LogEntry.builder().message(line).line(line).build();
+        }
+        return LogEntry.builder()
+                .timestamp(matcher.group(1))
+                .level(matcher.group(2))
+                .nodeType(matcher.group(3))
+                .nodeName(matcher.group(4))
+                .message(matcher.group(5))
+                .line(line)
+                .build();
+    }
+
+    /**
+     * <p>Subscribe to the debug messages through the websocket of the editor</p>
+     * @param okHttpClient HTTP client of the container
+     * @param nodeRedUrl URL of the container
+     */
+    public synchronized void connectDebugMessages(OkHttpClient okHttpClient, String nodeRedUrl) {
+        if (debugWebSocket != null) {
+            return;
+        }
+        final var request = new Request.Builder().url(nodeRedUrl.replaceFirst("^http", "ws") + COMMS_PATH).build();
+        debugWebSocket = okHttpClient.newWebSocket(request, new WebSocketListener() {
+            @Override
+            public void onOpen(WebSocket webSocket, Response response) {
+                webSocket.send(SUBSCRIBE_DEBUG_MESSAGE);
+            }
+
+            @Override
+            public void onMessage(WebSocket webSocket, String text) {
+                final var debugMessages = NodeRedEventStreams.this.debugMessages;
+                try {
+                    final var messages = objectMapper.readTree(text);
+                    // XXX: Comms messages are batched as an array since NODE-RED 1.0
+                    for (final JsonNode message : messages.isArray() ? messages : objectMapper.createArrayNode().add(messages)) {
+                        if (DEBUG_TOPIC.equals(message.path("topic").asText()) && message.has("data")) {
+                            debugMessages.submit(objectMapper.treeToValue(message.get("data"), DebugMessage.class));
+                        }
+                    }
+                } catch (Exception e) {
+                    log.debug("Comms message can't be parsed: {}", text, e);
+                }
+            }
+
+            @Override
+            public void onFailure(WebSocket webSocket, Throwable t, Response response) {
+                log.warn("Debug messages websocket failed: {}", t.getMessage());
+            }
+        });
+    }
+
+    /**
+     * <p>Complete the current subscribers, and open new publishers for the next start of the container</p>
+     */
+    public synchronized void close() {
+        if (debugWebSocket != null) {
+            debugWebSocket.close(1000, null);
+            debugWebSocket = null;
+        }
+        logEntries.close();
+        runtimeEvents.close();
+        debugMessages.close();
+        open();
+    }
+}
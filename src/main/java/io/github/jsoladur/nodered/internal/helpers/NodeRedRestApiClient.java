@@ -1,34 +1,72 @@
 package io.github.jsoladur.nodered.internal.helpers;
 
+import io.github.jsoladur.nodered.NodeRedAdminClient;
 import io.github.jsoladur.nodered.NodeRedContainer;
 import io.github.jsoladur.nodered.internal.vo.ErrorResponse;
 import io.github.jsoladur.nodered.internal.vo.NodeRedCatalogue;
 import io.github.jsoladur.nodered.utils.NodeRedConstants;
+import io.github.jsoladur.nodered.utils.NodeRedConstants.ContextHelperFlow;
+import io.github.jsoladur.nodered.vo.BulkInjection;
+import io.github.jsoladur.nodered.vo.BulkInjectionReport;
+import io.github.jsoladur.nodered.vo.ContextScope;
+import io.github.jsoladur.nodered.vo.ContextValue;
+import io.github.jsoladur.nodered.vo.DiagnosticsReport;
+import io.github.jsoladur.nodered.vo.Flow;
+import io.github.jsoladur.nodered.vo.Flows;
+import io.github.jsoladur.nodered.vo.NodeModule;
+import io.github.jsoladur.nodered.vo.NodeSet;
 import io.github.jsoladur.nodered.vo.ThirdPartyLibraryNodesDependency;
-import lombok.AccessLevel;
+import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
+import org.testcontainers.shaded.com.fasterxml.jackson.core.type.TypeReference;
 import org.testcontainers.shaded.com.fasterxml.jackson.databind.ObjectMapper;
+import org.testcontainers.shaded.okhttp3.Call;
+import org.testcontainers.shaded.okhttp3.Callback;
+import org.testcontainers.shaded.okhttp3.Dispatcher;
+import org.testcontainers.shaded.okhttp3.HttpUrl;
 import org.testcontainers.shaded.okhttp3.OkHttpClient;
 import org.testcontainers.shaded.okhttp3.Request;
 import org.testcontainers.shaded.okhttp3.RequestBody;
+import org.testcontainers.shaded.okhttp3.Response;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
 
+import static io.github.jsoladur.nodered.utils.NodeRedConstants.CONTEXT_PATH;
+import static io.github.jsoladur.nodered.utils.NodeRedConstants.DIAGNOSTICS_PATH;
+import static io.github.jsoladur.nodered.utils.NodeRedConstants.FLOWS_PATH;
+import static io.github.jsoladur.nodered.utils.NodeRedConstants.FLOW_PATH;
+import static io.github.jsoladur.nodered.utils.NodeRedConstants.INJECT_PATH;
+import static io.github.jsoladur.nodered.utils.NodeRedConstants.NODES_PATH;
 import static io.github.jsoladur.nodered.utils.NodeRedConstants.NODE_RED_CATALOGUE_URL;
+import static java.util.stream.Collectors.toMap;
 
 @RequiredArgsConstructor
-public class NodeRedRestApiClient {
+public class NodeRedRestApiClient implements NodeRedAdminClient {
 
     private final NodeRedContainer nodeRedContainer;
     private final OkHttpClient okHttpClient;
     private final ObjectMapper objectMapper;
+    private final AtomicReference<CompletableFuture<Void>> contextHelperFlow = new AtomicReference<>();
 
     @SneakyThrows
     public void installThirdPartyLibraryNodesDependency(ThirdPartyLibraryNodesDependency thirdPartyLibraryNodesDependency){
-        final var request = new Request.Builder().url(nodeRedContainer.getNodeRedUrl() + "/nodes").
+        final var request = new Request.Builder().url(nodeRedContainer.getNodeRedUrl() + NODES_PATH).
                 post(RequestBody.create(NodeRedConstants.HttpClient.APPLICATION_JSON_UTF8, objectMapper.writeValueAsBytes(thirdPartyLibraryNodesDependency))).build();
         final var response = okHttpClient.newCall(request).execute();
         final var responseCode = response.code();
@@ -54,4 +92,403 @@ public class NodeRedRestApiClient {
         final var nodeRedCatalogue = objectMapper.readValue(responseBody.bytes(), NodeRedCatalogue.class);
         return Objects.nonNull(nodeRedCatalogue.getModules()) ? nodeRedCatalogue.getModules() : Collections.emptyList();
     }
+
+    @SneakyThrows
+    public List<NodeSet> getNodeSets() {
+        final var request = new Request.Builder().get().url(nodeRedContainer.getNodeRedUrl() + NODES_PATH)
+                .header("Accept", NodeRedConstants.HttpClient.APPLICATION_JSON_UTF8.toString()).build();
+        try (final var response = okHttpClient.newCall(request).execute()) {
+            if (!response.isSuccessful()) {
+                throw new IllegalStateException(String.format("Nodes can't be listed. Reason: HTTP %1$2s", response.code()));
+            }
+            return objectMapper.readValue(response.body().bytes(), new TypeReference<List<NodeSet>>() {});
+        }
+    }
+
+    public void deployFlows(byte[] flowsJson) {
+        deployFlows(flowsJson, "full");
+    }
+
+    /**
+     * <p>Reload the flows from the flows configuration files of the /data directory</p>
+     */
+    public void reloadFlows() {
+        deployFlows("[]".getBytes(StandardCharsets.UTF_8), "reload");
+    }
+
+    @SneakyThrows
+    private void deployFlows(byte[] flowsJson, String deploymentType) {
+        // XXX: The deployed flows replace the context helper flow, if any
+        resetContextHelperFlow();
+        final var request = new Request.Builder().url(nodeRedContainer.getNodeRedUrl() + FLOWS_PATH)
+                .header(NodeRedConstants.HttpClient.NODE_RED_API_VERSION_HEADER, "v1")
+                .header(NodeRedConstants.HttpClient.NODE_RED_DEPLOYMENT_TYPE_HEADER, deploymentType)
+                .post(RequestBody.create(NodeRedConstants.HttpClient.APPLICATION_JSON_UTF8, flowsJson)).build();
+        try (final var response = okHttpClient.newCall(request).execute()) {
+            if (!response.isSuccessful()) {
+                throw new IllegalStateException(String.format("Flows can't be deployed. Reason: HTTP %1$2s", response.code()));
+            }
+        }
+    }
+
+    public boolean isHealthy() {
+        final var request = new Request.Builder().get().url(nodeRedContainer.getNodeRedUrl()).build();
+        try (final var response = okHttpClient.newCall(request).execute()) {
+            return response.code() >= 200 && response.code() < 500;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    @SneakyThrows
+    public void inject(String nodeId) {
+        try (final var response = okHttpClient.newCall(buildInjectRequest(nodeId)).execute()) {
+            if (response.code() != 200) {
+                throw new IllegalStateException(String.format("Inject node %1$2s can't be triggered. Reason: HTTP %2$2s", nodeId, response.code()));
+            }
+        }
+    }
+
+    @SneakyThrows
+    public BulkInjectionReport inject(BulkInjection bulkInjection) {
+        if (bulkInjection.getCount() <= 0 || bulkInjection.getConcurrency() <= 0) {
+            throw new IllegalArgumentException("count and concurrency of a bulk injection must be greater than zero");
+        }
+        if (bulkInjection.getRatePerSecond() != null && bulkInjection.getRatePerSecond() <= 0) {
+            throw new IllegalArgumentException("ratePerSecond of a bulk injection must be greater than zero");
+        }
+        // XXX: Dedicated dispatcher sized to the concurrency level, sharing the connection pool of the container client
+        final var dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(bulkInjection.getConcurrency());
+        dispatcher.setMaxRequestsPerHost(bulkInjection.getConcurrency());
+        final var client = okHttpClient.newBuilder().dispatcher(dispatcher).build();
+        final var request = buildInjectRequest(bulkInjection.getNodeId());
+        final var permits = new Semaphore(bulkInjection.getConcurrency());
+        final var succeeded = new LongAdder();
+        final var failureReasons = new ConcurrentHashMap<String, LongAdder>();
+        final long intervalNanos = bulkInjection.getRatePerSecond() != null ? TimeUnit.SECONDS.toNanos(1) / bulkInjection.getRatePerSecond() : 0L;
+        final long startNanos = System.nanoTime();
+        try {
+            for (int i = 0; i < bulkInjection.getCount(); i++) {
+                if (intervalNanos > 0) {
+                    final long delayNanos = startNanos + i * intervalNanos - System.nanoTime();
+                    if (delayNanos > 0) {
+                        LockSupport.parkNanos(delayNanos);
+                    }
+                }
+                permits.acquire();
+                client.newCall(request).enqueue(new Callback() {
+                    @Override
+                    public void onFailure(Call call, IOException e) {
+                        failureReasons.computeIfAbsent(e.getClass().getSimpleName(), reason -> new LongAdder()).increment();
+                        permits.release();
+                    }
+
+                    @Override
+                    public void onResponse(Call call, Response response) {
+                        try (response) {
+                            if (response.code() == 200) {
+                                succeeded.increment();
+                            } else {
+                                failureReasons.computeIfAbsent("HTTP " + response.code(), reason -> new LongAdder()).increment();
+                            }
+                        } finally {
+                            permits.release();
+                        }
+                    }
+                });
+            }
+            if (!permits.tryAcquire(bulkInjection.getConcurrency(), bulkInjection.getTimeout().toNanos(), TimeUnit.NANOSECONDS)) {
+                dispatcher.cancelAll();
+            }
+        } finally {
+            dispatcher.executorService().shutdown();
+        }
+        final var elapsed = Duration.ofNanos(System.nanoTime() - startNanos);
+        final long succeededCount = succeeded.sum();
+        final Map<String, Long> failureReasonsCount = failureReasons.entrySet().stream().collect(toMap(Map.Entry::getKey, entry -> entry.getValue().sum()));
+        final long unfinished = bulkInjection.getCount() - succeededCount - failureReasonsCount.values().stream().mapToLong(Long::longValue).sum();
+        if (unfinished > 0) {
+            failureReasonsCount.merge("Timeout", unfinished, Long::sum);
+        }
+        return BulkInjectionReport.builder()
+                .nodeId(bulkInjection.getNodeId())
+                .requested(bulkInjection.getCount())
+                .succeeded(succeededCount)
+                .failed(bulkInjection.getCount() - succeededCount)
+                .elapsed(elapsed)
+                .achievedRate(elapsed.isZero() ? 0d : succeededCount / (elapsed.toNanos() / 1_000_000_000d))
+                .failureReasons(Collections.unmodifiableMap(failureReasonsCount))
+                .build();
+    }
+
+    private Request buildInjectRequest(String nodeId) {
+        return new Request.Builder().url(nodeRedContainer.getNodeRedUrl() + INJECT_PATH + nodeId)
+                .post(RequestBody.create(NodeRedConstants.HttpClient.APPLICATION_JSON_UTF8, new byte[0])).build();
+    }
+
+    @Override
+    public CompletableFuture<List<NodeSet>> listNodeSets() {
+        return call(newRequest(url(NODES_PATH)).get().build(), "Nodes can't be listed",
+                body -> objectMapper.readValue(body, new TypeReference<List<NodeSet>>() {}));
+    }
+
+    @Override
+    public CompletableFuture<NodeModule> getNodeModule(@NonNull String module) {
+        return call(newRequest(url(NODES_PATH, module)).get().build(), String.format("Module %1$s can't be obtained", module),
+                body -> objectMapper.readValue(body, NodeModule.class));
+    }
+
+    @Override
+    public CompletableFuture<NodeModule> installNodeModule(@NonNull ThirdPartyLibraryNodesDependency thirdPartyLibraryNodesDependency) {
+        return call(newRequest(url(NODES_PATH)).post(json(thirdPartyLibraryNodesDependency)).build(),
+                String.format("Module %1$s@%2$s can't be installed", thirdPartyLibraryNodesDependency.getModule(), thirdPartyLibraryNodesDependency.getVersion()),
+                body -> objectMapper.readValue(body, NodeModule.class));
+    }
+
+    @Override
+    public CompletableFuture<NodeModule> enableNodeModule(@NonNull String module) {
+        return setNodeModuleEnabled(module, true);
+    }
+
+    @Override
+    public CompletableFuture<NodeModule> disableNodeModule(@NonNull String module) {
+        return setNodeModuleEnabled(module, false);
+    }
+
+    private CompletableFuture<NodeModule> setNodeModuleEnabled(String module, boolean enabled) {
+        return call(newRequest(url(NODES_PATH, module)).put(json(Map.of("enabled", enabled))).build(),
+                String.format("Module %1$s can't be %2$s", module, enabled ? "enabled" : "disabled"),
+                body -> objectMapper.readValue(body, NodeModule.class));
+    }
+
+    @Override
+    public CompletableFuture<Void> removeNodeModule(@NonNull String module) {
+        return call(newRequest(url(NODES_PATH, module)).delete().build(), String.format("Module %1$s can't be removed", module), null);
+    }
+
+    @Override
+    public CompletableFuture<Flows> getFlows() {
+        return call(newRequest(url(FLOWS_PATH)).header(NodeRedConstants.HttpClient.NODE_RED_API_VERSION_HEADER, "v2").get().build(),
+                "Flows can't be obtained", body -> objectMapper.readValue(body, Flows.class));
+    }
+
+    @Override
+    public CompletableFuture<String> setFlows(@NonNull List<Map<String, Object>> flows) {
+        contextHelperFlow.set(null);
+        return call(newRequest(url(FLOWS_PATH))
+                        .header(NodeRedConstants.HttpClient.NODE_RED_API_VERSION_HEADER, "v2")
+                        .header(NodeRedConstants.HttpClient.NODE_RED_DEPLOYMENT_TYPE_HEADER, "full")
+                        .post(json(Map.of("flows", flows))).build(),
+                "Flows can't be deployed", body -> objectMapper.readTree(body).path("rev").asText(null));
+    }
+
+    @Override
+    public CompletableFuture<Flow> getFlow(@NonNull String id) {
+        return call(newRequest(url(FLOW_PATH, id)).get().build(), String.format("Flow %1$s can't be obtained", id),
+                body -> objectMapper.readValue(body, Flow.class));
+    }
+
+    @Override
+    public CompletableFuture<String> addFlow(@NonNull Flow flow) {
+        return call(newRequest(url(FLOW_PATH)).post(json(flow)).build(), String.format("Flow %1$s can't be added", flow.getLabel()),
+                body -> objectMapper.readTree(body).path("id").asText(null));
+    }
+
+    @Override
+    public CompletableFuture<String> updateFlow(@NonNull String id, @NonNull Flow flow) {
+        return call(newRequest(url(FLOW_PATH, id)).put(json(flow)).build(), String.format("Flow %1$s can't be updated", id),
+                body -> objectMapper.readTree(body).path("id").asText(null));
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteFlow(@NonNull String id) {
+        return call(newRequest(url(FLOW_PATH, id)).delete().build(), String.format("Flow %1$s can't be deleted", id), null);
+    }
+
+    @Override
+    public CompletableFuture<Map<String, Map<String, ContextValue>>> getContext(@NonNull ContextScope scope, String id) {
+        return call(newRequest(contextUrl(scope, id)).get().build(), String.format("%1$s context can't be obtained", scope),
+                body -> objectMapper.readValue(body, new TypeReference<Map<String, Map<String, ContextValue>>>() {}));
+    }
+
+    @Override
+    public CompletableFuture<ContextValue> getContextValue(@NonNull ContextScope scope, String id, @NonNull String key) {
+        return call(newRequest(contextUrl(scope, id).newBuilder().addPathSegment(key).build()).get().build(),
+                String.format("%1$s context value %2$s can't be obtained", scope, key),
+                body -> objectMapper.readValue(body, ContextValue.class));
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteContextValue(@NonNull ContextScope scope, String id, @NonNull String key) {
+        return call(newRequest(contextUrl(scope, id).newBuilder().addPathSegment(key).build()).delete().build(),
+                String.format("%1$s context value %2$s can't be deleted", scope, key), null);
+    }
+
+    @Override
+    public CompletableFuture<Map<String, Object>> getGlobalContextValues(@NonNull Collection<String> keys) {
+        return callContextHelperFlow(Map.of("get", keys), "Global context values can't be obtained")
+                .thenApply(body -> {
+                    try {
+                        return objectMapper.readValue(body, new TypeReference<Map<String, Object>>() {});
+                    } catch (IOException e) {
+                        throw new CompletionException(e);
+                    }
+                });
+    }
+
+    @Override
+    public CompletableFuture<Void> setGlobalContextValues(@NonNull Map<String, ?> values) {
+        return callContextHelperFlow(Map.of("set", values), "Global context values can't be set").thenApply(body -> null);
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteGlobalContextValues(@NonNull Collection<String> keys) {
+        return callContextHelperFlow(Map.of("delete", keys), "Global context values can't be deleted").thenApply(body -> null);
+    }
+
+    @Override
+    public CompletableFuture<DiagnosticsReport> getDiagnostics() {
+        return call(newRequest(url(DIAGNOSTICS_PATH)).get().build(), "Diagnostics can't be obtained",
+                body -> objectMapper.readValue(body, DiagnosticsReport.class));
+    }
+
+    /**
+     * <p>The admin API can't write context values, so they are written by a helper flow with an HTTP endpoint, which is
+     * added to the running flows the first time it's needed</p>
+     */
+    private CompletableFuture<byte[]> callContextHelperFlow(Map<String, ?> payload, String operation) {
+        return callContextHelperFlow(payload, operation, true);
+    }
+
+    private CompletableFuture<byte[]> callContextHelperFlow(Map<String, ?> payload, String operation, boolean retry) {
+        final var helperFlow = getContextHelperFlow();
+        return helperFlow.thenCompose(ignored -> call(
+                        newRequest(HttpUrl.get(nodeRedContainer.getNodeRedUrl() + ContextHelperFlow.URL)).post(json(payload)).build(),
+                        operation, body -> body))
+                .handle((body, e) -> {
+                    final var cause = e instanceof CompletionException ? e.getCause() : e;
+                    if (retry && cause instanceof HttpStatusException && ((HttpStatusException) cause).getStatusCode() == 404) {
+                        // XXX: The helper flow isn't deployed anymore, e.g. the flows were replaced from the editor, so it's installed again
+                        contextHelperFlow.compareAndSet(helperFlow, null);
+                        return callContextHelperFlow(payload, operation, false);
+                    }
+                    return e == null ? CompletableFuture.completedFuture(body) : CompletableFuture.<byte[]>failedFuture(cause);
+                })
+                .thenCompose(future -> future);
+    }
+
+    /**
+     * <p>Forget the context helper flow, so it's looked up and installed again the next time it's needed,
+     * e.g. the container was recreated without it</p>
+     */
+    public void resetContextHelperFlow() {
+        contextHelperFlow.set(null);
+    }
+
+    private CompletableFuture<Void> getContextHelperFlow() {
+        final var deployment = new CompletableFuture<Void>();
+        if (!contextHelperFlow.compareAndSet(null, deployment)) {
+            return contextHelperFlow.get();
+        }
+        call(newRequest(url(FLOW_PATH, ContextHelperFlow.FLOW_ID)).get().build(), "Context helper flow can't be obtained", body -> body)
+                .handle((body, e) -> e == null ? CompletableFuture.<String>completedFuture(ContextHelperFlow.FLOW_ID) : addFlow(Flow.builder()
+                        .id(ContextHelperFlow.FLOW_ID)
+                        .label(ContextHelperFlow.LABEL)
+                        .info("Written by node-red-testcontainers to set global context values")
+                        .nodes(List.of(
+                                Map.of("id", ContextHelperFlow.HTTP_IN_NODE_ID, "type", "http in", "z", ContextHelperFlow.FLOW_ID,
+                                        "url", ContextHelperFlow.URL, "method", "post", "upload", false,
+                                        "wires", List.of(List.of(ContextHelperFlow.FUNCTION_NODE_ID))),
+                                Map.of("id", ContextHelperFlow.FUNCTION_NODE_ID, "type", "function", "z", ContextHelperFlow.FLOW_ID,
+                                        "func", ContextHelperFlow.FUNCTION, "outputs", 1,
+                                        "wires", List.of(List.of(ContextHelperFlow.HTTP_RESPONSE_NODE_ID))),
+                                Map.of("id", ContextHelperFlow.HTTP_RESPONSE_NODE_ID, "type", "http response", "z", ContextHelperFlow.FLOW_ID,
+                                        "statusCode", "", "headers", Map.of(), "wires", List.of())))
+                        .build()))
+                .thenCompose(flowId -> flowId)
+                .whenComplete((flowId, e) -> {
+                    if (e != null) {
+                        contextHelperFlow.compareAndSet(deployment, null);
+                        deployment.completeExceptionally(e);
+                    } else {
+                        deployment.complete(null);
+                    }
+                });
+        return deployment;
+    }
+
+    private <T> CompletableFuture<T> call(Request request, String operation, ResponseBodyReader<T> responseBodyReader) {
+        final var future = new CompletableFuture<T>();
+        okHttpClient.newCall(request).enqueue(new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+                future.completeExceptionally(new IllegalStateException(String.format("%1$s. Reason: %2$s", operation, e.getMessage()), e));
+            }
+
+            @Override
+            public void onResponse(Call call, Response response) {
+                try (response) {
+                    if (!response.isSuccessful()) {
+                        future.completeExceptionally(new HttpStatusException(String.format("%1$s. Reason: HTTP %2$s", operation, response.code()),
+                                response.code()));
+                    } else {
+                        future.complete(responseBodyReader != null ? responseBodyReader.read(response.body().bytes()) : null);
+                    }
+                } catch (Exception e) {
+                    future.completeExceptionally(e);
+                }
+            }
+        });
+        return future;
+    }
+
+    private Request.Builder newRequest(HttpUrl url) {
+        return new Request.Builder().url(url).header("Accept", NodeRedConstants.HttpClient.APPLICATION_JSON_UTF8.toString());
+    }
+
+    private HttpUrl url(String path, String... pathSegments) {
+        final var url = HttpUrl.get(nodeRedContainer.getNodeRedUrl() + path).newBuilder();
+        for (final var pathSegment : pathSegments) {
+            url.addPathSegment(pathSegment);
+        }
+        return url.build();
+    }
+
+    private HttpUrl contextUrl(ContextScope scope, String id) {
+        if (scope == ContextScope.GLOBAL) {
+            return url(CONTEXT_PATH, scope.getPath());
+        }
+        if (id == null || id.isBlank()) {
+            throw new IllegalArgumentException(String.format("%1$s context needs the id of the flow or node", scope));
+        }
+        return url(CONTEXT_PATH, scope.getPath(), id);
+    }
+
+    @SneakyThrows
+    private RequestBody json(Object value) {
+        return RequestBody.create(NodeRedConstants.HttpClient.APPLICATION_JSON_UTF8, objectMapper.writeValueAsBytes(value));
+    }
+
+    @FunctionalInterface
+    private interface ResponseBodyReader<T> {
+        T read(byte[] body) throws IOException;
+    }
+
+    /**
+     * <p>Unsuccessful response of the admin API or the context helper flow</p>
+     */
+    private static class HttpStatusException extends IllegalStateException {
+
+        private final int statusCode;
+
+        private HttpStatusException(String message, int statusCode) {
+            super(message);
+            this.statusCode = statusCode;
+        }
+
+        private int getStatusCode() {
+            return statusCode;
+        }
+    }
 }
@@ -1,12 +1,10 @@
 package io.github.jsoladur.nodered.internal.vo;
 
 import io.github.jsoladur.nodered.vo.Settings;
-import lombok.*;
 
-import java.util.Map;
-
-@Getter @Setter
+/**
+ * <p>Settings object as it's serialized into settings.js. The function global context, if any, is appended to settings.js
+ * by the FunctionGlobalContextRenderer</p>
+ */
 public final class InternalSettings extends Settings {
-
-    private final Map<String, Object> functionGlobalContext = Map.of();
 }
@@ -13,5 +13,6 @@ public class NodeRedCatalogue {
     @Getter @Setter
     public static class Module {
         private String id;
+        private List<String> types;
     }
 }
@@ -6,6 +6,7 @@ import org.testcontainers.utility.DockerImageName;
 
 import java.time.Duration;
 import java.util.List;
+import java.util.Set;
 
 @UtilityClass
 public class NodeRedConstants {
@@ -21,6 +22,135 @@ public class NodeRedConstants {
     public static final String SETTINGS_JS_FILE_NAME = "settings.js";
 
     public static final String NODE_RED_CATALOGUE_URL = "https://catalogue.nodered.org/catalogue.json";
+    public static final String INJECT_PATH = "/inject/";
+    public static final String FLOWS_PATH = "/flows";
+    public static final String NODES_PATH = "/nodes";
+    public static final String FLOW_PATH = "/flow";
+    public static final String CONTEXT_PATH = "/context";
+    public static final String DIAGNOSTICS_PATH = "/diagnostics";
+    public static final String FINGERPRINT_FILE_NAME = ".testcontainers-fingerprint.json";
+    public static final String FINGERPRINT_LABEL = "io.github.jsoladur.nodered.fingerprint";
+
+    @UtilityClass
+    public class Flows {
+        public static final int DEFAULT_MAX_FAN_OUT = 10;
+        public static final int DEFAULT_MAX_LOOP_NESTING_DEPTH = 2;
+        public static final String SUBFLOW_INSTANCE_TYPE_PREFIX = "subflow:";
+        public static final Set<String> HOT_PATH_ENTRY_NODE_TYPES = Set.of("http in", "mqtt in", "websocket in", "tcp in", "udp in", "watch");
+        public static final Set<String> CORE_NODE_TYPES = Set.of(
+                "tab", "subflow", "group", "junction", "comment", "unknown", "global-config",
+                "inject", "debug", "complete", "catch", "status", "link in", "link out", "link call",
+                "function", "switch", "change", "range", "template", "delay", "trigger", "exec", "rbe", "filter",
+                "mqtt in", "mqtt out", "mqtt-broker", "http in", "http response", "http request", "http proxy",
+                "websocket in", "websocket out", "websocket-listener", "websocket-client",
+                "tcp in", "tcp out", "tcp request", "udp in", "udp out", "tls-config",
+                "split", "join", "sort", "batch", "file", "file in", "watch",
+                "csv", "html", "json", "xml", "yaml");
+    }
+
+    @UtilityClass
+    public class Cluster {
+        public static final DockerImageName LOAD_BALANCER_DOCKER_IMAGE_NAME = DockerImageName.parse("nginx:1.21-alpine");
+        public static final int LOAD_BALANCER_HTTP_EXPOSED_PORT = 80;
+        public static final String LOAD_BALANCER_CONFIG_PATH = "/etc/nginx/nginx.conf";
+        public static final String REPLICA_NETWORK_ALIAS_PREFIX = "node-red-";
+        public static final int LOAD_BALANCER_KEEPALIVE_CONNECTIONS = 64;
+        public static final Duration LOAD_BALANCER_RELOAD_GRACE_PERIOD = Duration.ofMillis(500);
+    }
+
+    @UtilityClass
+    public class WarmedImage {
+        public static final String REPOSITORY = "node-red-testcontainers-warmed";
+        public static final String LABEL = "io.github.jsoladur.nodered.warmed";
+        // XXX: /data is a volume of the NODE-RED image, so its content isn't committed and it's kept in this directory instead
+        public static final String DATA_DIRECTORY = "/usr/src/node-red/.testcontainers-warmed-data";
+        public static final String RESTORE_DATA_SCRIPT = "cp -a " + DATA_DIRECTORY + "/. " + DataDirectory.PATH + "/ && exec \"$@\"";
+    }
+
+    @UtilityClass
+    public class Profiling {
+        public static final int INSPECTOR_EXPOSED_PORT = 9229;
+        public static final String INSPECT_NODE_OPTION = "--inspect=0.0.0.0:" + INSPECTOR_EXPOSED_PORT;
+        public static final String INSPECTOR_TARGETS_PATH = "/json/list";
+        // XXX: The inspector rejects Host headers which aren't an IP address or localhost (DNS rebinding protection)
+        public static final String INSPECTOR_HOST_HEADER = "localhost";
+        public static final Duration DEFAULT_SAMPLING_INTERVAL = Duration.ofNanos(200_000);
+        public static final Duration INSPECTOR_COMMAND_TIMEOUT = Duration.ofSeconds(30);
+        public static final int DEFAULT_TOP_FUNCTIONS = 20;
+        public static final String CPU_PROFILE_FILE_EXTENSION = ".cpuprofile";
+    }
+
+    @UtilityClass
+    public class Chaos {
+        public static final DockerImageName PROXY_DOCKER_IMAGE_NAME = DockerImageName.parse("ghcr.io/shopify/toxiproxy:2.4.0");
+        public static final int PROXY_API_EXPOSED_PORT = 8474;
+        public static final String PROXIES_PATH = "/proxies";
+        public static final String TOXICS_PATH = "/toxics";
+        public static final String RESET_PATH = "/reset";
+    }
+
+    @UtilityClass
+    public class DataDirectory {
+        public static final String PATH = "/data";
+        public static final String TEMP_DIRECTORY_PREFIX = "node-red-data-";
+        public static final int NODE_RED_USER_ID = 1000;
+        public static final int FILE_MODE = 0100644;
+        public static final int DIRECTORY_MODE = 040755;
+    }
+
+    @UtilityClass
+    public class ContextHelperFlow {
+        public static final String FLOW_ID = "testcontainers-context";
+        public static final String LABEL = "Testcontainers context";
+        public static final String HTTP_IN_NODE_ID = FLOW_ID + "-http-in";
+        public static final String FUNCTION_NODE_ID = FLOW_ID + "-function";
+        public static final String HTTP_RESPONSE_NODE_ID = FLOW_ID + "-http-response";
+        public static final String URL = "/testcontainers/context";
+        public static final String FUNCTION = String.join("\n",
+                "const request = msg.payload || {};",
+                "Object.entries(request.set || {}).forEach(([key, value]) => global.set(key, value));",
+                "(request.delete || []).forEach(key => global.set(key, undefined));",
+                "msg.payload = {};",
+                "(request.get || []).forEach(key => {",
+                "    const value = global.get(key);",
+                "    if (value !== undefined) {",
+                "        msg.payload[key] = value;",
+                "    }",
+                "});",
+                "return msg;");
+    }
+
+    @UtilityClass
+    public class EventStreams {
+        public static final String COMMS_PATH = "/comms";
+        public static final String DEBUG_TOPIC = "debug";
+        public static final String SUBSCRIBE_DEBUG_MESSAGE = "{\"subscribe\":\"" + DEBUG_TOPIC + "\"}";
+        public static final int DEFAULT_BUFFER_CAPACITY = 256;
+    }
+
+    @UtilityClass
+    public class ContextStorage {
+        public static final String DEFAULT_DIRECTORY = "context";
+        public static final int SEEDED_FLUSH_INTERVAL_SECONDS = 1;
+    }
+
+    @UtilityClass
+    public class GlobalContext {
+        public static final String DIRECTORY = "global-context";
+        public static final String VALUES_FILE_PATH = DIRECTORY + "/values.json";
+    }
+
+    @UtilityClass
+    public class Fingerprint {
+        public static final String IMAGE = "image";
+        public static final String FLOWS = "flows";
+        public static final String CREDENTIALS = "credentials";
+        public static final String SETTINGS = "settings";
+        public static final String MODULES = "modules";
+        public static final String ENV = "env";
+        public static final String GLOBAL_CONTEXT = "globalContext";
+        public static final String CONTEXT = "context";
+    }
 
     @UtilityClass
     public class Env {
@@ -31,5 +161,10 @@ public class NodeRedConstants {
     @UtilityClass
     public class HttpClient {
         public static final MediaType APPLICATION_JSON_UTF8 = MediaType.parse("application/json; charset=utf-8");
+        public static final String NODE_RED_API_VERSION_HEADER = "Node-RED-API-Version";
+        public static final String NODE_RED_DEPLOYMENT_TYPE_HEADER = "Node-RED-Deployment-Type";
+        public static final int MAX_IDLE_CONNECTIONS = 64;
+        public static final Duration KEEP_ALIVE_DURATION = Duration.ofMinutes(5);
+        public static final int MAX_REQUESTS_PER_HOST = 16;
     }
 }
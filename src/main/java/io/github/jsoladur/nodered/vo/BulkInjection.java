@@ -0,0 +1,37 @@
+package io.github.jsoladur.nodered.vo;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.time.Duration;
+
+@Getter @Builder
+public class BulkInjection {
+
+    /**
+     * <p>Id of the inject node to trigger</p>
+     */
+    @NonNull
+    private String nodeId;
+    /**
+     * <p>Number of times that the inject node will be triggered</p>
+     */
+    @Builder.Default
+    private int count = 1;
+    /**
+     * <p>Target rate of triggers per second. If not set, the inject node is triggered
+     * as fast as the concurrency level allows</p>
+     */
+    private Integer ratePerSecond;
+    /**
+     * <p>Maximum number of in-flight requests against the NODE-RED admin API</p>
+     */
+    @Builder.Default
+    private int concurrency = 64;
+    /**
+     * <p>Maximum time to wait for the in-flight requests once all the triggers were sent</p>
+     */
+    @Builder.Default
+    private Duration timeout = Duration.ofMinutes(1);
+}
@@ -0,0 +1,33 @@
+package io.github.jsoladur.nodered.vo;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.Duration;
+import java.util.Map;
+
+@Getter @Builder @ToString
+public class BulkInjectionReport {
+
+    private String nodeId;
+    private long requested;
+    private long succeeded;
+    private long failed;
+    private Duration elapsed;
+    /**
+     * <p>Succeeded triggers per second</p>
+     */
+    private double achievedRate;
+    /**
+     * <p>Number of failed triggers grouped by reason, e.g. "HTTP 404" or "SocketTimeoutException"</p>
+     */
+    private Map<String, Long> failureReasons;
+
+    /**
+     * @return true if at least one trigger failed. Otherwise false
+     */
+    public boolean hasFailures() {
+        return failed > 0;
+    }
+}
@@ -0,0 +1,27 @@
+package io.github.jsoladur.nodered.vo;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * <p>Context value exported from a localfilesystem context store</p>
+ */
+@Getter @Builder @ToString
+public class ContextEntry {
+
+    private ContextScope scope;
+    /**
+     * <p>Flow id. Null for the global scope</p>
+     */
+    private String flowId;
+    /**
+     * <p>Node id. Only for the node scope</p>
+     */
+    private String nodeId;
+    private String key;
+    /**
+     * <p>Value, as maps, lists, strings, numbers and booleans</p>
+     */
+    private Object value;
+}
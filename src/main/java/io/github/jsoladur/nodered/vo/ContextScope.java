@@ -0,0 +1,17 @@
+package io.github.jsoladur.nodered.vo;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum ContextScope {
+    GLOBAL("global"),
+    FLOW("flow"),
+    NODE("node");
+
+    /**
+     * <p>Path segment of the scope within the /context endpoints of the NODE-RED admin API</p>
+     */
+    private final String path;
+}
@@ -0,0 +1,36 @@
+package io.github.jsoladur.nodered.vo;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Singular;
+
+import java.util.Map;
+
+/**
+ * <p>Initial values of a localfilesystem context store, written into the /data directory when the container is created</p>
+ * @since 0.3.0
+ */
+@Getter @Builder
+public class ContextSeed {
+
+    /**
+     * <p>Name of the context store to seed. If it isn't configured by the settings, it's added as a localfilesystem store</p>
+     */
+    @Builder.Default
+    private final String store = "default";
+    /**
+     * <p>JSON-serializable global context values keyed by key</p>
+     */
+    @Singular
+    private final Map<String, Object> globalValues;
+    /**
+     * <p>JSON-serializable flow context values keyed by flow id and key</p>
+     */
+    @Singular
+    private final Map<String, Map<String, Object>> flowContexts;
+    /**
+     * <p>JSON-serializable node context values keyed by node context id, i.e. "&lt;node id&gt;:&lt;flow id&gt;", and key</p>
+     */
+    @Singular
+    private final Map<String, Map<String, Object>> nodeContexts;
+}
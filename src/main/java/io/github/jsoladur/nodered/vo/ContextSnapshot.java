@@ -0,0 +1,45 @@
+package io.github.jsoladur.nodered.vo;
+
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * <p>All the values of a localfilesystem context store, with the same layout as ContextSeed</p>
+ */
+@Getter @ToString
+public class ContextSnapshot {
+
+    /**
+     * <p>Global context values keyed by key</p>
+     */
+    private final Map<String, Object> globalValues = new HashMap<>();
+    /**
+     * <p>Flow context values keyed by flow id and key</p>
+     */
+    private final Map<String, Map<String, Object>> flowContexts = new HashMap<>();
+    /**
+     * <p>Node context values keyed by node context id, i.e. "&lt;node id&gt;:&lt;flow id&gt;", and key</p>
+     */
+    private final Map<String, Map<String, Object>> nodeContexts = new HashMap<>();
+
+    /**
+     * @param contextEntry exported context value to add to the snapshot
+     */
+    public void add(ContextEntry contextEntry) {
+        switch (contextEntry.getScope()) {
+            case GLOBAL:
+                globalValues.put(contextEntry.getKey(), contextEntry.getValue());
+                break;
+            case FLOW:
+                flowContexts.computeIfAbsent(contextEntry.getFlowId(), flowId -> new HashMap<>())
+                        .put(contextEntry.getKey(), contextEntry.getValue());
+                break;
+            default:
+                nodeContexts.computeIfAbsent(contextEntry.getNodeId() + ":" + contextEntry.getFlowId(), nodeContextId -> new HashMap<>())
+                        .put(contextEntry.getKey(), contextEntry.getValue());
+        }
+    }
+}
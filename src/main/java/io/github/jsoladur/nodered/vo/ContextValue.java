@@ -0,0 +1,22 @@
+package io.github.jsoladur.nodered.vo;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * <p>Context value as returned by the NODE-RED admin API. The value is encoded for display purposes, so it's
+ * truncated to the debugMaxLength setting</p>
+ */
+@Getter @Setter @ToString
+public class ContextValue {
+
+    /**
+     * <p>Encoded value</p>
+     */
+    private String msg;
+    /**
+     * <p>Type of the value, e.g. string, number, Object or array[3]</p>
+     */
+    private String format;
+}
@@ -0,0 +1,51 @@
+package io.github.jsoladur.nodered.vo;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Singular;
+import lombok.ToString;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * <p>Summary of a CPU profile of the NODE-RED process</p>
+ */
+@Getter @Builder @ToString
+public class CpuProfileReport {
+
+    private long durationMicros;
+    private long samples;
+    /**
+     * <p>Time spent by the process without running JavaScript</p>
+     */
+    private long idleMicros;
+    /**
+     * <p>Saved .cpuprofile file, which can be loaded in the Chrome DevTools. Null if it wasn't saved</p>
+     */
+    private Path cpuProfileFile;
+    /**
+     * <p>Functions with the highest self time, in descending order</p>
+     */
+    @Singular
+    private List<HotFunction> topFunctions;
+
+    @Getter @Builder @ToString
+    public static class HotFunction {
+        private String functionName;
+        /**
+         * <p>Script of the function, e.g. a module path or "Function node:2c4e6a8b0d1f3e51 [parse]"</p>
+         */
+        private String url;
+        private int lineNumber;
+        private long selfMicros;
+        /**
+         * <p>Percentage of the profile duration spent in the function itself</p>
+         */
+        private double selfPercentage;
+        /**
+         * <p>Id of the function node whose code is the function. Null if it isn't code of a function node</p>
+         */
+        private String nodeId;
+    }
+}
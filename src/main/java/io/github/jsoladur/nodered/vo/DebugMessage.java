@@ -0,0 +1,35 @@
+package io.github.jsoladur.nodered.vo;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * <p>Message sent by a debug node to the debug sidebar</p>
+ */
+@Getter @Setter @ToString
+public class DebugMessage {
+
+    /**
+     * <p>Id of the debug node</p>
+     */
+    private String id;
+    /**
+     * <p>Id of the flow of the debug node</p>
+     */
+    private String z;
+    private String name;
+    private String topic;
+    /**
+     * <p>Debugged property of the message, e.g. payload</p>
+     */
+    private String property;
+    /**
+     * <p>Debugged value, encoded for display purposes and truncated to the debugMaxLength setting</p>
+     */
+    private String msg;
+    /**
+     * <p>Type of the debugged value, e.g. string[5], number or Object</p>
+     */
+    private String format;
+}
@@ -0,0 +1,72 @@
+package io.github.jsoladur.nodered.vo;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>Diagnostics report of the NODE-RED runtime, as returned by the NODE-RED admin API</p>
+ */
+@Getter @Setter @ToString
+public class DiagnosticsReport {
+
+    private String report;
+    private String scope;
+    private NodeJs nodejs;
+    private Os os;
+    private Runtime runtime;
+
+    @Getter @Setter @ToString
+    public static class NodeJs {
+        private String version;
+        private String arch;
+        private String platform;
+        private MemoryUsage memoryUsage;
+    }
+
+    /**
+     * <p>Memory usage of the NODE-RED process, in bytes</p>
+     */
+    @Getter @Setter @ToString
+    public static class MemoryUsage {
+        private long rss;
+        private long heapTotal;
+        private long heapUsed;
+        private long external;
+        private long arrayBuffers;
+    }
+
+    @Getter @Setter @ToString
+    public static class Os {
+        private boolean containerised;
+        private String arch;
+        private String platform;
+        private String release;
+        private String type;
+        private long totalmem;
+        private long freemem;
+        private List<Double> loadavg;
+        private double uptime;
+    }
+
+    @Getter @Setter @ToString
+    public static class Runtime {
+        private String version;
+        private Boolean isStarted;
+        private RuntimeFlows flows;
+        /**
+         * <p>Versions of the installed modules keyed by module name</p>
+         */
+        private Map<String, String> modules;
+        private Map<String, Object> settings;
+    }
+
+    @Getter @Setter @ToString
+    public static class RuntimeFlows {
+        private String state;
+        private boolean started;
+    }
+}
@@ -0,0 +1,31 @@
+package io.github.jsoladur.nodered.vo;
+
+import lombok.*;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>Single flow (tab) with its nodes, as used by the /flow endpoints of the NODE-RED admin API</p>
+ */
+@Getter @Setter @Builder @ToString @NoArgsConstructor @AllArgsConstructor
+public class Flow {
+
+    private String id;
+    private String label;
+    private boolean disabled;
+    private String info;
+    private List<Map<String, Object>> env;
+    /**
+     * <p>Nodes of the flow, as they are within the flows.json file</p>
+     */
+    private List<Map<String, Object>> nodes;
+    /**
+     * <p>Config nodes of the flow. Only for the global flow</p>
+     */
+    private List<Map<String, Object>> configs;
+    /**
+     * <p>Subflow definitions. Only for the global flow</p>
+     */
+    private List<Map<String, Object>> subflows;
+}
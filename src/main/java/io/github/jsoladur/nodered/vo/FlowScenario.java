@@ -0,0 +1,32 @@
+package io.github.jsoladur.nodered.vo;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Singular;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * <p>Scenario of the flow scenario harness: a flows configuration file and the requests to run against its HTTP in nodes</p>
+ */
+@Getter @Builder @ToString
+public class FlowScenario {
+
+    /**
+     * <p>Unique name of the scenario. Its namespace is derived from it</p>
+     */
+    @NonNull
+    private String name;
+    /**
+     * <p>flows configuration file from classpath</p>
+     */
+    @NonNull
+    private String flowsJson;
+    /**
+     * <p>Requests run one after the other, in order</p>
+     */
+    @Singular
+    private List<ScenarioRequest> requests;
+}
@@ -0,0 +1,24 @@
+package io.github.jsoladur.nodered.vo;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>Active flows configuration and its revision, as returned by the NODE-RED admin API</p>
+ */
+@Getter @Setter @ToString
+public class Flows {
+
+    /**
+     * <p>Revision of the flows configuration</p>
+     */
+    private String rev;
+    /**
+     * <p>All the nodes, as they are within the flows.json file</p>
+     */
+    private List<Map<String, Object>> flows;
+}
@@ -0,0 +1,31 @@
+package io.github.jsoladur.nodered.vo;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Singular;
+
+import java.util.List;
+
+import static java.util.stream.Collectors.joining;
+
+@Getter @Builder
+public class FlowsAnalysisReport {
+
+    private int nodesCount;
+    @Singular
+    private List<FlowsHazard> hazards;
+
+    /**
+     * @param severity minimum severity
+     * @return true if the report contains at least one hazard with the given severity or a higher one. Otherwise false
+     */
+    public boolean hasHazards(FlowsHazard.Severity severity) {
+        return hazards.stream().anyMatch(hazard -> hazard.getSeverity().compareTo(severity) >= 0);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%1$s nodes analyzed, %2$s hazards found%3$s", nodesCount, hazards.size(),
+                hazards.stream().map(hazard -> System.lineSeparator() + "  " + hazard).collect(joining()));
+    }
+}
@@ -0,0 +1,44 @@
+package io.github.jsoladur.nodered.vo;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Singular;
+
+import java.util.List;
+
+@Getter @Builder
+public class FlowsHazard {
+
+    @NonNull
+    private Type type;
+    @NonNull
+    private Severity severity;
+    /**
+     * <p>Ids of the nodes involved in the hazard, e.g. every node of a cycle</p>
+     */
+    @Singular
+    private List<String> nodeIds;
+    private String message;
+
+    @Override
+    public String toString() {
+        return String.format("[%1$s] %2$s %3$s: %4$s", severity, type, nodeIds, message);
+    }
+
+    public enum Type {
+        UNBOUNDED_FAN_OUT,
+        CYCLE,
+        HEAVY_SYNCHRONOUS_LOOP,
+        MISSING_DONE,
+        ACTIVE_DEBUG_ON_HOT_PATH,
+        UNKNOWN_NODE_TYPE,
+        MISSING_MODULE
+    }
+
+    public enum Severity {
+        INFO,
+        WARNING,
+        ERROR
+    }
+}
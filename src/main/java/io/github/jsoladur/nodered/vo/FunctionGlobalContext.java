@@ -0,0 +1,27 @@
+package io.github.jsoladur.nodered.vo;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Singular;
+
+import java.util.Map;
+
+/**
+ * <p>Preloaded global context of the function nodes, available as <code>global.get(key)</code> from the first message</p>
+ * @since 0.3.0
+ */
+@Getter @Builder
+public class FunctionGlobalContext {
+
+    /**
+     * <p>JSON-serializable Java objects keyed by global context key, e.g. lookup tables</p>
+     */
+    @Singular
+    private final Map<String, Object> values;
+    /**
+     * <p>JSON files or Node.js modules from classpath keyed by global context key, e.g. large reference data files.
+     * They are copied into the container and required from settings.js</p>
+     */
+    @Singular
+    private final Map<String, String> files;
+}
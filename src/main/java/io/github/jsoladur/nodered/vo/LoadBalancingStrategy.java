@@ -0,0 +1,16 @@
+package io.github.jsoladur.nodered.vo;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter @RequiredArgsConstructor
+public enum LoadBalancingStrategy {
+
+    ROUND_ROBIN(""),
+    LEAST_CONNECTIONS("least_conn;");
+
+    /**
+     * <p>nginx upstream directive of the strategy</p>
+     */
+    private final String upstreamDirective;
+}
@@ -0,0 +1,34 @@
+package io.github.jsoladur.nodered.vo;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * <p>Line of the NODE-RED log, e.g. "19 Oct 10:12:33 - [error] [function:parse] TypeError: ..."</p>
+ */
+@Getter @Builder @ToString
+public class LogEntry {
+
+    /**
+     * <p>Timestamp as written by NODE-RED, e.g. "19 Oct 10:12:33". Null for lines which aren't NODE-RED log entries</p>
+     */
+    private String timestamp;
+    /**
+     * <p>Log level, e.g. info, warn or error. Null for lines which aren't NODE-RED log entries</p>
+     */
+    private String level;
+    /**
+     * <p>Type of the node which logged the entry, e.g. function. Null for runtime entries</p>
+     */
+    private String nodeType;
+    /**
+     * <p>Name of the node which logged the entry, or its id if it isn't named. Null for runtime entries</p>
+     */
+    private String nodeName;
+    private String message;
+    /**
+     * <p>Whole log line</p>
+     */
+    private String line;
+}
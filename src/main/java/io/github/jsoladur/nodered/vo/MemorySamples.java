@@ -0,0 +1,172 @@
+package io.github.jsoladur.nodered.vo;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+
+import java.util.Arrays;
+
+/**
+ * <p>Memory usage samples of the NODE-RED process, stored in primitive arrays (40 bytes per sample), so multi-hour runs
+ * don't bloat the JVM</p>
+ */
+public class MemorySamples {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private int size;
+    private long[] elapsedMillis = new long[INITIAL_CAPACITY];
+    private long[] heapUsed = new long[INITIAL_CAPACITY];
+    private long[] heapTotal = new long[INITIAL_CAPACITY];
+    private long[] rss = new long[INITIAL_CAPACITY];
+    private long[] external = new long[INITIAL_CAPACITY];
+
+    /**
+     * @param elapsedMillis elapsed time since the beginning of the run
+     * @param memoryUsage memory usage of the NODE-RED process
+     */
+    public void add(long elapsedMillis, @NonNull DiagnosticsReport.MemoryUsage memoryUsage) {
+        if (size == this.elapsedMillis.length) {
+            final int capacity = size + (size >> 1);
+            this.elapsedMillis = Arrays.copyOf(this.elapsedMillis, capacity);
+            this.heapUsed = Arrays.copyOf(this.heapUsed, capacity);
+            this.heapTotal = Arrays.copyOf(this.heapTotal, capacity);
+            this.rss = Arrays.copyOf(this.rss, capacity);
+            this.external = Arrays.copyOf(this.external, capacity);
+        }
+        this.elapsedMillis[size] = elapsedMillis;
+        this.heapUsed[size] = memoryUsage.getHeapUsed();
+        this.heapTotal[size] = memoryUsage.getHeapTotal();
+        this.rss[size] = memoryUsage.getRss();
+        this.external[size] = memoryUsage.getExternal();
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long getElapsedMillis(int index) {
+        return elapsedMillis[checkIndex(index)];
+    }
+
+    /**
+     * @param metric memory metric
+     * @param index sample index
+     * @return value of the metric in bytes
+     */
+    public long getValue(@NonNull Metric metric, int index) {
+        return values(metric)[checkIndex(index)];
+    }
+
+    /**
+     * <p>Least squares fit of a metric over time</p>
+     * @param metric memory metric
+     * @param fromElapsedMillis samples taken before are ignored, e.g. the warm-up
+     * @return growth trend of the metric
+     */
+    public Trend fit(@NonNull Metric metric, long fromElapsedMillis) {
+        final long[] values = values(metric);
+        int count = 0;
+        long firstElapsedMillis = Long.MAX_VALUE;
+        long lastElapsedMillis = Long.MIN_VALUE;
+        double meanX = 0;
+        double meanY = 0;
+        for (int i = 0; i < size; i++) {
+            if (elapsedMillis[i] >= fromElapsedMillis) {
+                count++;
+                firstElapsedMillis = Math.min(firstElapsedMillis, elapsedMillis[i]);
+                lastElapsedMillis = Math.max(lastElapsedMillis, elapsedMillis[i]);
+                // XXX: Incremental means, so the sums of squares don't lose precision with values of gigabytes
+                meanX += (elapsedMillis[i] - meanX) / count;
+                meanY += (values[i] - meanY) / count;
+            }
+        }
+        double covariance = 0;
+        double varianceX = 0;
+        double varianceY = 0;
+        for (int i = 0; i < size; i++) {
+            if (elapsedMillis[i] >= fromElapsedMillis) {
+                final double dx = elapsedMillis[i] - meanX;
+                final double dy = values[i] - meanY;
+                covariance += dx * dy;
+                varianceX += dx * dx;
+                varianceY += dy * dy;
+            }
+        }
+        if (count < 2 || varianceX == 0) {
+            return new Trend(count, count < 2 ? 0 : lastElapsedMillis - firstElapsedMillis, 0, meanY, 0);
+        }
+        final double slope = covariance / varianceX;
+        final double rSquared = varianceY == 0 ? 1 : (covariance * covariance) / (varianceX * varianceY);
+        return new Trend(count, lastElapsedMillis - firstElapsedMillis, slope * Trend.MILLIS_PER_HOUR, meanY - slope * meanX, rSquared);
+    }
+
+    private long[] values(Metric metric) {
+        switch (metric) {
+            case HEAP_USED:
+                return heapUsed;
+            case HEAP_TOTAL:
+                return heapTotal;
+            case RSS:
+                return rss;
+            default:
+                return external;
+        }
+    }
+
+    private int checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(String.format("Index %1$2s out of bounds for %2$2s samples", index, size));
+        }
+        return index;
+    }
+
+    @Override
+    public String toString() {
+        return "MemorySamples(size=" + size + ")";
+    }
+
+    public enum Metric {
+        HEAP_USED, HEAP_TOTAL, RSS, EXTERNAL
+    }
+
+    /**
+     * <p>Linear growth trend of a memory metric</p>
+     */
+    @Getter @ToString @AllArgsConstructor(access = AccessLevel.PACKAGE)
+    public static class Trend {
+
+        private static final double MILLIS_PER_HOUR = 3_600_000d;
+
+        /**
+         * <p>Number of fitted samples</p>
+         */
+        private final int samples;
+        /**
+         * <p>Time between the first and the last fitted samples</p>
+         */
+        private final long durationMillis;
+        /**
+         * <p>Growth in bytes per hour</p>
+         */
+        private final double slopeBytesPerHour;
+        /**
+         * <p>Fitted value in bytes at the beginning of the run</p>
+         */
+        private final double interceptBytes;
+        /**
+         * <p>Coefficient of determination, between 0 and 1. Close to 1 means a steady growth rather than noise</p>
+         */
+        private final double rSquared;
+
+        /**
+         * @return fitted growth in bytes between the first and the last fitted samples
+         */
+        public double getGrowthBytes() {
+            return slopeBytesPerHour * durationMillis / MILLIS_PER_HOUR;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package io.github.jsoladur.nodered.vo;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * <p>Module of nodes, as returned by the NODE-RED admin API</p>
+ */
+@Getter @Setter @ToString
+public class NodeModule {
+
+    private String name;
+    private String version;
+    private boolean local;
+    private boolean user;
+    private List<NodeSet> nodes;
+}
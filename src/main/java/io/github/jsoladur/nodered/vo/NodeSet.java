@@ -0,0 +1,24 @@
+package io.github.jsoladur.nodered.vo;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * <p>Set of nodes provided by a module, as returned by the NODE-RED admin API</p>
+ */
+@Getter @Setter @ToString
+public class NodeSet {
+
+    private String id;
+    private String name;
+    private List<String> types;
+    private boolean enabled;
+    private boolean loaded;
+    private boolean local;
+    private boolean user;
+    private String module;
+    private String version;
+}
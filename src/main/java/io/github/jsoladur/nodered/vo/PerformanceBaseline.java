@@ -0,0 +1,23 @@
+package io.github.jsoladur.nodered.vo;
+
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * <p>Performance results keyed by name, as stored in the baseline file of the regression gate</p>
+ */
+@Getter @ToString
+public class PerformanceBaseline {
+
+    /**
+     * <p>Sorted by name, so the stored file diffs cleanly</p>
+     */
+    private Map<String, PerformanceResult> results = new TreeMap<>();
+
+    public void setResults(Map<String, PerformanceResult> results) {
+        this.results = new TreeMap<>(results);
+    }
+}
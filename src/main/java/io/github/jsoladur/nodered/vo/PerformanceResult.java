@@ -0,0 +1,74 @@
+package io.github.jsoladur.nodered.vo;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+
+/**
+ * <p>Latency samples and throughput of a NODE-RED endpoint, as compared by the regression gate and stored in its baseline</p>
+ */
+@Getter @Setter @Builder @ToString(exclude = "latencyMicros") @NoArgsConstructor @AllArgsConstructor
+public class PerformanceResult {
+
+    /**
+     * <p>Unique name of the result, e.g. "GET /posts"</p>
+     */
+    private String name;
+    private long[] latencyMicros;
+    /**
+     * <p>Completed requests per second</p>
+     */
+    private double throughputPerSecond;
+    /**
+     * <p>ISO-8601 instant when the result was recorded</p>
+     */
+    private String recordedAt;
+
+    /**
+     * @param name unique name of the result
+     * @param latencyMicros latency of every request
+     * @param elapsed elapsed time of all the requests
+     * @return result with the throughput of the requests
+     */
+    public static PerformanceResult of(@NonNull String name, @NonNull long[] latencyMicros, @NonNull Duration elapsed) {
+        return PerformanceResult.builder()
+                .name(name)
+                .latencyMicros(latencyMicros.clone())
+                .throughputPerSecond(elapsed.isZero() ? 0 : latencyMicros.length * 1_000_000_000d / elapsed.toNanos())
+                .recordedAt(Instant.now().toString())
+                .build();
+    }
+
+    /**
+     * @param percentile between 0 and 100, e.g. 99
+     * @return nearest-rank percentile of the latency in microseconds, or 0 without samples
+     */
+    public long percentileMicros(double percentile) {
+        if (latencyMicros == null || latencyMicros.length == 0) {
+            return 0;
+        }
+        final long[] sorted = latencyMicros.clone();
+        Arrays.sort(sorted);
+        final int rank = (int) Math.ceil(percentile / 100 * sorted.length);
+        return sorted[Math.min(sorted.length - 1, Math.max(0, rank - 1))];
+    }
+
+    @JsonIgnore
+    public long getP50Micros() {
+        return percentileMicros(50);
+    }
+
+    @JsonIgnore
+    public long getP99Micros() {
+        return percentileMicros(99);
+    }
+}
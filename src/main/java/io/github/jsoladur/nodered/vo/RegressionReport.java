@@ -0,0 +1,100 @@
+package io.github.jsoladur.nodered.vo;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Singular;
+import lombok.ToString;
+
+import java.util.List;
+
+@Getter @Builder @ToString
+public class RegressionReport {
+
+    /**
+     * <p>Baseline file the results were compared against</p>
+     */
+    private String baselineFile;
+    @Singular
+    private List<Comparison> comparisons;
+
+    /**
+     * @return true if at least one result regressed. Otherwise false
+     */
+    public boolean hasRegressions() {
+        return comparisons.stream().anyMatch(comparison -> comparison.getVerdict() == Verdict.REGRESSION);
+    }
+
+    /**
+     * @return readable table of the comparisons, one row per result
+     */
+    public String toTable() {
+        final var rows = new String[comparisons.size() + 1][];
+        rows[0] = new String[]{"result", "verdict", "p50 (ms)", "p99 (ms)", "throughput (req/s)", "Mann-Whitney p", "reasons"};
+        for (int i = 0; i < comparisons.size(); i++) {
+            final var comparison = comparisons.get(i);
+            rows[i + 1] = new String[]{
+                    comparison.getName(),
+                    comparison.getVerdict().name(),
+                    change(comparison.getBaselineP50Micros() / 1000d, comparison.getCurrentP50Micros() / 1000d, comparison.getVerdict()),
+                    change(comparison.getBaselineP99Micros() / 1000d, comparison.getCurrentP99Micros() / 1000d, comparison.getVerdict()),
+                    change(comparison.getBaselineThroughputPerSecond(), comparison.getCurrentThroughputPerSecond(), comparison.getVerdict()),
+                    comparison.getVerdict() == Verdict.NEW ? "-" : String.format("%1$.4f", comparison.getMannWhitneyPValue()),
+                    String.join("; ", comparison.getReasons())};
+        }
+        final int[] widths = new int[rows[0].length];
+        for (final var row : rows) {
+            for (int column = 0; column < row.length; column++) {
+                widths[column] = Math.max(widths[column], row[column].length());
+            }
+        }
+        final var table = new StringBuilder();
+        for (int i = 0; i < rows.length; i++) {
+            for (int column = 0; column < rows[i].length; column++) {
+                table.append(column == 0 ? "| " : " | ").append(String.format("%1$-" + widths[column] + "s", rows[i][column]));
+            }
+            table.append(" |\n");
+            if (i == 0) {
+                for (final int width : widths) {
+                    table.append("|-").append("-".repeat(width)).append('-');
+                }
+                table.append("|\n");
+            }
+        }
+        return table.toString();
+    }
+
+    private static String change(double baseline, double current, Verdict verdict) {
+        if (verdict == Verdict.NEW) {
+            return String.format("%1$.2f", current);
+        }
+        final double change = baseline == 0 ? 0 : (current - baseline) * 100 / baseline;
+        return String.format("%1$.2f -> %2$.2f (%3$+.1f%%)", baseline, current, change);
+    }
+
+    public enum Verdict {
+        PASS,
+        REGRESSION,
+        /**
+         * <p>There isn't a baseline for the result</p>
+         */
+        NEW
+    }
+
+    @Getter @Builder @ToString
+    public static class Comparison {
+        private String name;
+        private Verdict verdict;
+        private long baselineP50Micros;
+        private long currentP50Micros;
+        private long baselineP99Micros;
+        private long currentP99Micros;
+        private double baselineThroughputPerSecond;
+        private double currentThroughputPerSecond;
+        /**
+         * <p>One-sided p-value of the current latencies being greater than the baseline ones</p>
+         */
+        private double mannWhitneyPValue;
+        @Singular
+        private List<String> reasons;
+    }
+}
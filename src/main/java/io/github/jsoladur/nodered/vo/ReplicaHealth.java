@@ -0,0 +1,16 @@
+package io.github.jsoladur.nodered.vo;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter @Builder @ToString
+public class ReplicaHealth {
+
+    /**
+     * <p>Network alias of the replica in the cluster network, e.g. node-red-0</p>
+     */
+    private String networkAlias;
+    private String nodeRedUrl;
+    private boolean healthy;
+}
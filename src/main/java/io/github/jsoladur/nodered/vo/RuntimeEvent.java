@@ -0,0 +1,29 @@
+package io.github.jsoladur.nodered.vo;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * <p>Event of the NODE-RED runtime, derived from its log</p>
+ */
+@Getter @Builder @ToString
+public class RuntimeEvent {
+
+    private Type type;
+    /**
+     * <p>Log entry of the event</p>
+     */
+    private LogEntry logEntry;
+
+    public enum Type {
+        FLOWS_STARTING,
+        FLOWS_STARTED,
+        FLOWS_STOPPING,
+        FLOWS_STOPPED,
+        /**
+         * <p>A node reported an error, e.g. a function node which threw an exception</p>
+         */
+        NODE_ERROR
+    }
+}
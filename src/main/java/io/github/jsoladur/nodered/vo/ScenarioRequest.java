@@ -0,0 +1,24 @@
+package io.github.jsoladur.nodered.vo;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+
+@Getter @Builder @ToString
+public class ScenarioRequest {
+
+    @Builder.Default
+    private String method = "GET";
+    /**
+     * <p>URL of the HTTP in node, as it is within the flows configuration file of the scenario, e.g. /posts?userId=1</p>
+     */
+    @NonNull
+    private String path;
+    /**
+     * <p>JSON body of the request, if any</p>
+     */
+    private String body;
+    @Builder.Default
+    private int expectedStatusCode = 200;
+}
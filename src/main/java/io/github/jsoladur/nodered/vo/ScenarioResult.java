@@ -0,0 +1,45 @@
+package io.github.jsoladur.nodered.vo;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Singular;
+import lombok.ToString;
+
+import java.util.List;
+
+@Getter @Builder @ToString
+public class ScenarioResult {
+
+    private String scenarioName;
+    private String namespace;
+    @Singular
+    private List<RequestResult> requestResults;
+
+    /**
+     * @return true if every request answered with its expected status code. Otherwise false
+     */
+    public boolean isPassed() {
+        return requestResults.stream().allMatch(RequestResult::isPassed);
+    }
+
+    @Getter @Builder @ToString
+    public static class RequestResult {
+        private String method;
+        private String path;
+        private int expectedStatusCode;
+        /**
+         * <p>Status code of the response, or 0 if the request failed</p>
+         */
+        private int statusCode;
+        private String body;
+        private long elapsedMillis;
+        /**
+         * <p>Reason of the failed request, e.g. SocketTimeoutException. Null if it got a response</p>
+         */
+        private String failure;
+
+        public boolean isPassed() {
+            return failure == null && statusCode == expectedStatusCode;
+        }
+    }
+}
@@ -3,10 +3,17 @@ package io.github.jsoladur.nodered.vo;
 import lombok.*;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
 
 @Getter @Setter @Builder @NoArgsConstructor @AllArgsConstructor
 public class Settings {
 
+    private static final Pattern API_MAX_LENGTH_PATTERN = Pattern.compile("^\\d+(\\.\\d+)?\\s*(b|kb|mb|gb|tb|pb)?$", Pattern.CASE_INSENSITIVE);
+    private static final Set<String> LOGGING_LEVELS = Set.of("off", "fatal", "error", "warn", "info", "debug", "trace");
+    private static final Set<String> PROJECTS_WORKFLOW_MODES = Set.of("manual", "auto");
+
     /**
      * <p>The file containing the flows. If not set, defaults to flows_<hostname>.json</p>
      */
@@ -158,6 +165,195 @@ public class Settings {
      */
     @Builder.Default
     private boolean tlsConfigDisableLocalFiles = true;
+    /**
+     * <p>Context Storage. The following property can be used to enable context storage
+     *    and to configure a default store and any additional stores, keyed by store name, e.g.
+     *    { "default": { "module": "memory" }, "file": { "module": "localfilesystem" } }.
+     *    By default, only the in-memory store is used.</p>
+     */
+    private Map<String, ContextStore> contextStorage;
+    /**
+     * <p>Enable the runtime state admin API, to start and stop the flows without redeploying them</p>
+     */
+    @Builder.Default
+    private RuntimeState runtimeState = RuntimeState.builder().build();
+    /**
+     * <p>Options passed to the express app of the HTTP nodes and the editor via app.set(name, value),
+     *    e.g. { "etag": false, "trust proxy": true }.
+     *    See <a href="https://expressjs.com/en/api.html#app.settings.table">https://expressjs.com/en/api.html#app.settings.table</a></p>
+     */
+    private Map<String, Object> httpServerOptions;
+    /**
+     * <p>Configure the node-red-dashboard nodes, when installed</p>
+     */
+    private Ui ui;
+    /**
+     * <p>Configure the diagnostics admin API</p>
+     */
+    @Builder.Default
+    private Diagnostics diagnostics = Diagnostics.builder().build();
+
+    /**
+     * <p>Settings tuned for message throughput: no pretty-printed flows, warn logging, no etags,
+     *    bounded message buffers and a larger TCP message queue</p>
+     * @return settings builder with the throughput preset, so other properties can still be set
+     * @since 0.3.0
+     */
+    public static SettingsBuilder throughput() {
+        return Settings.builder()
+                .flowFilePretty(false)
+                .logging(Logging.builder().console(Logging.Console.builder().level("warn").build()).build())
+                .httpServerOptions(Map.of("etag", false))
+                .nodeMessageBufferMaxLength(10000)
+                .tcpMsgQueueSize(10000L)
+                .contextStorage(Map.of("default", ContextStore.builder().module(ContextStore.MEMORY_MODULE).build()));
+    }
+
+    /**
+     * <p>Settings tuned for low latency: no pretty-printed flows, warn logging, no etags,
+     *    small debug messages and message buffers, and short HTTP request and socket timeouts</p>
+     * @return settings builder with the low-latency preset, so other properties can still be set
+     * @since 0.3.0
+     */
+    public static SettingsBuilder lowLatency() {
+        return Settings.builder()
+                .flowFilePretty(false)
+                .logging(Logging.builder().console(Logging.Console.builder().level("warn").build()).build())
+                .httpServerOptions(Map.of("etag", false))
+                .debugMaxLength(100)
+                .nodeMessageBufferMaxLength(1000)
+                .httpRequestTimeout(5000L)
+                .socketTimeout(10000L)
+                .contextStorage(Map.of("default", ContextStore.builder().module(ContextStore.MEMORY_MODULE).build()));
+    }
+
+    /**
+     * <p>Validate the limits and the formats of the settings, so a misconfiguration fails before NODE-RED is started</p>
+     * @throws IllegalArgumentException if any setting is not valid
+     * @since 0.3.0
+     */
+    public void validate() {
+        if (apiMaxLength == null || !API_MAX_LENGTH_PATTERN.matcher(apiMaxLength.trim()).matches()) {
+            throw new IllegalArgumentException(String.format("apiMaxLength '%1$s' isn't a valid size, e.g. 5mb", apiMaxLength));
+        }
+        if (uiPort == null || uiPort <= 0 || uiPort > 65535) {
+            throw new IllegalArgumentException(String.format("uiPort %1$s isn't a valid TCP port", uiPort));
+        }
+        validatePositive("debugMaxLength", debugMaxLength);
+        validatePositive("execMaxBufferSize", execMaxBufferSize);
+        validatePositive("httpRequestTimeout", httpRequestTimeout);
+        validatePositive("socketTimeout", socketTimeout);
+        validatePositive("tcpMsgQueueSize", tcpMsgQueueSize);
+        validatePositive("inboundWebSocketTimeout", inboundWebSocketTimeout);
+        validateNotNegative("nodeMessageBufferMaxLength", nodeMessageBufferMaxLength);
+        validateNotNegative("mqttReconnectTime", mqttReconnectTime);
+        validateNotNegative("serialReconnectTime", serialReconnectTime);
+        validateNotNegative("socketReconnectTime", socketReconnectTime);
+        if (logging != null && logging.getConsole() != null && !LOGGING_LEVELS.contains(logging.getConsole().getLevel())) {
+            throw new IllegalArgumentException(String.format("logging level '%1$s' must be one of %2$s", logging.getConsole().getLevel(), LOGGING_LEVELS));
+        }
+        if (editorTheme != null && editorTheme.getProjects() != null && editorTheme.getProjects().getWorkflow() != null &&
+                !PROJECTS_WORKFLOW_MODES.contains(editorTheme.getProjects().getWorkflow().getMode())) {
+            throw new IllegalArgumentException(String.format("projects workflow mode '%1$s' must be one of %2$s",
+                    editorTheme.getProjects().getWorkflow().getMode(), PROJECTS_WORKFLOW_MODES));
+        }
+        if (contextStorage != null) {
+            contextStorage.forEach((name, contextStore) -> {
+                if (contextStore == null || contextStore.getModule() == null || contextStore.getModule().isBlank()) {
+                    throw new IllegalArgumentException(String.format("context store '%1$s' must have a module", name));
+                }
+                if (contextStore.getConfig() != null) {
+                    validateNotNegative("contextStorage." + name + ".config.flushInterval", contextStore.getConfig().getFlushInterval());
+                }
+            });
+        }
+    }
+
+    private static void validatePositive(String name, Number value) {
+        if (value != null && value.longValue() <= 0) {
+            throw new IllegalArgumentException(String.format("%1$s must be greater than zero, but it was %2$s", name, value));
+        }
+    }
+
+    private static void validateNotNegative(String name, Number value) {
+        if (value != null && value.longValue() < 0) {
+            throw new IllegalArgumentException(String.format("%1$s can't be negative, but it was %2$s", name, value));
+        }
+    }
+
+    @Getter @Builder
+    public static class ContextStore {
+        public static final String MEMORY_MODULE = "memory";
+        public static final String LOCAL_FILESYSTEM_MODULE = "localfilesystem";
+
+        /**
+         * <p>Context store module, e.g. memory or localfilesystem</p>
+         */
+        @Builder.Default
+        private String module = MEMORY_MODULE;
+        /**
+         * <p>Configuration of the localfilesystem module. Ignored by the memory module</p>
+         */
+        private Config config;
+
+        @Getter @Builder
+        public static class Config {
+            /**
+             * <p>The directory where the context files are stored. Defaults to the user directory</p>
+             */
+            private String dir;
+            /**
+             * <p>The base directory name, within dir, of the context files</p>
+             */
+            @Builder.Default
+            private String base = "context";
+            /**
+             * <p>Cache the context values in memory, writing them to the file system periodically</p>
+             */
+            @Builder.Default
+            private boolean cache = true;
+            /**
+             * <p>Time, in seconds, between flushes of the cached context values to the file system</p>
+             */
+            @Builder.Default
+            private Integer flushInterval = 30;
+        }
+    }
+
+    @Getter @Builder
+    public static class RuntimeState {
+        /**
+         * <p>Enable the runtime state admin API (POST /flows/state)</p>
+         */
+        private boolean enabled;
+        /**
+         * <p>Show the start/stop flows option in the editor</p>
+         */
+        private boolean ui;
+    }
+
+    @Getter @Builder
+    public static class Ui {
+        /**
+         * <p>Path of the dashboard, relative to httpNodeRoot</p>
+         */
+        @Builder.Default
+        private String path = "ui";
+    }
+
+    @Getter @Builder
+    public static class Diagnostics {
+        /**
+         * <p>Enable the diagnostics admin API (GET /diagnostics)</p>
+         */
+        @Builder.Default
+        private boolean enabled = true;
+        /**
+         * <p>Show the diagnostics report option in the editor</p>
+         */
+        @Builder.Default
+        private boolean ui = true;
+    }
 
     @Getter @Builder
     public static class HttpNodeCors {
@@ -0,0 +1,41 @@
+package io.github.jsoladur.nodered.vo;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.Duration;
+
+@Getter @Builder @ToString
+public class SoakTestReport {
+
+    /**
+     * <p>ISO-8601 instant when the run started</p>
+     */
+    private String startedAt;
+    private Duration elapsed;
+    private Duration warmUp;
+    private long workloadIterations;
+    private long workloadFailures;
+    /**
+     * <p>Memory usage samples which couldn't be collected</p>
+     */
+    private long samplingFailures;
+    private MemorySamples samples;
+    /**
+     * <p>Growth trend of the used heap, sampled after a full garbage collection (i.e. the retained heap), after the warm-up</p>
+     */
+    private MemorySamples.Trend heapUsedTrend;
+    /**
+     * <p>Growth trend of the resident memory after the warm-up</p>
+     */
+    private MemorySamples.Trend rssTrend;
+    private long leakThresholdBytesPerHour;
+    private double minRSquared;
+    private long minLeakGrowthBytes;
+    /**
+     * <p>True if the retained heap grew faster than the leak threshold after the warm-up, with a trend which explains
+     *    the samples and a fitted growth above the minimum</p>
+     */
+    private boolean leakDetected;
+}
@@ -0,0 +1,75 @@
+package io.github.jsoladur.nodered.vo;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Singular;
+import lombok.ToString;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toList;
+
+@Getter @Builder @ToString
+public class StartupBenchmarkReport {
+
+    /**
+     * <p>ISO-8601 instant when the benchmark started</p>
+     */
+    private String startedAt;
+    private long elapsedMillis;
+    @Singular
+    private List<StartupBenchmarkResult> results;
+
+    /**
+     * @return min, median and max of every metric, grouped by image, settings preset, module set and start type
+     */
+    public List<Summary> getSummaries() {
+        final var groupedResults = results.stream().collect(groupingBy(result -> List.of(result.getDockerImageName(),
+                result.getSettingsPreset(), result.getModuleSet(), result.getStartType().name()), LinkedHashMap::new, toList()));
+        final var summaries = new ArrayList<Summary>(groupedResults.size());
+        groupedResults.forEach((key, group) -> summaries.add(Summary.builder()
+                .dockerImageName(key.get(0))
+                .settingsPreset(key.get(1))
+                .moduleSet(key.get(2))
+                .startType(StartupBenchmarkResult.StartType.valueOf(key.get(3)))
+                .repetitions(group.size())
+                .timeToReadyMillis(Statistic.of(group, StartupBenchmarkResult::getTimeToReadyMillis))
+                .timeToFirstRequestMillis(Statistic.of(group, StartupBenchmarkResult::getTimeToFirstRequestMillis))
+                .idleRssBytes(Statistic.of(group, StartupBenchmarkResult::getIdleRssBytes))
+                .build()));
+        return summaries;
+    }
+
+    @Getter @Builder @ToString
+    public static class Summary {
+        private String dockerImageName;
+        private String settingsPreset;
+        private String moduleSet;
+        private StartupBenchmarkResult.StartType startType;
+        private int repetitions;
+        private Statistic timeToReadyMillis;
+        private Statistic timeToFirstRequestMillis;
+        private Statistic idleRssBytes;
+    }
+
+    @Getter @Builder @ToString
+    public static class Statistic {
+        private long min;
+        private long median;
+        private long max;
+
+        static Statistic of(List<StartupBenchmarkResult> results, ToLongFunction<StartupBenchmarkResult> metric) {
+            final long[] values = results.stream().mapToLong(metric).sorted().toArray();
+            if (values.length == 0) {
+                return Statistic.builder().build();
+            }
+            final int middle = values.length / 2;
+            final long median = values.length % 2 == 1 ? values[middle] : (values[middle - 1] + values[middle]) / 2;
+            return Statistic.builder().min(values[0]).median(median).max(values[values.length - 1]).build();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package io.github.jsoladur.nodered.vo;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter @Builder @ToString
+public class StartupBenchmarkResult {
+
+    /**
+     * <p>Docker image name of the NODE-RED container, e.g. nodered/node-red:2.2.0</p>
+     */
+    private String dockerImageName;
+    /**
+     * <p>Name of the settings preset, e.g. throughput</p>
+     */
+    private String settingsPreset;
+    /**
+     * <p>Name of the set of third party library nodes dependencies</p>
+     */
+    private String moduleSet;
+    private StartType startType;
+    /**
+     * <p>Repetition number, starting from 1, within the start type of the configuration</p>
+     */
+    private int repetition;
+    /**
+     * <p>Milliseconds until the NODE-RED HTTP server answers, including the installation of the modules for cold starts</p>
+     */
+    private long timeToReadyMillis;
+    /**
+     * <p>Milliseconds until the first request path answers with a successful status code</p>
+     */
+    private long timeToFirstRequestMillis;
+    /**
+     * <p>Resident memory of the container once it was idle for a while, in bytes. -1 if it can't be obtained</p>
+     */
+    private long idleRssBytes;
+
+    public enum StartType {
+        /**
+         * <p>First start of a new container from the image</p>
+         */
+        COLD,
+        /**
+         * <p>Restart of an already started container, whose modules are already installed</p>
+         */
+        WARM
+    }
+}
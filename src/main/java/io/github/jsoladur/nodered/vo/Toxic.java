@@ -0,0 +1,87 @@
+package io.github.jsoladur.nodered.vo;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Singular;
+import lombok.ToString;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * <p>Toxic applied by the chaos proxy to the connections of a target</p>
+ * @see <a href="https://github.com/Shopify/toxiproxy#toxics">Toxiproxy toxics</a>
+ * @since 0.3.0
+ */
+@Getter @Builder @ToString
+public class Toxic {
+
+    /**
+     * <p>Name of the toxic. By default, type and stream, e.g. latency_downstream</p>
+     */
+    private String name;
+    /**
+     * <p>Toxiproxy toxic type, e.g. latency, bandwidth, reset_peer or timeout</p>
+     */
+    @NonNull
+    private String type;
+    /**
+     * <p>Direction of the affected traffic. DOWNSTREAM (from the target to NODE-RED) is the default value</p>
+     */
+    @Builder.Default
+    private Stream stream = Stream.DOWNSTREAM;
+    /**
+     * <p>Probability of the toxic being applied to a connection, between 0 and 1. 1 is the default value</p>
+     */
+    @Builder.Default
+    private double toxicity = 1.0;
+    @Singular
+    private Map<String, Object> attributes;
+
+    public String getName() {
+        return name != null ? name : type + "_" + stream.getValue();
+    }
+
+    /**
+     * @param latency delay added to the data
+     * @param jitter random variation of the delay, up to +/- jitter
+     * @return latency toxic
+     * @since 0.3.0
+     */
+    public static Toxic latency(@NonNull Duration latency, @NonNull Duration jitter) {
+        return Toxic.builder().type("latency").attribute("latency", latency.toMillis()).attribute("jitter", jitter.toMillis()).build();
+    }
+
+    /**
+     * @param kilobytesPerSecond max transfer rate
+     * @return bandwidth toxic
+     * @since 0.3.0
+     */
+    public static Toxic bandwidth(long kilobytesPerSecond) {
+        if (kilobytesPerSecond < 0) {
+            throw new IllegalArgumentException("kilobytesPerSecond can't be negative");
+        }
+        return Toxic.builder().type("bandwidth").attribute("rate", kilobytesPerSecond).build();
+    }
+
+    /**
+     * @param toxicity probability of a connection being dropped, between 0 and 1
+     * @return reset_peer toxic, which resets the connections with a TCP RST
+     * @since 0.3.0
+     */
+    public static Toxic connectionDrops(double toxicity) {
+        if (toxicity < 0 || toxicity > 1) {
+            throw new IllegalArgumentException("toxicity must be between 0 and 1");
+        }
+        return Toxic.builder().type("reset_peer").toxicity(toxicity).attribute("timeout", 0).build();
+    }
+
+    public enum Stream {
+        UPSTREAM, DOWNSTREAM;
+
+        public String getValue() {
+            return name().toLowerCase();
+        }
+    }
+}
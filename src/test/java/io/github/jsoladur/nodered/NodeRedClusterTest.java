@@ -0,0 +1,100 @@
+package io.github.jsoladur.nodered;
+
+import io.github.jsoladur.nodered.vo.LoadBalancingStrategy;
+import io.github.jsoladur.nodered.vo.ReplicaHealth;
+import io.github.jsoladur.nodered.vo.Settings;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.shaded.com.fasterxml.jackson.databind.ObjectMapper;
+import org.testcontainers.shaded.okhttp3.OkHttpClient;
+import org.testcontainers.shaded.okhttp3.Request;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Slf4j
+@Testcontainers
+class NodeRedClusterTest {
+
+    // XXX: The throughput preset logs at the warn level, so the rolling redeploy can't rely on the "Started flows" line
+    @Container
+    static final NodeRedCluster nodeRedCluster =
+            new NodeRedCluster(2, () -> new NodeRedContainer()
+                    .withFlowsJson("cluster/flows.json")
+                    .withSettings(Settings.throughput().build())
+                    .withValidateThirdPartyLibraryNodesDependencies(false))
+                    .withLoadBalancingStrategy(LoadBalancingStrategy.LEAST_CONNECTIONS);
+
+    @BeforeAll
+    static void beforeAll() {
+        log.info("NODE-RED cluster url = {}", nodeRedCluster.getNodeRedUrl());
+    }
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @AfterAll
+    static void afterAll() {
+        nodeRedCluster.close();
+    }
+
+    @Test
+    @SneakyThrows
+    void loadBalancedRequestsTest() {
+        final var client = new OkHttpClient.Builder().build();
+        final var replicas = new HashSet<String>();
+        for (int i = 0; i < 10; i++) {
+            Request request = new Request.Builder()
+                    .url(nodeRedCluster.getNodeRedUrl() + "/replica")
+                    .build();
+            try (final var response = client.newCall(request).execute()) {
+                assertEquals(200, response.code());
+                replicas.add(objectMapper.readTree(response.body().bytes()).path("replica").asText());
+            }
+        }
+        log.info("Replicas that answered = {}", replicas);
+        assertTrue(replicas.size() > 1);
+    }
+
+    @Test
+    @SneakyThrows
+    void rollingRedeployTest() {
+        final var client = new OkHttpClient.Builder().build();
+        final var redeployed = new AtomicBoolean();
+        final var failedRequests = new AtomicInteger();
+        final var traffic = CompletableFuture.runAsync(() -> {
+            while (!redeployed.get()) {
+                Request request = new Request.Builder()
+                        .url(nodeRedCluster.getNodeRedUrl() + "/replica")
+                        .build();
+                try (final var response = client.newCall(request).execute()) {
+                    if (response.code() != 200) {
+                        failedRequests.incrementAndGet();
+                    }
+                } catch (IOException e) {
+                    failedRequests.incrementAndGet();
+                }
+            }
+        });
+        try {
+            nodeRedCluster.redeployFlows("cluster/flows.json");
+        } finally {
+            redeployed.set(true);
+        }
+        traffic.get();
+        assertEquals(0, failedRequests.get());
+        final var replicasHealth = nodeRedCluster.getReplicasHealth();
+        assertEquals(2, replicasHealth.size());
+        assertTrue(replicasHealth.stream().allMatch(ReplicaHealth::isHealthy));
+    }
+}
@@ -0,0 +1,100 @@
+package io.github.jsoladur.nodered;
+
+import io.github.jsoladur.nodered.utils.NodeRedConstants.ContextHelperFlow;
+import io.github.jsoladur.nodered.vo.ContextScope;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.shaded.org.awaitility.Awaitility;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Slf4j
+@Testcontainers
+class NodeRedContainerAdminClientTest {
+
+    static final String FLOW_ID = "5c1e0f7a2b9d4e31";
+    static final String INJECT_NODE_ID = "0b7d2c3e4f5a6b71";
+
+    @Container
+    static final NodeRedContainer nodeRedContainer =
+            new NodeRedContainer()
+                    .withFlowsJson("inject/flows.json");
+
+    @BeforeAll
+    static void beforeAll() {
+        log.info("NODE-RED url = {}", nodeRedContainer.getNodeRedUrl());
+    }
+
+    @AfterAll
+    static void afterAll() {
+        nodeRedContainer.close();
+    }
+
+    @Test
+    void nodesAndFlowsTest() {
+        final var adminClient = nodeRedContainer.getAdminClient();
+        final var nodeSets = adminClient.listNodeSets().join();
+        assertTrue(nodeSets.stream().anyMatch(nodeSet -> nodeSet.getTypes().contains("inject")));
+        final var nodeModule = adminClient.getNodeModule("node-red").join();
+        assertEquals("node-red", nodeModule.getName());
+        final var flows = adminClient.getFlows().join();
+        assertNotNull(flows.getRev());
+        assertTrue(flows.getFlows().stream().anyMatch(node -> FLOW_ID.equals(node.get("id"))));
+        final var flow = adminClient.getFlow(FLOW_ID).join();
+        assertEquals("Flow 1", flow.getLabel());
+        assertEquals(5, flow.getNodes().size());
+    }
+
+    @Test
+    void contextBatchTest() {
+        final var adminClient = nodeRedContainer.getAdminClient();
+        final Map<String, Object> values = IntStream.range(0, 500).boxed()
+                .collect(Collectors.toMap(i -> "key-" + i, i -> Map.of("index", i, "tags", List.of("a", "b"))));
+        adminClient.batch()
+                .setGlobalContextValues(values)
+                .setGlobalContextValue("count", 0)
+                .execute()
+                .join();
+        assertEquals(values, adminClient.getGlobalContextValues(values.keySet()).join());
+
+        nodeRedContainer.inject(INJECT_NODE_ID);
+        // XXX: The count is set asynchronously by the function node wired to the inject node
+        Awaitility.await().atMost(Duration.ofSeconds(10)).untilAsserted(() ->
+                assertEquals("1", adminClient.getContextValue(ContextScope.GLOBAL, null, "count").join().getMsg()));
+
+        final var batch = adminClient.batch();
+        values.keySet().forEach(key -> batch.deleteContextValue(ContextScope.GLOBAL, null, key));
+        batch.execute().join();
+        assertTrue(adminClient.getGlobalContextValues(values.keySet()).join().isEmpty());
+        assertEquals(1, adminClient.getGlobalContextValues(List.of("count")).join().size());
+    }
+
+    @Test
+    void contextHelperFlowRemovedTest() {
+        final var adminClient = nodeRedContainer.getAdminClient();
+        adminClient.setGlobalContextValues(Map.of("removed-helper-flow", "before")).join();
+        // XXX: The client still believes the helper flow is deployed, so its endpoint answers 404 and it's installed again
+        adminClient.deleteFlow(ContextHelperFlow.FLOW_ID).join();
+        adminClient.setGlobalContextValues(Map.of("removed-helper-flow", "after")).join();
+        assertEquals(Map.of("removed-helper-flow", "after"), adminClient.getGlobalContextValues(List.of("removed-helper-flow")).join());
+    }
+
+    @Test
+    void diagnosticsTest() {
+        final var diagnostics = nodeRedContainer.getAdminClient().getDiagnostics().join();
+        assertTrue(diagnostics.getNodejs().getMemoryUsage().getRss() > 0);
+        assertTrue(diagnostics.getRuntime().getIsStarted());
+    }
+}
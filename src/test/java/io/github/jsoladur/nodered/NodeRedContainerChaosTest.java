@@ -0,0 +1,106 @@
+package io.github.jsoladur.nodered;
+
+import com.github.dockerjava.api.command.CreateContainerCmd;
+import io.github.jsoladur.nodered.vo.Settings;
+import io.github.jsoladur.nodered.vo.ThirdPartyLibraryNodesDependency;
+import io.github.jsoladur.nodered.vo.Toxic;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.MariaDBContainer;
+import org.testcontainers.containers.Network;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.shaded.okhttp3.OkHttpClient;
+import org.testcontainers.shaded.okhttp3.Request;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Slf4j
+@Testcontainers
+class NodeRedContainerChaosTest {
+
+    static final String MARIA_DB_CONTAINER_NAME = "mariadb-8524a3c4-0e6e-419d-9f3e-f2dab71f40f4";
+    static final Duration LATENCY = Duration.ofMillis(500);
+    static final Network network = Network.newNetwork();
+
+    @Container
+    static final MariaDBContainer mariaDbContainer =
+            (MariaDBContainer) new MariaDBContainer(DockerImageName.parse("mariadb"))
+                    .withPassword("my_cool_secret")
+                    .withNetwork(network)
+                    .withCreateContainerCmdModifier(cmd -> {
+                        CreateContainerCmd.class.cast(cmd).withName(MARIA_DB_CONTAINER_NAME);
+                    });
+    @Container
+    static final NodeRedContainer nodeRedContainer =
+            new NodeRedContainer()
+                    .dependsOn(mariaDbContainer)
+                    .withChaosTarget(MARIA_DB_CONTAINER_NAME, 3306)
+                    .withThirdPartyLibraryNodesDependencies(
+                            ThirdPartyLibraryNodesDependency
+                                    .builder()
+                                    .module("node-red-node-mysql")
+                                    .version("1.0.1")
+                                    .build()
+                    )
+                    .withSettings(Settings
+                            .builder()
+                            .externalModules(Settings.ExternalModules
+                                    .builder()
+                                    .autoInstall(true)
+                                    .build())
+                            .credentialSecret("c49f73806be83ebe2f10dadec4bdcfce42e3964b4b58ce36d01551e0c51926ea")
+                            .build())
+                    .withFlowsJson("mariadb/flows.json")
+                    .withFlowsCredJson("mariadb/flows_cred.json")
+                    .withNetwork(network);
+
+    private final OkHttpClient client = new OkHttpClient.Builder().readTimeout(Duration.ofSeconds(30)).build();
+
+    @BeforeAll
+    static void beforeAll() {
+        log.info("NODE-RED url = {}", nodeRedContainer.getNodeRedUrl());
+    }
+
+    @AfterAll
+    static void afterAll() {
+        nodeRedContainer.close();
+    }
+
+    @Test
+    void latencyTest() {
+        final var chaosProxy = nodeRedContainer.getChaosProxy();
+        final var baseline = measureRequest();
+        chaosProxy.addToxic(MARIA_DB_CONTAINER_NAME, Toxic.latency(LATENCY, Duration.ZERO));
+        try {
+            final var withLatency = measureRequest();
+            log.info("Request time without latency = {}, with latency = {}", baseline, withLatency);
+            assertTrue(withLatency.compareTo(LATENCY) >= 0);
+        } finally {
+            chaosProxy.reset();
+        }
+    }
+
+    @Test
+    void unknownChaosTargetTest() {
+        assertThrows(IllegalArgumentException.class, () -> nodeRedContainer.getChaosProxy().cut("unknown"));
+    }
+
+    @SneakyThrows
+    private Duration measureRequest() {
+        final var request = new Request.Builder().url(nodeRedContainer.getNodeRedUrl() + "/test").build();
+        final var start = System.nanoTime();
+        try (final var response = client.newCall(request).execute()) {
+            assertEquals(200, response.code());
+        }
+        return Duration.ofNanos(System.nanoTime() - start);
+    }
+}
@@ -0,0 +1,70 @@
+package io.github.jsoladur.nodered;
+
+import io.github.jsoladur.nodered.vo.ContextSeed;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.shaded.com.fasterxml.jackson.databind.ObjectMapper;
+import org.testcontainers.shaded.okhttp3.OkHttpClient;
+import org.testcontainers.shaded.okhttp3.Request;
+import org.testcontainers.shaded.org.awaitility.Awaitility;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Slf4j
+@Testcontainers
+class NodeRedContainerContextSeedTest {
+
+    static final String FLOW_ID = "5c1e0f7a2b9d4e31";
+    static final String INJECT_NODE_ID = "0b7d2c3e4f5a6b71";
+    static final Map<String, Object> LOOKUP_TABLE = IntStream.range(0, 5000).boxed()
+            .collect(Collectors.toMap(i -> "code-" + i, i -> Map.of("index", i)));
+
+    @Container
+    static final NodeRedContainer nodeRedContainer =
+            new NodeRedContainer()
+                    .withFlowsJson("inject/flows.json")
+                    .withContextSeed(ContextSeed
+                            .builder()
+                            .globalValue("count", 41)
+                            .globalValues(LOOKUP_TABLE)
+                            .flowContext(FLOW_ID, Map.of("label", "seeded"))
+                            .build());
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeAll
+    static void beforeAll() {
+        log.info("NODE-RED url = {}", nodeRedContainer.getNodeRedUrl());
+    }
+
+    @AfterAll
+    static void afterAll() {
+        nodeRedContainer.close();
+    }
+
+    @Test
+    @SneakyThrows
+    void seedAndExportTest() {
+        final var client = new OkHttpClient.Builder().build();
+        final var request = new Request.Builder().url(nodeRedContainer.getNodeRedUrl() + "/count").build();
+        try (final var response = client.newCall(request).execute()) {
+            assertEquals(41, objectMapper.readTree(response.body().bytes()).get("count").asInt());
+        }
+        nodeRedContainer.inject(INJECT_NODE_ID);
+        Awaitility.await().atMost(Duration.ofSeconds(10)).until(() -> Integer.valueOf(42).equals(nodeRedContainer.exportContext().getGlobalValues().get("count")));
+        final var contextSnapshot = nodeRedContainer.exportContext();
+        assertEquals(LOOKUP_TABLE.size() + 1, contextSnapshot.getGlobalValues().size());
+        assertEquals(Map.of("index", 4999), contextSnapshot.getGlobalValues().get("code-4999"));
+        assertEquals("seeded", contextSnapshot.getFlowContexts().get(FLOW_ID).get("label"));
+    }
+}
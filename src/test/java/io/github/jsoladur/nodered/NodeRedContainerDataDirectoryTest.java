@@ -0,0 +1,69 @@
+package io.github.jsoladur.nodered;
+
+import io.github.jsoladur.nodered.vo.Settings;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.shaded.okhttp3.OkHttpClient;
+import org.testcontainers.shaded.okhttp3.Request;
+
+import java.util.List;
+import java.util.Map;
+
+import static io.github.jsoladur.nodered.utils.NodeRedConstants.FINGERPRINT_FILE_NAME;
+import static io.github.jsoladur.nodered.utils.NodeRedConstants.FLOWS_CRED_JSON_FILE_NAME;
+import static io.github.jsoladur.nodered.utils.NodeRedConstants.FLOWS_JSON_FILE_NAME;
+import static io.github.jsoladur.nodered.utils.NodeRedConstants.SETTINGS_JS_FILE_NAME;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Slf4j
+class NodeRedContainerDataDirectoryTest {
+
+    private final OkHttpClient client = new OkHttpClient.Builder().build();
+
+    @Test
+    void singleTarArchiveCopyTest() {
+        try (final var nodeRedContainer = newNodeRedContainer()) {
+            nodeRedContainer.start();
+            assertDataFiles(nodeRedContainer);
+        }
+    }
+
+    @Test
+    void bindMountTest() {
+        try (final var nodeRedContainer = newNodeRedContainer().withDataDirectoryBindMount(true)) {
+            nodeRedContainer.start();
+            assertDataFiles(nodeRedContainer);
+            assertEquals(1, nodeRedContainer.getBinds().size());
+            nodeRedContainer.stop();
+            // XXX: The bind mount of the first start is replaced, otherwise Docker rejects the duplicate /data mount point
+            nodeRedContainer.start();
+            assertDataFiles(nodeRedContainer);
+            assertEquals(1, nodeRedContainer.getBinds().size());
+        }
+    }
+
+    private NodeRedContainer newNodeRedContainer() {
+        return new NodeRedContainer()
+                .withFlowsJson("inject/flows.json")
+                .withFlowsCredentials(Map.of("0b7d2c3e4f5a6b71", Map.of("user", "root")))
+                .withSettings(Settings.builder().build())
+                .withNodeRedCredentialSecret("my_cool_secret")
+                .withValidateThirdPartyLibraryNodesDependencies(false);
+    }
+
+    @SneakyThrows
+    private void assertDataFiles(NodeRedContainer nodeRedContainer) {
+        final var result = nodeRedContainer.execInContainer("ls", "-a", "/data");
+        log.info("/data directory = {}", result.getStdout());
+        final var dataFiles = List.of(result.getStdout().split("\\s+"));
+        assertTrue(dataFiles.containsAll(List.of(FLOWS_JSON_FILE_NAME, FLOWS_CRED_JSON_FILE_NAME, SETTINGS_JS_FILE_NAME, FINGERPRINT_FILE_NAME)));
+        Request request = new Request.Builder()
+                .url(nodeRedContainer.getNodeRedUrl() + "/count")
+                .build();
+        try (final var response = client.newCall(request).execute()) {
+            assertEquals(200, response.code());
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package io.github.jsoladur.nodered;
+
+import io.github.jsoladur.nodered.vo.DebugMessage;
+import io.github.jsoladur.nodered.vo.LogEntry;
+import io.github.jsoladur.nodered.vo.RuntimeEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.shaded.org.awaitility.Awaitility;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Flow;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Slf4j
+@Testcontainers
+class NodeRedContainerEventStreamsTest {
+
+    static final String INJECT_NODE_ID = "2c4e6a8b0d1f3e51";
+    static final String DEBUG_NODE_ID = "6b8d0f2a4c5e7b93";
+
+    @Container
+    static final NodeRedContainer nodeRedContainer =
+            new NodeRedContainer()
+                    .withFlowsJson("events/flows.json");
+
+    @BeforeAll
+    static void beforeAll() {
+        log.info("NODE-RED url = {}", nodeRedContainer.getNodeRedUrl());
+    }
+
+    @AfterAll
+    static void afterAll() {
+        nodeRedContainer.close();
+    }
+
+    @Test
+    void eventStreamsTest() {
+        final var logEntries = new CollectingSubscriber<LogEntry>();
+        final var runtimeEvents = new CollectingSubscriber<RuntimeEvent>();
+        final var debugMessages = new CollectingSubscriber<DebugMessage>();
+        nodeRedContainer.getLogEntries().subscribe(logEntries);
+        nodeRedContainer.getRuntimeEvents().subscribe(runtimeEvents);
+        nodeRedContainer.getDebugMessages().subscribe(debugMessages);
+        nodeRedContainer.deployFlows("events/flows.json");
+        Awaitility.await().atMost(Duration.ofSeconds(10)).until(() -> runtimeEvents.items.stream()
+                .anyMatch(runtimeEvent -> runtimeEvent.getType() == RuntimeEvent.Type.FLOWS_STARTED));
+        Awaitility.await().atMost(Duration.ofSeconds(10)).until(() -> {
+            nodeRedContainer.inject(INJECT_NODE_ID);
+            return !debugMessages.items.isEmpty();
+        });
+        Awaitility.await().atMost(Duration.ofSeconds(10)).until(() -> runtimeEvents.items.stream()
+                .anyMatch(runtimeEvent -> runtimeEvent.getType() == RuntimeEvent.Type.NODE_ERROR));
+        final var nodeError = runtimeEvents.items.stream()
+                .filter(runtimeEvent -> runtimeEvent.getType() == RuntimeEvent.Type.NODE_ERROR).findFirst().orElseThrow();
+        assertEquals("function", nodeError.getLogEntry().getNodeType());
+        assertEquals("failing", nodeError.getLogEntry().getNodeName());
+        assertTrue(nodeError.getLogEntry().getMessage().contains("boom"));
+        assertEquals(DEBUG_NODE_ID, debugMessages.items.get(0).getId());
+        assertEquals("ping", debugMessages.items.get(0).getMsg());
+        assertTrue(logEntries.items.stream().anyMatch(logEntry -> "info".equals(logEntry.getLevel())));
+    }
+
+    static class CollectingSubscriber<T> implements Flow.Subscriber<T> {
+
+        final List<T> items = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(T item) {
+            items.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            log.error("Event stream failed", throwable);
+        }
+
+        @Override
+        public void onComplete() {
+        }
+    }
+}
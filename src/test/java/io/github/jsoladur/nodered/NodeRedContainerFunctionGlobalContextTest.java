@@ -0,0 +1,81 @@
+package io.github.jsoladur.nodered;
+
+import io.github.jsoladur.nodered.vo.FunctionGlobalContext;
+import io.github.jsoladur.nodered.vo.Settings;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.shaded.com.fasterxml.jackson.databind.ObjectMapper;
+import org.testcontainers.shaded.okhttp3.OkHttpClient;
+import org.testcontainers.shaded.okhttp3.Request;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Slf4j
+@Testcontainers
+class NodeRedContainerFunctionGlobalContextTest {
+
+    static final FunctionGlobalContext FUNCTION_GLOBAL_CONTEXT = FunctionGlobalContext
+            .builder()
+            .value("countries", Map.of("ES", "Spain", "GB", "United Kingdom", "JP", "Japan", "US", "United States"))
+            .file("currencies", "globalcontext/currencies.json")
+            .build();
+
+    @Container
+    static final NodeRedContainer nodeRedContainer =
+            new NodeRedContainer()
+                    .withFlowsJson("globalcontext/flows.json")
+                    .withSettings(Settings.builder().build(), FUNCTION_GLOBAL_CONTEXT);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeAll
+    static void beforeAll() {
+        log.info("NODE-RED url = {}", nodeRedContainer.getNodeRedUrl());
+    }
+
+    @AfterAll
+    static void afterAll() {
+        nodeRedContainer.close();
+    }
+
+    @Test
+    void preloadedGlobalContextTest() {
+        assertPreloadedGlobalContext(nodeRedContainer);
+        final var settingsJs = nodeRedContainer.copyFileFromContainer("/data/settings.js",
+                is -> new String(is.readAllBytes(), StandardCharsets.UTF_8));
+        // XXX: The global context is set once, by the statement appended to settings.js
+        assertEquals(settingsJs.indexOf("functionGlobalContext"), settingsJs.lastIndexOf("functionGlobalContext"));
+    }
+
+    @Test
+    void bindMountTest() {
+        try (final var bindMountNodeRedContainer = new NodeRedContainer()
+                .withFlowsJson("globalcontext/flows.json")
+                .withSettings(Settings.builder().build(), FUNCTION_GLOBAL_CONTEXT)
+                .withDataDirectoryBindMount(true)) {
+            bindMountNodeRedContainer.start();
+            assertPreloadedGlobalContext(bindMountNodeRedContainer);
+        }
+    }
+
+    @SneakyThrows
+    private void assertPreloadedGlobalContext(NodeRedContainer nodeRedContainer) {
+        final var client = new OkHttpClient.Builder().build();
+        final var request = new Request.Builder()
+                .url(nodeRedContainer.getNodeRedUrl() + "/countries/ES")
+                .build();
+        try (final var response = client.newCall(request).execute()) {
+            final var country = objectMapper.readTree(response.body().bytes());
+            assertEquals("Spain", country.get("name").asText());
+            assertEquals("EUR", country.get("currency").asText());
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package io.github.jsoladur.nodered;
+
+import io.github.jsoladur.nodered.vo.BulkInjection;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.shaded.com.fasterxml.jackson.databind.ObjectMapper;
+import org.testcontainers.shaded.okhttp3.OkHttpClient;
+import org.testcontainers.shaded.okhttp3.Request;
+import org.testcontainers.shaded.org.awaitility.Awaitility;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@Slf4j
+@Testcontainers
+class NodeRedContainerInjectTest {
+
+    static final String INJECT_NODE_ID = "0b7d2c3e4f5a6b71";
+
+    @Container
+    static final NodeRedContainer nodeRedContainer =
+            new NodeRedContainer()
+                    .withFlowsJson("inject/flows.json");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeAll
+    static void beforeAll() {
+        log.info("NODE-RED url = {}", nodeRedContainer.getNodeRedUrl());
+    }
+
+    @AfterAll
+    static void afterAll() {
+        nodeRedContainer.close();
+    }
+
+    @Test
+    @SneakyThrows
+    void bulkInjectionTest() {
+        final long countBefore = getCount();
+        nodeRedContainer.inject(INJECT_NODE_ID);
+        final var report = nodeRedContainer.inject(BulkInjection
+                .builder()
+                .nodeId(INJECT_NODE_ID)
+                .count(500)
+                .ratePerSecond(1000)
+                .concurrency(16)
+                .build());
+        log.info("Bulk injection report = {}", report);
+        assertFalse(report.hasFailures());
+        assertEquals(500, report.getSucceeded());
+        // XXX: The inject admin endpoint answers before the flow has processed the message
+        Awaitility.await().atMost(Duration.ofSeconds(10)).until(() -> getCount() == countBefore + 501);
+    }
+
+    @Test
+    void unknownInjectNodeTest() {
+        assertThrows(IllegalStateException.class, () -> nodeRedContainer.inject("unknown"));
+    }
+
+    @SneakyThrows
+    private long getCount() {
+        final var client = new OkHttpClient.Builder().build();
+        Request request = new Request.Builder()
+                .url(nodeRedContainer.getNodeRedUrl() + "/count")
+                .build();
+        final var response = client.newCall(request).execute();
+        return objectMapper.readTree(response.body().bytes()).get("count").asLong();
+    }
+}
@@ -0,0 +1,61 @@
+package io.github.jsoladur.nodered;
+
+import io.github.jsoladur.nodered.vo.BulkInjection;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Slf4j
+@Testcontainers
+class NodeRedContainerProfilingTest {
+
+    static final String INJECT_NODE_ID = "5d7f9b1c3e4a6c88";
+    static final String FUNCTION_NODE_ID = "6e8a0c2d4f5b7d99";
+
+    @Container
+    static final NodeRedContainer nodeRedContainer =
+            new NodeRedContainer()
+                    .withFlowsJson("profiling/flows.json")
+                    .withProfiling();
+
+    @BeforeAll
+    static void beforeAll() {
+        log.info("NODE-RED url = {}, inspector url = {}", nodeRedContainer.getNodeRedUrl(), nodeRedContainer.getInspectorUrl());
+    }
+
+    @AfterAll
+    static void afterAll() {
+        nodeRedContainer.close();
+    }
+
+    @Test
+    void profileTest() {
+        final var cpuProfileFile = Path.of("target", "profiling", "inject.cpuprofile");
+        final var report = nodeRedContainer.profile(() -> nodeRedContainer.inject(BulkInjection
+                .builder()
+                .nodeId(INJECT_NODE_ID)
+                .count(200)
+                .ratePerSecond(100)
+                .build()), cpuProfileFile);
+        assertTrue(Files.exists(cpuProfileFile));
+        assertTrue(report.getSamples() > 0);
+        final var hottestFunction = report.getTopFunctions().get(0);
+        assertEquals("fibonacci", hottestFunction.getFunctionName());
+        assertEquals(FUNCTION_NODE_ID, hottestFunction.getNodeId());
+    }
+
+    @Test
+    void cpuProfileFileExtensionTest() {
+        assertThrows(IllegalArgumentException.class, () -> nodeRedContainer.profile(() -> {}, Path.of("target", "profiling", "inject.json")));
+    }
+}
@@ -0,0 +1,107 @@
+package io.github.jsoladur.nodered;
+
+import io.github.jsoladur.nodered.vo.Settings;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.shaded.okhttp3.OkHttpClient;
+import org.testcontainers.shaded.okhttp3.Request;
+import org.testcontainers.utility.TestcontainersConfiguration;
+
+import java.util.UUID;
+
+import static io.github.jsoladur.nodered.utils.NodeRedConstants.FINGERPRINT_LABEL;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+@Slf4j
+@Testcontainers
+class NodeRedContainerReuseTest {
+
+    @Container
+    static final NodeRedContainer nodeRedContainer =
+            new NodeRedContainer()
+                    .withFlowsJson("inject/flows.json")
+                    .withSettings(Settings.builder().build())
+                    .withReuse(true);
+
+    @BeforeAll
+    static void beforeAll() {
+        log.info("NODE-RED url = {}", nodeRedContainer.getNodeRedUrl());
+    }
+
+    @AfterAll
+    static void afterAll() {
+        nodeRedContainer.close();
+    }
+
+    @Test
+    @SneakyThrows
+    void reusableContainerTest() {
+        assertNotNull(nodeRedContainer.getLabels().get(FINGERPRINT_LABEL));
+        final var client = new OkHttpClient.Builder().build();
+        Request request = new Request.Builder()
+                .url(nodeRedContainer.getNodeRedUrl() + "/count")
+                .build();
+        try (final var response = client.newCall(request).execute()) {
+            assertEquals(200, response.code());
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    void reusedContainerTest() {
+        assumeTrue(TestcontainersConfiguration.getInstance().environmentSupportsReuse(), "testcontainers.reuse.enable must be true");
+        // XXX: Unique env value, so neither the shared container nor a container of a previous run is reused
+        final var runId = UUID.randomUUID().toString();
+        final var firstContainer = new NodeRedContainer()
+                .withFlowsJson("inject/flows.json")
+                .withSettings(Settings.builder().build())
+                .withEnv("REUSE_TEST_RUN_ID", runId)
+                .withReuse(true);
+        final var secondContainer = new NodeRedContainer()
+                .withFlowsJson("events/flows.json")
+                .withSettings(Settings.builder().build())
+                .withEnv("REUSE_TEST_RUN_ID", runId)
+                .withReuse(true);
+        try {
+            firstContainer.start();
+            assertFalse(firstContainer.isReused());
+            secondContainer.start();
+            assertTrue(secondContainer.isReused());
+            assertEquals(firstContainer.getContainerId(), secondContainer.getContainerId());
+            // XXX: The flows are the only delta, so they were copied and reloaded
+            final var flows = secondContainer.getAdminClient().getFlows().get();
+            assertTrue(flows.getFlows().stream().anyMatch(node -> "7e3a9c1d5b2f4a60".equals(node.get("id"))));
+            assertTrue(flows.getFlows().stream().noneMatch(node -> "inject".equals(node.get("type")) &&
+                    "0b7d2c3e4f5a6b71".equals(node.get("id"))));
+        } finally {
+            secondContainer.stop();
+            firstContainer.stop();
+        }
+    }
+
+    @Test
+    void configurationFingerprintTest() {
+        final var fingerprint = new NodeRedContainer()
+                .withFlowsJson("inject/flows.json")
+                .withSettings(Settings.builder().build())
+                .getConfigurationFingerprint();
+        assertEquals(fingerprint, new NodeRedContainer()
+                .withFlowsJson("inject/flows.json")
+                .withSettings(Settings.builder().build())
+                .getConfigurationFingerprint());
+        assertNotEquals(fingerprint, new NodeRedContainer()
+                .withFlowsJson("jsonplaceholder/flows.json")
+                .withSettings(Settings.builder().build())
+                .getConfigurationFingerprint());
+    }
+}
@@ -0,0 +1,74 @@
+package io.github.jsoladur.nodered;
+
+import lombok.SneakyThrows;
+import io.github.jsoladur.nodered.vo.Settings;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.shaded.com.fasterxml.jackson.databind.ObjectMapper;
+import org.testcontainers.shaded.okhttp3.OkHttpClient;
+import org.testcontainers.shaded.okhttp3.Request;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Slf4j
+class NodeRedContainerWarmedImageTest {
+
+    // XXX: Unique configuration per run, so the first container never finds a warmed image of a previous run
+    static final String RUN_ID = UUID.randomUUID().toString();
+    static final List<String> warmedImageNames = new ArrayList<>();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @AfterAll
+    static void afterAll() {
+        warmedImageNames.forEach(warmedImageName ->
+                DockerClientFactory.instance().client().removeImageCmd(warmedImageName).withForce(true).exec());
+    }
+
+    @Test
+    void warmedImageTest() {
+        assertWarmedStart(null);
+    }
+
+    @Test
+    void warmedImageWithThroughputPresetTest() {
+        // XXX: The preset logs at the warn level, so the warmed start can't rely on the "Started flows" line
+        assertWarmedStart(Settings.throughput().build());
+    }
+
+    @SneakyThrows
+    private void assertWarmedStart(Settings settings) {
+        try (final var coldNodeRedContainer = newNodeRedContainer(settings)) {
+            coldNodeRedContainer.start();
+            assertFalse(coldNodeRedContainer.isStartedFromWarmedImage());
+            warmedImageNames.add("node-red-testcontainers-warmed:" + coldNodeRedContainer.getConfigurationFingerprint());
+        }
+        try (final var warmedNodeRedContainer = newNodeRedContainer(settings)) {
+            final long start = System.nanoTime();
+            warmedNodeRedContainer.start();
+            log.info("Warmed container ready in {} ms", (System.nanoTime() - start) / 1_000_000);
+            assertTrue(warmedNodeRedContainer.isStartedFromWarmedImage());
+            final var request = new Request.Builder().url(warmedNodeRedContainer.getNodeRedUrl() + "/count").build();
+            try (final var response = new OkHttpClient().newCall(request).execute()) {
+                assertEquals(200, response.code());
+                objectMapper.readTree(response.body().bytes());
+            }
+        }
+    }
+
+    private NodeRedContainer newNodeRedContainer(Settings settings) {
+        return new NodeRedContainer()
+                .withFlowsJson("inject/flows.json")
+                .withSettings(settings)
+                .withEnv("WARMED_IMAGE_TEST_RUN_ID", RUN_ID)
+                .withWarmedImage(true);
+    }
+}
@@ -0,0 +1,56 @@
+package io.github.jsoladur.nodered.benchmark;
+
+import io.github.jsoladur.nodered.NodeRedContainer;
+import io.github.jsoladur.nodered.vo.RegressionReport;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Slf4j
+@Testcontainers
+class NodeRedEndpointBenchmarkTest {
+
+    @Container
+    static final NodeRedContainer nodeRedContainer =
+            new NodeRedContainer()
+                    .withFlowsJson("scenarios/echo.json");
+
+    @AfterAll
+    static void afterAll() {
+        nodeRedContainer.close();
+    }
+
+    @Test
+    void endpointBenchmarkTest() {
+        final var result = NodeRedEndpointBenchmark.builder()
+                .nodeRedContainer(nodeRedContainer)
+                .method("POST")
+                .path("/echo")
+                .body("{\"ping\":true}")
+                .requests(500)
+                .warmUpRequests(50)
+                .concurrency(4)
+                .build()
+                .run();
+        log.info("Endpoint benchmark result = {}, p99 = {} us", result, result.getP99Micros());
+        assertEquals("POST /echo", result.getName());
+        assertEquals(500, result.getLatencyMicros().length);
+        assertTrue(result.getThroughputPerSecond() > 0);
+        // XXX: A baseline recorded on another machine isn't comparable, so this test records its own baseline out of the repository
+        final var baselineFile = Path.of("target", "performance-baseline", System.nanoTime() + ".json");
+        RegressionGate.builder().baselineFile(baselineFile).updateBaseline(true).build().assertNoRegression(result);
+        final var report = RegressionGate.builder()
+                .baselineFile(baselineFile)
+                .updateBaseline(false)
+                .build()
+                .assertNoRegression(result);
+        assertEquals(RegressionReport.Verdict.PASS, report.getComparisons().get(0).getVerdict());
+    }
+}
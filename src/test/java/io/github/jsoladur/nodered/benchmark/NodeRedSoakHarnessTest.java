@@ -0,0 +1,85 @@
+package io.github.jsoladur.nodered.benchmark;
+
+import io.github.jsoladur.nodered.NodeRedContainer;
+import io.github.jsoladur.nodered.vo.BulkInjection;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Slf4j
+@Testcontainers
+class NodeRedSoakHarnessTest {
+
+    static final String INJECT_NODE_ID = "8a0c2e4f6b7d9a13";
+    static final String STEADY_INJECT_NODE_ID = "c2e4a6b8d0f1a357";
+
+    @Container
+    static final NodeRedContainer nodeRedContainer =
+            new NodeRedContainer()
+                    .withFlowsJson("soak/flows.json")
+                    .withProfiling();
+
+    @AfterAll
+    static void afterAll() {
+        nodeRedContainer.close();
+    }
+
+    @Test
+    void leakDetectionTest() {
+        final var harness = NodeRedSoakHarness.builder()
+                .nodeRedContainer(nodeRedContainer)
+                .workload(container -> container.inject(BulkInjection.builder()
+                        .nodeId(INJECT_NODE_ID)
+                        .count(50)
+                        .ratePerSecond(100)
+                        .build()))
+                .duration(Duration.ofSeconds(20))
+                .sampleInterval(Duration.ofSeconds(1))
+                .warmUp(Duration.ofSeconds(2))
+                .failOnLeak(true)
+                .build();
+        final var exception = assertThrows(IllegalStateException.class, harness::run);
+        log.info("Soak test failed as expected: {}", exception.getMessage());
+    }
+
+    @Test
+    void noLeakTest() {
+        final var report = NodeRedSoakHarness.builder()
+                .nodeRedContainer(nodeRedContainer)
+                .workload(container -> container.inject(BulkInjection.builder()
+                        .nodeId(STEADY_INJECT_NODE_ID)
+                        .count(50)
+                        .ratePerSecond(100)
+                        .build()))
+                .duration(Duration.ofSeconds(20))
+                .sampleInterval(Duration.ofSeconds(1))
+                .warmUp(Duration.ofSeconds(2))
+                .build()
+                .run();
+        log.info("Retained heap trend of a steady flow = {}", report.getHeapUsedTrend());
+        assertFalse(report.isLeakDetected());
+    }
+
+    @Test
+    void reportTest() {
+        final var report = NodeRedSoakHarness.builder()
+                .nodeRedContainer(nodeRedContainer)
+                .workload(container -> container.inject(INJECT_NODE_ID))
+                .duration(Duration.ofSeconds(5))
+                .sampleInterval(Duration.ofSeconds(1))
+                .build()
+                .run();
+        assertEquals(0, report.getSamplingFailures());
+        assertTrue(report.getSamples().size() >= 5);
+        assertTrue(report.getWorkloadIterations() > 0);
+    }
+}
@@ -0,0 +1,52 @@
+package io.github.jsoladur.nodered.benchmark;
+
+import io.github.jsoladur.nodered.vo.Settings;
+import io.github.jsoladur.nodered.vo.StartupBenchmarkResult.StartType;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Slf4j
+class NodeRedStartupBenchmarkTest {
+
+    @Test
+    void startupBenchmarkTest() {
+        final var report = NodeRedStartupBenchmark.builder()
+                .settingsPreset("default", Settings.builder().build())
+                .settingsPreset("throughput", Settings.throughput().build())
+                .flowsJson("jsonplaceholder/flows.json")
+                .firstRequestPath("/posts")
+                .coldStarts(1)
+                .warmStarts(1)
+                .idleDuration(Duration.ofSeconds(1))
+                .build()
+                .run();
+        log.info("Startup benchmark summaries = {}", report.getSummaries());
+        assertEquals(4, report.getResults().size());
+        assertEquals(2, report.getResults().stream().filter(result -> result.getStartType() == StartType.WARM).count());
+        report.getResults().forEach(result -> assertTrue(result.getTimeToFirstRequestMillis() >= result.getTimeToReadyMillis()));
+        final var directory = Path.of("target", "startup-benchmark");
+        StartupBenchmarkReportWriter.write(report, directory);
+        assertTrue(Files.exists(directory.resolve(StartupBenchmarkReportWriter.HTML_REPORT_FILE_NAME)));
+    }
+
+    @Test
+    void defaultMatrixTest() {
+        final var report = NodeRedStartupBenchmark.builder()
+                .coldStarts(1)
+                .warmStarts(0)
+                .idleDuration(Duration.ofSeconds(1))
+                .build()
+                .run();
+        assertEquals(1, report.getResults().size());
+        assertEquals("none", report.getResults().get(0).getModuleSet());
+        assertEquals("default", report.getResults().get(0).getSettingsPreset());
+        assertEquals(StartType.COLD, report.getResults().get(0).getStartType());
+    }
+}
@@ -0,0 +1,78 @@
+package io.github.jsoladur.nodered.benchmark;
+
+import io.github.jsoladur.nodered.vo.PerformanceResult;
+import io.github.jsoladur.nodered.vo.RegressionReport;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RegressionGateTest {
+
+    static final Path STORED_BASELINE_FILE = Path.of("src", "test", "resources", "regression", "performance-baseline.json");
+
+    @Test
+    void mannWhitneyUTest() {
+        assertEquals(0.006093, MannWhitneyU.greaterPValue(new long[]{6, 7, 8, 9, 10}, new long[]{1, 2, 3, 4, 5}), 0.00001);
+        assertEquals(0.5, MannWhitneyU.upperTailProbability(0), 0.0000001);
+        assertEquals(1d, MannWhitneyU.greaterPValue(new long[]{5, 5, 5}, new long[]{5, 5}));
+        assertTrue(MannWhitneyU.greaterPValue(new long[]{1, 2, 3, 4, 5}, new long[]{6, 7, 8, 9, 10}) > 0.99);
+    }
+
+    @Test
+    @SneakyThrows
+    void regressionGateTest() {
+        final var baselineFile = Files.createTempDirectory("node-red-baseline-").resolve("performance-baseline.json");
+        final var baseline = result("GET /posts", 10_000, Duration.ofSeconds(10));
+        RegressionGate.builder().baselineFile(baselineFile).updateBaseline(true).build().assertNoRegression(baseline);
+        assertTrue(Files.exists(baselineFile));
+        assertFalse(Files.readString(baselineFile).contains("p99Micros"));
+        final var regressionGate = RegressionGate.builder().baselineFile(baselineFile).updateBaseline(false).build();
+        final var report = regressionGate.assertNoRegression(result("GET /posts", 10_100, Duration.ofSeconds(10)),
+                result("GET /count", 5_000, Duration.ofSeconds(5)));
+        assertFalse(report.hasRegressions());
+        assertEquals(RegressionReport.Verdict.PASS, report.getComparisons().get(0).getVerdict());
+        assertEquals(RegressionReport.Verdict.NEW, report.getComparisons().get(1).getVerdict());
+        final var assertionError = assertThrows(AssertionError.class,
+                () -> regressionGate.assertNoRegression(result("GET /posts", 15_000, Duration.ofSeconds(15))));
+        assertTrue(assertionError.getMessage().contains("| GET /posts | REGRESSION"));
+        final var comparison = regressionGate.compare(List.of(result("GET /posts", 15_000, Duration.ofSeconds(15)))).getComparisons().get(0);
+        assertEquals(3, comparison.getReasons().size());
+    }
+
+    @Test
+    void storedBaselineTest() {
+        final var regressionGate = RegressionGate.builder().baselineFile(STORED_BASELINE_FILE).updateBaseline(false).build();
+        final var report = regressionGate.assertNoRegression(
+                PerformanceResult.of("GET /posts", LongStream.range(0, 100).map(i -> 9_960 + i).toArray(), Duration.ofSeconds(1)));
+        assertEquals(RegressionReport.Verdict.PASS, report.getComparisons().get(0).getVerdict());
+        assertEquals(9_999, report.getComparisons().get(0).getBaselineP50Micros());
+        assertThrows(AssertionError.class, () -> regressionGate.assertNoRegression(
+                PerformanceResult.of("GET /posts", LongStream.range(0, 100).map(i -> 12_000 + i).toArray(), Duration.ofSeconds(1))));
+    }
+
+    @Test
+    void missingBaselineTest() {
+        final var regressionGate = RegressionGate.builder()
+                .baselineFile(STORED_BASELINE_FILE.resolveSibling("missing-baseline.json"))
+                .updateBaseline(false)
+                .build();
+        assertThrows(IllegalStateException.class, () -> regressionGate.assertNoRegression(result("GET /posts", 10_000, Duration.ofSeconds(10))));
+    }
+
+    /**
+     * <p>1000 latencies spread around the given median</p>
+     */
+    private static PerformanceResult result(String name, long medianMicros, Duration elapsed) {
+        return PerformanceResult.of(name, LongStream.range(0, 1000).map(i -> medianMicros - 500 + i).toArray(), elapsed);
+    }
+}
@@ -0,0 +1,60 @@
+package io.github.jsoladur.nodered.benchmark;
+
+import io.github.jsoladur.nodered.vo.StartupBenchmarkReport;
+import io.github.jsoladur.nodered.vo.StartupBenchmarkResult;
+import io.github.jsoladur.nodered.vo.StartupBenchmarkResult.StartType;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.shaded.com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.nio.file.Files;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StartupBenchmarkReportWriterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @SneakyThrows
+    void writeTest() {
+        final var report = StartupBenchmarkReport.builder()
+                .startedAt("2022-03-01T10:00:00Z")
+                .elapsedMillis(60000)
+                .result(result(StartType.COLD, 1, 4200, 4300))
+                .result(result(StartType.COLD, 2, 3900, 4000))
+                .result(result(StartType.COLD, 3, 4100, 4150))
+                .result(result(StartType.WARM, 1, 1500, 1550))
+                .result(result(StartType.WARM, 2, 1300, 1350))
+                .build();
+        final var summaries = report.getSummaries();
+        assertEquals(2, summaries.size());
+        assertEquals(StartType.COLD, summaries.get(0).getStartType());
+        assertEquals(3900, summaries.get(0).getTimeToReadyMillis().getMin());
+        assertEquals(4100, summaries.get(0).getTimeToReadyMillis().getMedian());
+        assertEquals(4200, summaries.get(0).getTimeToReadyMillis().getMax());
+        assertEquals(1400, summaries.get(1).getTimeToReadyMillis().getMedian());
+
+        final var directory = Files.createTempDirectory("startup-benchmark");
+        StartupBenchmarkReportWriter.write(report, directory);
+        final var json = objectMapper.readTree(directory.resolve(StartupBenchmarkReportWriter.JSON_REPORT_FILE_NAME).toFile());
+        assertEquals(5, json.get("results").size());
+        assertEquals(1450, json.at("/summaries/1/timeToFirstRequestMillis/median").asLong());
+        final var html = Files.readString(directory.resolve(StartupBenchmarkReportWriter.HTML_REPORT_FILE_NAME));
+        assertTrue(html.contains("<td>3900 / 4100 / 4200</td>"));
+    }
+
+    private static StartupBenchmarkResult result(StartType startType, int repetition, long timeToReadyMillis, long timeToFirstRequestMillis) {
+        return StartupBenchmarkResult.builder()
+                .dockerImageName("nodered/node-red:2.2.0")
+                .settingsPreset("throughput")
+                .moduleSet("none")
+                .startType(startType)
+                .repetition(repetition)
+                .timeToReadyMillis(timeToReadyMillis)
+                .timeToFirstRequestMillis(timeToFirstRequestMillis)
+                .idleRssBytes(64L * 1024 * 1024)
+                .build();
+    }
+}
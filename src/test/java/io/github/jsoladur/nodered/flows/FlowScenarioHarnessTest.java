@@ -0,0 +1,60 @@
+package io.github.jsoladur.nodered.flows;
+
+import io.github.jsoladur.nodered.NodeRedContainer;
+import io.github.jsoladur.nodered.vo.FlowScenario;
+import io.github.jsoladur.nodered.vo.ScenarioRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Slf4j
+@Testcontainers
+class FlowScenarioHarnessTest {
+
+    static final int SCENARIOS = 10;
+
+    @Container
+    static final NodeRedContainer nodeRedContainer = new NodeRedContainer();
+
+    @AfterAll
+    static void afterAll() {
+        nodeRedContainer.close();
+    }
+
+    @Test
+    void scenariosTest() {
+        final var harness = FlowScenarioHarness.builder()
+                .nodeRedContainer(nodeRedContainer)
+                .scenarios(IntStream.range(0, SCENARIOS).mapToObj(i -> FlowScenario.builder()
+                        .name("Echo " + i)
+                        .flowsJson("scenarios/echo.json")
+                        .request(ScenarioRequest.builder().method("POST").path("/echo").body("{\"scenario\":" + i + "}").build())
+                        .build()).collect(Collectors.toList()))
+                .scenario(FlowScenario.builder()
+                        .name("Missing endpoint")
+                        .flowsJson("scenarios/echo.json")
+                        .request(ScenarioRequest.builder().path("/missing").build())
+                        .build())
+                .build();
+        final var results = harness.run();
+        log.info("Scenario results = {}", results);
+        assertEquals(SCENARIOS + 1, results.size());
+        for (int i = 0; i < SCENARIOS; i++) {
+            final var result = results.get(i);
+            assertEquals("echo-" + i, result.getNamespace());
+            assertTrue(result.isPassed());
+            assertEquals("{\"scenario\":" + i + "}", result.getRequestResults().get(0).getBody());
+        }
+        assertFalse(results.get(SCENARIOS).isPassed());
+        assertEquals(404, results.get(SCENARIOS).getRequestResults().get(0).getStatusCode());
+    }
+}
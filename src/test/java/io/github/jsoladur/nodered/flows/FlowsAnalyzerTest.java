@@ -0,0 +1,78 @@
+package io.github.jsoladur.nodered.flows;
+
+import io.github.jsoladur.nodered.vo.FlowsAnalysisReport;
+import io.github.jsoladur.nodered.vo.FlowsHazard;
+import io.github.jsoladur.nodered.vo.ThirdPartyLibraryNodesDependency;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static java.util.stream.Collectors.toList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Slf4j
+class FlowsAnalyzerTest {
+
+    static final Map<String, Set<String>> NODE_TYPES_MODULES = Map.of("MySQLdatabase", Set.of("node-red-node-mysql"), "mysql", Set.of("node-red-node-mysql"));
+
+    @Test
+    void hazardsTest() {
+        final var report = FlowsAnalyzer.builder()
+                .maxFanOut(2)
+                .nodeTypesModules(NODE_TYPES_MODULES)
+                .build()
+                .analyze("analyzer/flows_hazards.json");
+        log.info("Flows analysis report = {}", report);
+        assertEquals(8, report.getNodesCount());
+        assertEquals(List.of("f42f9fadae58e4bd"), nodeIdsOf(report, FlowsHazard.Type.MISSING_MODULE));
+        assertEquals(List.of("a3c5e7f9b1d2c471"), nodeIdsOf(report, FlowsHazard.Type.UNBOUNDED_FAN_OUT));
+        assertEquals(List.of("a3c5e7f9b1d2c471"), nodeIdsOf(report, FlowsHazard.Type.HEAVY_SYNCHRONOUS_LOOP));
+        assertEquals(List.of("a3c5e7f9b1d2c471"), nodeIdsOf(report, FlowsHazard.Type.MISSING_DONE));
+        assertEquals(Set.of("c5e7a9b1d3f4e691", "d6f8b0c2e4a5f7a1"), Set.copyOf(nodeIdsOf(report, FlowsHazard.Type.CYCLE)));
+        assertEquals(List.of("b4d6f8a0c2e3d581"), nodeIdsOf(report, FlowsHazard.Type.ACTIVE_DEBUG_ON_HOT_PATH));
+        assertTrue(report.hasHazards(FlowsHazard.Severity.ERROR));
+    }
+
+    @Test
+    void installedModulesTest() {
+        final var report = FlowsAnalyzer.builder()
+                .nodeTypesModules(NODE_TYPES_MODULES)
+                .thirdPartyLibraryNodesDependencies(Set.of(ThirdPartyLibraryNodesDependency.builder().module("node-red-node-mysql").build()))
+                .build()
+                .analyze("mariadb/flows.json");
+        log.info("Flows analysis report = {}", report);
+        assertFalse(report.hasHazards(FlowsHazard.Severity.WARNING));
+    }
+
+    @Test
+    void sharedNodeTypesTest() {
+        final Map<String, Set<String>> nodeTypesModules = Map.of(
+                "MySQLdatabase", Set.of("node-red-node-mysql", "node-red-contrib-mysql-alternative"),
+                "mysql", Set.of("node-red-node-mysql", "node-red-contrib-mysql-alternative"));
+        final var report = FlowsAnalyzer.builder()
+                .nodeTypesModules(nodeTypesModules)
+                .thirdPartyLibraryNodesDependencies(Set.of(ThirdPartyLibraryNodesDependency.builder().module("node-red-contrib-mysql-alternative").build()))
+                .build()
+                .analyze("mariadb/flows.json");
+        assertTrue(nodeIdsOf(report, FlowsHazard.Type.MISSING_MODULE).isEmpty());
+        final var missingModuleReport = FlowsAnalyzer.builder()
+                .nodeTypesModules(nodeTypesModules)
+                .build()
+                .analyze("mariadb/flows.json");
+        final var missingModule = missingModuleReport.getHazards().stream()
+                .filter(hazard -> hazard.getType() == FlowsHazard.Type.MISSING_MODULE).findFirst().orElseThrow();
+        assertTrue(missingModule.getMessage().contains("node-red-contrib-mysql-alternative, node-red-node-mysql"));
+    }
+
+    private List<String> nodeIdsOf(FlowsAnalysisReport report, FlowsHazard.Type type) {
+        return report.getHazards().stream()
+                .filter(hazard -> hazard.getType() == type)
+                .flatMap(hazard -> hazard.getNodeIds().stream())
+                .collect(toList());
+    }
+}
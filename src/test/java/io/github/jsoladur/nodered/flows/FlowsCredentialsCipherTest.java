@@ -0,0 +1,33 @@
+package io.github.jsoladur.nodered.flows;
+
+import lombok.SneakyThrows;
+import org.apache.commons.compress.utils.IOUtils;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class FlowsCredentialsCipherTest {
+
+    static final String CREDENTIAL_SECRET = "c49f73806be83ebe2f10dadec4bdcfce42e3964b4b58ce36d01551e0c51926ea";
+    static final Map<String, Map<String, String>> CREDENTIALS = Map.of("f42f9fadae58e4bd", Map.of("user", "test", "password", "my_cool_secret"));
+
+    @Test
+    @SneakyThrows
+    void decryptNodeRedFlowsCredJsonTest() {
+        try (final var is = this.getClass().getClassLoader().getResourceAsStream("mariadb/flows_cred.json")) {
+            final var flowsCredJson = new String(IOUtils.toByteArray(is), StandardCharsets.UTF_8);
+            assertEquals(CREDENTIALS, FlowsCredentialsCipher.decrypt(flowsCredJson, CREDENTIAL_SECRET));
+        }
+    }
+
+    @Test
+    void encryptTest() {
+        final var flowsCredJson = FlowsCredentialsCipher.encrypt(CREDENTIALS, CREDENTIAL_SECRET);
+        assertNotEquals(flowsCredJson, FlowsCredentialsCipher.encrypt(CREDENTIALS, CREDENTIAL_SECRET));
+        assertEquals(CREDENTIALS, FlowsCredentialsCipher.decrypt(flowsCredJson, CREDENTIAL_SECRET));
+    }
+}
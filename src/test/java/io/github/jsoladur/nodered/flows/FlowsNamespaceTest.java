@@ -0,0 +1,40 @@
+package io.github.jsoladur.nodered.flows;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class FlowsNamespaceTest {
+
+    @Test
+    void applyTest() {
+        final List<Map<String, Object>> flows = List.of(
+                Map.of("id", "tab1", "type", "tab", "label", "Flow 1"),
+                Map.of("id", "in1", "type", "http in", "z", "tab1", "url", "posts", "method", "get", "wires", List.of(List.of("sub1", "out1"))),
+                Map.of("id", "sub1", "type", "subflow:def1", "z", "tab1", "wires", List.of(List.of())),
+                Map.of("id", "out1", "type", "mysql", "z", "tab1", "mydb", "db1", "wires", List.of()),
+                Map.of("id", "def1", "type", "subflow", "name", "in1 helper"),
+                Map.of("id", "db1", "type", "MySQLdatabase", "host", "mariadb"));
+        final var namespacedFlows = FlowsNamespace.apply(flows, "posts");
+        assertEquals("posts-tab1", namespacedFlows.get(0).get("id"));
+        assertEquals("posts-tab1", namespacedFlows.get(1).get("z"));
+        assertEquals("/posts/posts", namespacedFlows.get(1).get("url"));
+        assertEquals(List.of(List.of("posts-sub1", "posts-out1")), namespacedFlows.get(1).get("wires"));
+        assertEquals("subflow:posts-def1", namespacedFlows.get(2).get("type"));
+        assertEquals("posts-db1", namespacedFlows.get(3).get("mydb"));
+        assertEquals("in1 helper", namespacedFlows.get(4).get("name"));
+        assertEquals("mariadb", namespacedFlows.get(5).get("host"));
+        assertEquals("in1", flows.get(1).get("id"));
+    }
+
+    @Test
+    void ofTest() {
+        assertEquals("posts-create-and-list", FlowsNamespace.of("Posts: create and list"));
+        assertThrows(IllegalArgumentException.class, () -> FlowsNamespace.of("???"));
+        assertThrows(IllegalArgumentException.class, () -> FlowsNamespace.apply(List.of(), "Not valid"));
+    }
+}
@@ -0,0 +1,50 @@
+package io.github.jsoladur.nodered.flows;
+
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.shaded.com.fasterxml.jackson.databind.JsonNode;
+import org.testcontainers.shaded.com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FlowsTemplateTest {
+
+    static final String FLOWS_TEMPLATE = "template/flows.json";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @SneakyThrows
+    void renderTest() {
+        final var flowsTemplate = FlowsTemplate.of(FLOWS_TEMPLATE);
+        assertTrue(flowsTemplate == FlowsTemplate.of(FLOWS_TEMPLATE));
+        assertEquals(Set.of("db.host", "db.port", "db.maxConnections", "query"), flowsTemplate.getPlaceholderNames());
+        final var flows = objectMapper.readTree(flowsTemplate.render(Map.of(
+                "db.host", "mariadb-8524a3c4-0e6e-419d-9f3e-f2dab71f40f4",
+                "db.port", 3306,
+                "db.maxConnections", 10,
+                "query", "'SELECT \"version\"() AS VERSION'")));
+        final JsonNode mySqlDatabase = flows.get(1);
+        assertEquals("mariadb-8524a3c4-0e6e-419d-9f3e-f2dab71f40f4", mySqlDatabase.get("host").asText());
+        assertEquals("3306", mySqlDatabase.get("port").asText());
+        assertEquals(10, mySqlDatabase.get("maxConnections").asInt());
+        assertEquals("msg.topic = 'SELECT \"version\"() AS VERSION'\nreturn msg;", flows.get(3).get("func").asText());
+    }
+
+    @Test
+    void missingValuesTest() {
+        final var flowsTemplate = FlowsTemplate.of(FLOWS_TEMPLATE);
+        assertThrows(IllegalArgumentException.class, () -> flowsTemplate.render(Map.of("db.host", "localhost")));
+    }
+
+    @Test
+    void environmentVariablesUntouchedTest() {
+        final var flowsTemplate = FlowsTemplate.compile("[{\"id\":\"#{id}\",\"url\":\"${BASE_URL}/posts\"}]");
+        assertEquals("[{\"id\":\"a\\\"b\",\"url\":\"${BASE_URL}/posts\"}]", new String(flowsTemplate.render(Map.of("id", "a\"b"))));
+    }
+}
@@ -0,0 +1,43 @@
+package io.github.jsoladur.nodered.internal.helpers;
+
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.shaded.com.fasterxml.jackson.databind.ObjectMapper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class CpuProfileAnalyzerTest {
+
+    static final String CPU_PROFILE = "{"
+            + "\"nodes\":["
+            + "{\"id\":1,\"callFrame\":{\"functionName\":\"(root)\",\"url\":\"\",\"lineNumber\":-1,\"columnNumber\":-1},\"children\":[2,3,5]},"
+            + "{\"id\":2,\"callFrame\":{\"functionName\":\"(idle)\",\"url\":\"\",\"lineNumber\":-1,\"columnNumber\":-1}},"
+            + "{\"id\":3,\"callFrame\":{\"functionName\":\"fibonacci\",\"url\":\"Function node:6e8a0c2d4f5b7d99 [hot]\",\"lineNumber\":0,\"columnNumber\":18},\"children\":[4]},"
+            + "{\"id\":4,\"callFrame\":{\"functionName\":\"fibonacci\",\"url\":\"Function node:6e8a0c2d4f5b7d99 [hot]\",\"lineNumber\":0,\"columnNumber\":18}},"
+            + "{\"id\":5,\"callFrame\":{\"functionName\":\"send\",\"url\":\"/usr/src/node-red/node_modules/@node-red/runtime/lib/nodes/Node.js\",\"lineNumber\":41,\"columnNumber\":2}}"
+            + "],"
+            + "\"startTime\":0,\"endTime\":1000,"
+            + "\"samples\":[2,3,4,4,5,2],"
+            + "\"timeDeltas\":[0,100,200,300,100,200]"
+            + "}";
+
+    @Test
+    @SneakyThrows
+    void analyzeTest() {
+        final var report = CpuProfileAnalyzer.analyze(new ObjectMapper().readTree(CPU_PROFILE), 10, null);
+        assertEquals(1000, report.getDurationMicros());
+        assertEquals(6, report.getSamples());
+        assertEquals(100, report.getIdleMicros());
+        assertEquals(2, report.getTopFunctions().size());
+        final var fibonacci = report.getTopFunctions().get(0);
+        assertEquals("fibonacci", fibonacci.getFunctionName());
+        assertEquals(600, fibonacci.getSelfMicros());
+        assertEquals(60, fibonacci.getSelfPercentage(), 0.001);
+        assertEquals("6e8a0c2d4f5b7d99", fibonacci.getNodeId());
+        assertEquals(1, fibonacci.getLineNumber());
+        final var send = report.getTopFunctions().get(1);
+        assertEquals(200, send.getSelfMicros());
+        assertNull(send.getNodeId());
+    }
+}
@@ -0,0 +1,124 @@
+package io.github.jsoladur.nodered.internal.helpers;
+
+import io.github.jsoladur.nodered.vo.LogEntry;
+import io.github.jsoladur.nodered.vo.RuntimeEvent;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.output.OutputFrame;
+import org.testcontainers.shaded.com.fasterxml.jackson.databind.ObjectMapper;
+import org.testcontainers.shaded.org.awaitility.Awaitility;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class NodeRedEventStreamsTest {
+
+    static final String STARTED_FLOWS_LINE = "19 Oct 09:21:50 - [info] Started flows";
+
+    @Test
+    void multipleSubscribersTest() {
+        final var eventStreams = new NodeRedEventStreams(new ObjectMapper(), 16);
+        final var firstLogEntries = new RequestingSubscriber<LogEntry>(Long.MAX_VALUE);
+        final var secondLogEntries = new RequestingSubscriber<LogEntry>(Long.MAX_VALUE);
+        final var runtimeEvents = new RequestingSubscriber<RuntimeEvent>(Long.MAX_VALUE);
+        eventStreams.getLogEntries().subscribe(firstLogEntries);
+        eventStreams.getLogEntries().subscribe(secondLogEntries);
+        eventStreams.getRuntimeEvents().subscribe(runtimeEvents);
+        eventStreams.accept(toOutputFrame("19 Oct 09:21:49 - [info] Starting flows\n" + STARTED_FLOWS_LINE + "\n"));
+        Awaitility.await().atMost(Duration.ofSeconds(5)).until(() -> firstLogEntries.items.size() == 2 &&
+                secondLogEntries.items.size() == 2 && runtimeEvents.items.size() == 2);
+        assertEquals("Started flows", firstLogEntries.items.get(1).getMessage());
+        assertEquals("Started flows", secondLogEntries.items.get(1).getMessage());
+        assertEquals(RuntimeEvent.Type.FLOWS_STARTED, runtimeEvents.items.get(1).getType());
+        eventStreams.close();
+        Awaitility.await().atMost(Duration.ofSeconds(5)).until(() -> firstLogEntries.completed.get() && secondLogEntries.completed.get());
+    }
+
+    @Test
+    @SneakyThrows
+    void backpressureTest() {
+        final var eventStreams = new NodeRedEventStreams(new ObjectMapper(), 2);
+        final var slowLogEntries = new RequestingSubscriber<LogEntry>(1);
+        eventStreams.getLogEntries().subscribe(slowLogEntries);
+        // XXX: One line is delivered and two are buffered, so the log stream waits for the slow subscriber
+        final var logStream = CompletableFuture.runAsync(() -> {
+            for (int i = 0; i < 10; i++) {
+                eventStreams.accept(toOutputFrame(STARTED_FLOWS_LINE));
+            }
+        });
+        Awaitility.await().atMost(Duration.ofSeconds(5)).until(() -> slowLogEntries.items.size() == 1);
+        Thread.sleep(500);
+        assertFalse(logStream.isDone());
+        assertEquals(1, slowLogEntries.items.size());
+        slowLogEntries.subscription.request(Long.MAX_VALUE);
+        logStream.get(5, TimeUnit.SECONDS);
+        Awaitility.await().atMost(Duration.ofSeconds(5)).until(() -> slowLogEntries.items.size() == 10);
+    }
+
+    @Test
+    @SneakyThrows
+    void closeWhilePublishingTest() {
+        final var eventStreams = new NodeRedEventStreams(new ObjectMapper(), 16);
+        final var closed = new AtomicBoolean();
+        final var outputFrame = toOutputFrame(String.join("\n", Collections.nCopies(100, STARTED_FLOWS_LINE)));
+        // XXX: The container stops while the log stream publishes, so the publishers are closed and replaced meanwhile
+        final var logStream = CompletableFuture.runAsync(() -> {
+            while (!closed.get()) {
+                eventStreams.getLogEntries().subscribe(new RequestingSubscriber<>(Long.MAX_VALUE));
+                eventStreams.accept(outputFrame);
+            }
+        });
+        for (int i = 0; i < 1000; i++) {
+            eventStreams.close();
+        }
+        closed.set(true);
+        assertDoesNotThrow(() -> logStream.get(5, TimeUnit.SECONDS));
+    }
+
+    private static OutputFrame toOutputFrame(String text) {
+        return new OutputFrame(OutputFrame.OutputType.STDOUT, text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static class RequestingSubscriber<T> implements Flow.Subscriber<T> {
+
+        final List<T> items = new CopyOnWriteArrayList<>();
+        final AtomicBoolean completed = new AtomicBoolean();
+        final long initialRequest;
+        volatile Flow.Subscription subscription;
+
+        RequestingSubscriber(long initialRequest) {
+            this.initialRequest = initialRequest;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(initialRequest);
+        }
+
+        @Override
+        public void onNext(T item) {
+            items.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+        }
+
+        @Override
+        public void onComplete() {
+            completed.set(true);
+        }
+    }
+}
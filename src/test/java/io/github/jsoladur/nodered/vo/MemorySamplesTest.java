@@ -0,0 +1,36 @@
+package io.github.jsoladur.nodered.vo;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MemorySamplesTest {
+
+    static final long MILLIS_PER_HOUR = 3_600_000;
+    static final long BYTES_PER_MEGABYTE = 1024 * 1024;
+
+    @Test
+    void fitTest() {
+        final var samples = new MemorySamples();
+        // XXX: Heap grows 12 MB per hour after a warm-up of 10 minutes with a 30 MB spike, RSS is flat
+        for (int i = 0; i <= 200; i++) {
+            final long elapsedMillis = i * 60_000L;
+            final var memoryUsage = new DiagnosticsReport.MemoryUsage();
+            memoryUsage.setHeapUsed(50 * BYTES_PER_MEGABYTE + (i < 10 ? 30 * BYTES_PER_MEGABYTE : elapsedMillis * 12 * BYTES_PER_MEGABYTE / MILLIS_PER_HOUR));
+            memoryUsage.setRss(120 * BYTES_PER_MEGABYTE);
+            samples.add(elapsedMillis, memoryUsage);
+        }
+        assertEquals(201, samples.size());
+        final var heapUsedTrend = samples.fit(MemorySamples.Metric.HEAP_USED, 10 * 60_000L);
+        assertEquals(191, heapUsedTrend.getSamples());
+        assertEquals(12 * BYTES_PER_MEGABYTE, heapUsedTrend.getSlopeBytesPerHour(), BYTES_PER_MEGABYTE / 100d);
+        assertEquals(50 * BYTES_PER_MEGABYTE, heapUsedTrend.getInterceptBytes(), BYTES_PER_MEGABYTE / 100d);
+        assertEquals(1, heapUsedTrend.getRSquared(), 0.001);
+        assertEquals(190 * 60_000L, heapUsedTrend.getDurationMillis());
+        assertEquals(38 * BYTES_PER_MEGABYTE, heapUsedTrend.getGrowthBytes(), BYTES_PER_MEGABYTE / 100d);
+        assertEquals(0, samples.fit(MemorySamples.Metric.RSS, 0).getSlopeBytesPerHour(), 0.001);
+        assertEquals(0, samples.fit(MemorySamples.Metric.RSS, Long.MAX_VALUE).getSamples());
+        assertThrows(IndexOutOfBoundsException.class, () -> samples.getElapsedMillis(201));
+    }
+}
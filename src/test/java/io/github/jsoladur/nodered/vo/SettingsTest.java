@@ -0,0 +1,62 @@
+package io.github.jsoladur.nodered.vo;
+
+import io.github.jsoladur.nodered.internal.vo.InternalSettings;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+import org.testcontainers.shaded.com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SettingsTest {
+
+    @Test
+    void presetsTest() {
+        assertDoesNotThrow(() -> Settings.builder().build().validate());
+        assertDoesNotThrow(() -> Settings.throughput().build().validate());
+        assertDoesNotThrow(() -> Settings.lowLatency().credentialSecret("my_cool_secret").build().validate());
+        assertEquals(100, Settings.lowLatency().build().getDebugMaxLength().intValue());
+    }
+
+    @Test
+    void validateTest() {
+        assertDoesNotThrow(() -> Settings.builder().apiMaxLength("1.5 MB").build().validate());
+        assertThrows(IllegalArgumentException.class, () -> Settings.builder().apiMaxLength("5 megabytes").build().validate());
+        assertThrows(IllegalArgumentException.class, () -> Settings.builder().uiPort(70000).build().validate());
+        assertThrows(IllegalArgumentException.class, () -> Settings.builder().httpRequestTimeout(0L).build().validate());
+        assertThrows(IllegalArgumentException.class, () -> Settings.builder().nodeMessageBufferMaxLength(-1).build().validate());
+        assertThrows(IllegalArgumentException.class, () -> Settings.builder()
+                .logging(Settings.Logging.builder().console(Settings.Logging.Console.builder().level("verbose").build()).build())
+                .build().validate());
+        assertThrows(IllegalArgumentException.class, () -> Settings.builder()
+                .contextStorage(Map.of("file", Settings.ContextStore.builder()
+                        .module(Settings.ContextStore.LOCAL_FILESYSTEM_MODULE)
+                        .config(Settings.ContextStore.Config.builder().flushInterval(-30).build())
+                        .build()))
+                .build().validate());
+    }
+
+    @Test
+    @SneakyThrows
+    void renderTest() {
+        final var internalSettings = new ModelMapper().map(Settings.throughput()
+                .contextStorage(Map.of("file", Settings.ContextStore.builder()
+                        .module(Settings.ContextStore.LOCAL_FILESYSTEM_MODULE)
+                        .config(Settings.ContextStore.Config.builder().flushInterval(5).build())
+                        .build()))
+                .build(), InternalSettings.class);
+        final var settings = new ObjectMapper().readTree(new ObjectMapper().writeValueAsString(internalSettings));
+        assertEquals("localfilesystem", settings.at("/contextStorage/file/module").asText());
+        assertEquals(5, settings.at("/contextStorage/file/config/flushInterval").asInt());
+        assertFalse(settings.at("/httpServerOptions/etag").asBoolean(true));
+        assertFalse(settings.at("/runtimeState/enabled").asBoolean(true));
+        assertEquals("warn", settings.at("/logging/console/level").asText());
+        assertTrue(settings.path("functionGlobalContext").isMissingNode());
+    }
+}